@@ -0,0 +1,68 @@
+package com.example.backend.bench;
+
+import com.example.backend.service.AiMoveEvaluator;
+import com.example.backend.service.LudoRulesEngine;
+import com.example.backend.service.PackedBoard;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of one AI decision per level and board density, with the default search settings
+ * (depth 2, 32 playouts of 16 turns). Fixtures only use dice values with more than one
+ * legal token, so every call actually evaluates candidates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AiMoveBenchmark {
+
+    private static final int FIXTURES = 64;
+
+    @Param({"early", "mid", "crowded"})
+    public String density;
+
+    @Param({"heuristic", "expectiminimax", "monte-carlo"})
+    public String level;
+
+    private final LudoRulesEngine rules = new LudoRulesEngine();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private AiMoveEvaluator evaluator;
+    private PackedBoard[] fixtures;
+    private int[] seats;
+    private int[] dice;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        evaluator = new AiMoveEvaluator(rules, AiMoveEvaluator.Level.parse(level), 2, 32, 16);
+        fixtures = new PackedBoard[FIXTURES];
+        seats = new int[FIXTURES];
+        dice = new int[FIXTURES];
+        for (int i = 0; i < FIXTURES; i++) {
+            PackedBoard board = BoardFixtures.board(density, i);
+            int seat = i % board.seatCount();
+            board.setCurrentSeat(seat);
+            int d = 1 + i % 6;
+            if (Integer.bitCount(rules.validMoves(board, seat, d)) < 2) d = 6;
+            fixtures[i] = board.setDice(d);
+            seats[i] = seat;
+            dice[i] = d;
+        }
+    }
+
+    @Benchmark
+    public int chooseToken() {
+        int i = next;
+        next = (i + 1) % FIXTURES;
+        return evaluator.chooseToken(fixtures[i], seats[i], dice[i], random);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.backend.bench;
+
+import com.example.backend.service.PackedBoard;
+import com.example.backend.service.RuleVariant;
+import java.util.Random;
+
+/**
+ * Deterministic boards with every seat of the rule variant taken, at a given density, shared
+ * by the benchmarks.
+ * - early: one token per seat on the track, the rest at HOME.
+ * - mid: two tokens per seat spread over the track.
+ * - crowded: every token on the track, packed into a quarter of it (frequent captures).
+ */
+final class BoardFixtures {
+
+    private static final int SQUARES_PER_SEAT = 13;
+
+    private BoardFixtures() {
+    }
+
+    static PackedBoard board(String density, long seed) {
+        return board(density, seed, RuleVariant.STANDARD);
+    }
+
+    static PackedBoard board(String density, long seed, RuleVariant variant) {
+        Random rnd = new Random(seed);
+        int trackLength = variant.seats() * SQUARES_PER_SEAT;
+        int onTrack;
+        int span;
+        switch (density) {
+            case "early":
+                onTrack = 1;
+                span = trackLength;
+                break;
+            case "mid":
+                onTrack = 2;
+                span = trackLength;
+                break;
+            case "crowded":
+                onTrack = variant.tokens();
+                span = trackLength / 4;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown density " + density);
+        }
+        PackedBoard board = new PackedBoard(variant);
+        for (int seat = 0; seat < variant.seats(); seat++) {
+            board.addSeat(seat);
+            for (int t = 0; t < Math.min(onTrack, variant.tokens()); t++) board.setPosition(seat, t, rnd.nextInt(span));
+        }
+        return board.setCurrentSeat(0).setDice(PackedBoard.NO_DICE);
+    }
+}
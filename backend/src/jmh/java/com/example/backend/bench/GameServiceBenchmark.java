@@ -0,0 +1,113 @@
+package com.example.backend.bench;
+
+import com.example.backend.dto.GameStateDTO;
+import com.example.backend.service.BroadcastService;
+import com.example.backend.service.ClusterNode;
+import com.example.backend.service.GameCommandPipeline;
+import com.example.backend.service.GameService;
+import com.example.backend.service.GameStateCache;
+import com.example.backend.service.GameStore;
+import com.example.backend.service.LobbyIndex;
+import com.example.backend.service.LudoRulesEngine;
+import com.example.backend.service.MoveLogAppender;
+import com.example.backend.service.PackedBoard;
+import com.example.backend.service.RoomActorExecutor;
+import com.example.backend.service.ShardRouter;
+import com.example.backend.service.TopicSubscriptions;
+import com.example.backend.service.WireFormatSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/**
+ * Full GameService.moveToken path (actor hand-off, validation, rules, snapshot publish,
+ * move log append, delta serialization and broadcast) against an in-memory game store.
+ * Rooms are replaced every MOVES_PER_ROOM moves so the board stays near the requested density.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameServiceBenchmark {
+
+    private static final int MOVES_PER_ROOM = 32;
+
+    @Param({"early", "mid", "crowded"})
+    public String density;
+
+    private final LudoRulesEngine rules = new LudoRulesEngine();
+    private RoomActorExecutor actors;
+    private GameStateCache cache;
+    private MoveLogAppender moveLog;
+    private GameService gameService;
+    private int roomSeq;
+    private String roomCode;
+    private int moves;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        actors = new RoomActorExecutor(1, false, meters);
+        GameStore store = InMemoryStores.games(this::seed);
+        moveLog = new MoveLogAppender(store, actors, meters, 10_000);
+        cache = new GameStateCache(store, InMemoryStores.rooms(), actors, moveLog, meters);
+        ClusterNode node = ClusterNode.standalone();
+        BroadcastService broadcast = new BroadcastService(
+                new SimpMessagingTemplate(InMemoryStores.discardingChannel()),
+                new ObjectMapper().findAndRegisterModules(),
+                new WireFormatSupport(Jackson2ObjectMapperBuilder.json()),
+                node, new TopicSubscriptions(meters), meters);
+        GameCommandPipeline pipeline = new GameCommandPipeline(cache, actors, broadcast, moveLog, meters);
+        ShardRouter router = new ShardRouter(node, pipeline, cache, broadcast,
+                new LobbyIndex(InMemoryStores.rooms(), broadcast, node));
+        gameService = new GameService(cache, router, meters);
+        nextRoom();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        // also stops the room actors
+        moveLog.shutdown();
+    }
+
+    private PackedBoard seed(String code) {
+        return BoardFixtures.board(density, code.hashCode());
+    }
+
+    private void nextRoom() {
+        roomCode = "BENCH" + (roomSeq++);
+        moves = 0;
+    }
+
+    @Benchmark
+    public GameStateDTO moveToken() {
+        if (++moves > MOVES_PER_ROOM) nextRoom();
+        // the published snapshot is safe to read here; the move itself runs on the room's writer
+        PackedBoard board = cache.find(roomCode).snapshot().board();
+        int seat = board.currentSeat();
+        int dice = 1 + moves % 6;
+        int mask = rules.validMoves(board, seat, dice);
+        if (mask == 0) {
+            dice = 6;
+            mask = rules.validMoves(board, seat, dice);
+        }
+        if (mask == 0 || board.hasFinishedSeat()) {
+            // stuck on exact finishes or game over: continue on a fresh room (seeded with HOME or track tokens)
+            nextRoom();
+            return moveToken();
+        }
+        int token = Integer.numberOfTrailingZeros(mask);
+        return gameService.moveToken(roomCode, PackedBoard.colorOf(seat), token, dice, null).join();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.backend.bench;
+
+import com.example.backend.repository.RoomRepository;
+import com.example.backend.service.GameStore;
+import com.example.backend.service.MoveLogAppender;
+import com.example.backend.service.PackedBoard;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.messaging.MessageChannel;
+
+/**
+ * In-memory stand-ins for the game store, the room repository and the broker channel,
+ * so the game service path can be benchmarked without a database or Spring context.
+ * The repository proxy implements only the methods GameStateCache calls.
+ */
+final class InMemoryStores {
+
+    private InMemoryStores() {
+    }
+
+    /**
+     * Games are synthesized on first lookup of a room code, with no events beyond the seed
+     * board; event and snapshot writes are discarded.
+     */
+    static GameStore games(Function<String, PackedBoard> seed) {
+        return new GameStore() {
+            @Override
+            public void gameStarted(String roomCode, Long roomId, PackedBoard board) {
+            }
+
+            @Override
+            public void appendEvents(List<MoveLogAppender.Entry> batch) {
+            }
+
+            @Override
+            public void writeSnapshots(List<SnapshotWrite> batch) {
+            }
+
+            @Override
+            public Optional<StoredGame> load(String roomCode, long upToSeq) {
+                return Optional.of(new StoredGame(null, null, seed.apply(roomCode), 0, 0, Instant.now()));
+            }
+
+            @Override
+            public List<String> activeRooms() {
+                return List.of();
+            }
+        };
+    }
+
+    static RoomRepository rooms() {
+        return proxy(RoomRepository.class, (name, args) -> {
+            switch (name) {
+                case "existsByRoomCode":
+                    return Boolean.TRUE;
+                default:
+                    return unsupported(name);
+            }
+        });
+    }
+    /**
+     * Broker channel that accepts and drops every message.
+     */
+    static MessageChannel discardingChannel() {
+        return message -> true;
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        Object p = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return "InMemory" + type.getSimpleName();
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == args[0];
+                default:
+                    return handler.invoke(method.getName(), args);
+            }
+        });
+        return type.cast(p);
+    }
+
+    private static Object unsupported(String method) {
+        throw new UnsupportedOperationException("Not available in benchmark stand-in: " + method);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.bench;
+
+import com.example.backend.service.LudoRulesEngine;
+import com.example.backend.service.MoveOutcome;
+import com.example.backend.service.PackedBoard;
+import com.example.backend.service.RuleVariant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * LudoRulesEngine hot paths across board densities and rule variants ("standard" is the
+ * baseline; the others show what blockades and a six-player board cost). Each operation works on a
+ * scratch board reset from a fixture with copyFrom, so the reset itself allocates nothing
+ * and every call sees the same starting density.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RulesEngineBenchmark {
+
+    private static final int FIXTURES = 64;
+
+    @Param({"early", "mid", "crowded"})
+    public String density;
+
+    @Param({"standard", "blockades", "players=6"})
+    public String variant;
+
+    private final MoveOutcome outcome = new MoveOutcome();
+    private final PackedBoard scratch = new PackedBoard();
+    private LudoRulesEngine rules;
+    private PackedBoard[] fixtures;
+    private int[] seats;
+    private int[] tokens;
+    private int[] dice;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        RuleVariant rv = RuleVariant.parse(variant);
+        rules = LudoRulesEngine.forVariant(rv);
+        fixtures = new PackedBoard[FIXTURES];
+        seats = new int[FIXTURES];
+        tokens = new int[FIXTURES];
+        dice = new int[FIXTURES];
+        for (int i = 0; i < FIXTURES; i++) {
+            PackedBoard board = BoardFixtures.board(density, i, rv);
+            int seat = i % rv.seats();
+            board.setCurrentSeat(seat);
+            // pick a dice value with at least one legal move (a 1 moves any track token, a 6 frees a HOME one)
+            int d = 1 + i % 6;
+            int mask = rules.validMoves(board, seat, d);
+            for (int alt = 1; mask == 0 && alt <= 6; alt++) {
+                d = alt;
+                mask = rules.validMoves(board, seat, d);
+            }
+            fixtures[i] = board;
+            seats[i] = seat;
+            tokens[i] = Integer.numberOfTrailingZeros(mask);
+            dice[i] = d;
+        }
+    }
+
+    private int advance() {
+        int i = next;
+        next = (i + 1) % FIXTURES;
+        return i;
+    }
+
+    @Benchmark
+    public int validMoves() {
+        int i = advance();
+        return rules.validMoves(fixtures[i], seats[i], dice[i]);
+    }
+
+    @Benchmark
+    public boolean applyMove() {
+        int i = advance();
+        scratch.copyFrom(fixtures[i]);
+        return rules.applyMove(scratch, seats[i], tokens[i], dice[i], outcome);
+    }
+
+    @Benchmark
+    public int advanceTurn() {
+        int i = advance();
+        scratch.copyFrom(fixtures[i]);
+        rules.advanceTurn(scratch, false);
+        return scratch.currentSeat();
+    }
+
+    @Benchmark
+    public int fullMove() {
+        // validate -> apply -> advance, as the command pipeline runs it
+        int i = advance();
+        scratch.copyFrom(fixtures[i]);
+        int seat = seats[i];
+        int mask = rules.validMoves(scratch, seat, dice[i]);
+        if (!LudoRulesEngine.isValid(mask, tokens[i])) return -1;
+        rules.advanceTurn(scratch, rules.applyMove(scratch, seat, tokens[i], dice[i], outcome));
+        return scratch.currentSeat();
+    }
+}
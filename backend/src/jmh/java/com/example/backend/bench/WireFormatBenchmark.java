@@ -0,0 +1,76 @@
+package com.example.backend.bench;
+
+import com.example.backend.dto.GameDeltaEvent;
+import com.example.backend.dto.actions.MoveRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares JSON and CBOR for the STOMP payloads: encode/decode time per format,
+ * and frame size (printed once per trial, payload bytes only).
+ * Run with ./gradlew jmh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private GameDeltaEvent moved;
+    private MoveRequest move;
+    private byte[] movedBytes;
+    private byte[] moveBytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        mapper = "cbor".equals(format) ? new ObjectMapper(new CBORFactory()) : new ObjectMapper();
+        moved = new GameDeltaEvent()
+                .setType(GameDeltaEvent.TOKEN_MOVED)
+                .setSeq(1234)
+                .setColor("RED")
+                .setToken(2)
+                .setFrom("17")
+                .setTo("23")
+                .addCapture(new GameDeltaEvent.Capture("BLUE", 1, "23"))
+                .setTurn("GREEN")
+                .setTs(1_700_000_000_000L);
+        move = new MoveRequest().setColor("RED").setTokenIndex(2).setDice(6);
+        movedBytes = mapper.writeValueAsBytes(moved);
+        moveBytes = mapper.writeValueAsBytes(move);
+        System.out.printf("%n[%s] TokenMoved event=%d bytes, MoveRequest=%d bytes%n",
+                format, movedBytes.length, moveBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeEvent() throws Exception {
+        return mapper.writeValueAsBytes(moved);
+    }
+
+    @Benchmark
+    public GameDeltaEvent decodeEvent() throws Exception {
+        return mapper.readValue(movedBytes, GameDeltaEvent.class);
+    }
+
+    @Benchmark
+    public byte[] encodeMove() throws Exception {
+        return mapper.writeValueAsBytes(move);
+    }
+
+    @Benchmark
+    public MoveRequest decodeMove() throws Exception {
+        return mapper.readValue(moveBytes, MoveRequest.class);
+    }
+}
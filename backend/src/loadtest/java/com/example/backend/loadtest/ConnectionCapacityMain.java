@@ -0,0 +1,312 @@
+package com.example.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+/**
+ * Per-node connection capacity with the in-process simple broker versus the broker relay,
+ * on platform or virtual threads (spring.threads.virtual.enabled; the tool itself must run
+ * on Java 21+ for virtual, e.g. -PruntimeJava=21). For each combination a backend node (and, for relay, a LocalStompBroker) is started as a separate
+ * JVM so only the node's own cost is measured. Idle STOMP connections subscribed to
+ * /topic/lobby are opened in steps; after each step the node is garbage collected (jcmd
+ * GC.run) and its heap and live threads are read from /actuator/metrics. Each step then
+ * creates rooms and times how long the resulting lobby diff takes to reach the first and
+ * the last subscriber (includes up to 10ms of lobby publish throttling).
+ *
+ *   ./gradlew connectionCapacity -PcapacityArgs='--connections=5000 --step=1000'
+ *
+ * Options (--name=value): --modes (default simple,relay), --threads (platform; or platform,virtual),
+ * --connections (2000), --step (500),
+ * --samples fan-out rounds per step (20), --node-heap -Xmx of the node (512m).
+ * Raise the open-files limit (ulimit -n) for large connection counts.
+ */
+public final class ConnectionCapacityMain {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final int CONNECT_CONCURRENCY = 200;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private ConnectionCapacityMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = List.of("simple", "relay");
+        List<String> threadModes = List.of("platform");
+        int connections = 2000;
+        int step = 500;
+        int samples = 20;
+        String heap = "512m";
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Unexpected argument " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "modes" -> modes = Arrays.asList(value.split(","));
+                case "threads" -> threadModes = Arrays.asList(value.split(","));
+                case "connections" -> connections = Integer.parseInt(value);
+                case "step" -> step = Integer.parseInt(value);
+                case "samples" -> samples = Integer.parseInt(value);
+                case "node-heap" -> heap = value;
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        if (connections < 1 || step < 1 || samples < 1) {
+            throw new IllegalArgumentException("--connections, --step and --samples must be positive");
+        }
+        if (threadModes.contains("virtual") && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("--threads=virtual needs a Java 21+ runtime (-PruntimeJava=21)");
+        }
+        ConnectionCapacityMain bench = new ConnectionCapacityMain();
+        System.out.printf("%-16s %7s %9s %12s %8s %13s %13s%n",
+                "mode", "conns", "heap MB", "KB/conn", "threads", "fanout first", "fanout last");
+        for (String threads : threadModes) {
+            for (String mode : modes) bench.run(mode.trim(), threads.trim(), connections, step, samples, heap);
+        }
+        System.exit(0);
+    }
+
+    private void run(String mode, String threads, int connections, int step, int samples, String heap) throws Exception {
+        if (!mode.equals("simple") && !mode.equals("relay")) throw new IllegalArgumentException("Unknown mode " + mode);
+        if (!threads.equals("platform") && !threads.equals("virtual")) {
+            throw new IllegalArgumentException("Unknown thread mode " + threads);
+        }
+        String label = mode + "/" + threads;
+        List<Process> processes = new ArrayList<>();
+        List<StompSession> sessions = new ArrayList<>(connections);
+        WebSocketStompClient stomp = new WebSocketStompClient(new StandardWebSocketClient());
+        try {
+            int nodePort = freePort();
+            List<String> nodeArgs = new ArrayList<>(List.of("--spring.profiles.active=loadtest",
+                    "--server.port=" + nodePort, "--app.ws.broker=" + mode, "--app.lobby.publish-interval-ms=10",
+                    "--spring.threads.virtual.enabled=" + threads.equals("virtual")));
+            if (mode.equals("relay")) {
+                int brokerPort = freePort();
+                processes.add(launch("broker", LocalStompBroker.class.getName(), List.of(), List.of("--port=" + brokerPort)));
+                awaitPort(brokerPort);
+                nodeArgs.add("--app.ws.relay.port=" + brokerPort);
+            }
+            Process node = launch("node-" + mode + "-" + threads, "com.example.backend.BackendApplication",
+                    List.of("-Xmx" + heap), nodeArgs);
+            processes.add(node);
+            String base = "http://localhost:" + nodePort;
+            awaitHealthy(base, node);
+
+            LobbyClient lobby = new LobbyClient(base, mapper);
+            FanOut fanOut = new FanOut();
+            Sample baseline = sample(base, node);
+            print(label, 0, baseline, baseline, null);
+            String wsUrl = "ws://localhost:" + nodePort + "/ws/websocket";
+            while (sessions.size() < connections) {
+                int target = Math.min(connections, sessions.size() + step);
+                open(stomp, wsUrl, target - sessions.size(), fanOut, sessions);
+                // let the subscriptions register before measuring
+                Thread.sleep(1000);
+                long[][] latencies = fanOut.measure(lobby, sessions.size(), samples);
+                print(label, sessions.size(), baseline, sample(base, node), latencies);
+            }
+        } finally {
+            for (StompSession s : sessions) {
+                if (s.isConnected()) s.disconnect();
+            }
+            for (int i = processes.size() - 1; i >= 0; i--) {
+                processes.get(i).destroy();
+                processes.get(i).waitFor(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void open(WebSocketStompClient stomp, String url, int count, FanOut fanOut, List<StompSession> sessions)
+            throws Exception {
+        Semaphore inflight = new Semaphore(CONNECT_CONCURRENCY);
+        List<CompletableFuture<StompSession>> pending = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            inflight.acquire();
+            CompletableFuture<StompSession> f = stomp.connectAsync(url, new StompSessionHandlerAdapter() {
+            });
+            pending.add(f.whenComplete((s, ex) -> inflight.release()));
+        }
+        for (CompletableFuture<StompSession> f : pending) {
+            StompSession session = f.get(60, TimeUnit.SECONDS);
+            session.subscribe("/topic/lobby", fanOut);
+            sessions.add(session);
+        }
+    }
+
+    private Sample sample(String base, Process node) throws Exception {
+        Path jcmd = Path.of(System.getProperty("java.home"), "bin", "jcmd");
+        if (Files.isExecutable(jcmd)) {
+            new ProcessBuilder(jcmd.toString(), Long.toString(node.pid()), "GC.run")
+                    .redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start().waitFor(30, TimeUnit.SECONDS);
+            Thread.sleep(200);
+        }
+        return new Sample((long) metric(base, "jvm.memory.used?tag=area:heap"), (int) metric(base, "jvm.threads.live"));
+    }
+
+    private double metric(String base, String query) throws Exception {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(base + "/actuator/metrics/" + query)).GET().build();
+        HttpResponse<byte[]> resp = http.send(req, HttpResponse.BodyHandlers.ofByteArray());
+        if (resp.statusCode() != 200) throw new IllegalStateException("metric " + query + " status=" + resp.statusCode());
+        JsonNode node = mapper.readTree(resp.body());
+        return node.path("measurements").path(0).path("value").asDouble();
+    }
+
+    private static void print(String mode, int conns, Sample baseline, Sample now, long[][] latencies) {
+        double perConnKb = conns == 0 ? 0 : (now.heapBytes - baseline.heapBytes) / 1024.0 / conns;
+        String first = latencies == null ? "-" : percentiles(latencies[0]);
+        String last = latencies == null ? "-" : percentiles(latencies[1]);
+        System.out.printf("%-16s %7d %9.1f %12.2f %8d %13s %13s%n",
+                mode, conns, now.heapBytes / 1048576.0, perConnKb, now.threads, first, last);
+    }
+
+    private static String percentiles(long[] nanos) {
+        if (nanos.length == 0) return "-";
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        long p50 = sorted[sorted.length / 2];
+        long p99 = sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.99) - 1)];
+        return String.format("%.1f/%.1fms", p50 / 1e6, p99 / 1e6);
+    }
+
+    private static Process launch(String name, String mainClass, List<String> jvmArgs, List<String> args)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(mainClass);
+        command.addAll(args);
+        File log = File.createTempFile("capacity-" + name + "-", ".log");
+        System.out.printf("# %s log: %s%n", name, log);
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+    }
+
+    private void awaitHealthy(String base, Process node) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest req = HttpRequest.newBuilder(URI.create(base + "/actuator/health")).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!node.isAlive()) throw new IllegalStateException("node exited with " + node.exitValue());
+            try {
+                HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
+                if (resp.statusCode() == 200) return;
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("node did not become healthy at " + base);
+    }
+
+    private static void awaitPort(int port) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try (Socket ignored = new Socket("localhost", port)) {
+                return;
+            } catch (IOException e) {
+                Thread.sleep(100);
+            }
+        }
+        throw new IllegalStateException("broker did not start on port " + port);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Sample(long heapBytes, int threads) {
+    }
+
+    /**
+     * Lobby subscriber shared by every connection: counts deliveries of the diff that
+     * announces the room created by the current round.
+     */
+    private static final class FanOut implements StompFrameHandler {
+        private volatile byte[] marker;
+        private volatile CountDownLatch remaining;
+        private volatile long sentNanos;
+        private volatile long firstNanos;
+
+        long[][] measure(LobbyClient lobby, int subscribers, int samples) throws Exception {
+            long[] first = new long[samples];
+            long[] last = new long[samples];
+            int done = 0;
+            for (int i = 0; i < samples; i++) {
+                // rooms are matched by their unique name, known before the diff can arrive
+                String name = "capacity-" + System.nanoTime();
+                CountDownLatch latch = new CountDownLatch(subscribers);
+                firstNanos = 0;
+                remaining = latch;
+                marker = ("\"" + name + "\"").getBytes(StandardCharsets.UTF_8);
+                sentNanos = System.nanoTime();
+                lobby.createRoom(name).get(30, TimeUnit.SECONDS);
+                if (!latch.await(30, TimeUnit.SECONDS)) {
+                    System.err.printf("fan-out round %d: %d of %d subscribers missed the diff%n",
+                            i, latch.getCount(), subscribers);
+                    continue;
+                }
+                first[done] = firstNanos - sentNanos;
+                last[done] = System.nanoTime() - sentNanos;
+                done++;
+            }
+            marker = null;
+            return new long[][] {Arrays.copyOf(first, done), Arrays.copyOf(last, done)};
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            byte[] m = marker;
+            CountDownLatch latch = remaining;
+            if (m == null || latch == null || !contains((byte[]) payload, m)) return;
+            if (firstNanos == 0) firstNanos = System.nanoTime();
+            latch.countDown();
+        }
+
+        private static boolean contains(byte[] haystack, byte[] needle) {
+            outer:
+            for (int i = 0; i + needle.length <= haystack.length; i++) {
+                for (int j = 0; j < needle.length; j++) {
+                    if (haystack[i + j] != needle[j]) continue outer;
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.backend.loadtest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValuePercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and outcome recorders for a load run, backed by Micrometer timers with
+ * client-side percentiles kept for the whole run (no decay).
+ * - action.roll / action.move: send of the STOMP action until the acting client receives its event.
+ * - delivery.lag: server event timestamp until a subscriber receives the event (same host clock).
+ */
+final class LoadMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    final Timer roll = timer("loadtest.action", "roll");
+    final Timer move = timer("loadtest.action", "move");
+    final Timer deliveryLag = timer("loadtest.delivery.lag", "broadcast");
+    final Counter events = registry.counter("loadtest.events");
+    final Counter seqGaps = registry.counter("loadtest.seq.gaps");
+    final Counter roomsFinished = registry.counter("loadtest.rooms", "outcome", "finished");
+    final Counter roomsStalled = registry.counter("loadtest.rooms", "outcome", "stalled");
+    final Counter roomsFailed = registry.counter("loadtest.rooms", "outcome", "failed");
+
+    private Timer timer(String name, String kind) {
+        return Timer.builder(name)
+                .tag("kind", kind)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+    }
+
+    void report(PrintStream out, Duration elapsed) {
+        double secs = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        out.printf("%nLoad run finished in %.1fs%n", secs);
+        out.printf("rooms: finished=%d stalled=%d failed=%d%n",
+                (long) roomsFinished.count(), (long) roomsStalled.count(), (long) roomsFailed.count());
+        long actions = roll.count() + move.count();
+        out.printf("actions: %d (%.0f/s), events received: %d, seq gaps: %d%n",
+                actions, actions / secs, (long) events.count(), (long) seqGaps.count());
+        print(out, "roll e2e", roll);
+        print(out, "move e2e", move);
+        print(out, "delivery lag", deliveryLag);
+    }
+
+    private static void print(PrintStream out, String label, Timer timer) {
+        HistogramSnapshot snap = timer.takeSnapshot();
+        StringBuilder sb = new StringBuilder(String.format("%-13s n=%-8d mean=%7.2fms", label, snap.count(),
+                snap.mean(TimeUnit.MILLISECONDS)));
+        for (ValuePercentile p : snap.percentileValues()) {
+            sb.append(String.format(" p%s=%.2fms", trim(p.percentile() * 100), p.value(TimeUnit.MILLISECONDS)));
+        }
+        sb.append(String.format(" max=%.2fms", snap.max(TimeUnit.MILLISECONDS)));
+        out.println(sb);
+    }
+
+    private static String trim(double pct) {
+        return pct == Math.rint(pct) ? Long.toString((long) pct) : Double.toString(pct);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.BackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+/**
+ * Load generator: plays many concurrent rooms against /ws over STOMP (SockJS or native WebSocket) and reports
+ * per-action end-to-end latency percentiles and broadcast delivery lag.
+ *
+ * Run against a local backend started with the loadtest profile (embedded H2):
+ *   ./gradlew bootRun --args='--spring.profiles.active=loadtest'
+ *   ./gradlew loadTest -PloadArgs='--rooms=1000 --players=4'
+ * or self-contained, with the backend started in-process:
+ *   ./gradlew loadTest -PloadArgs='--embedded --rooms=500'
+ * or against several in-process nodes sharding the rooms between them:
+ *   ./gradlew loadTest -PloadArgs='--embedded --nodes=3 --rooms=500'
+ * optionally with fan-out on a shared external broker (LocalStompBroker) instead of per node:
+ *   ./gradlew loadTest -PloadArgs='--embedded --nodes=3 --broker=relay --rooms=500'
+ * Throughput ceilings on platform versus virtual threads (same rooms, compare the reports):
+ *   ./gradlew loadTest -PruntimeJava=21 -PloadArgs='--embedded --rooms=2000'
+ *   ./gradlew loadTest -PruntimeJava=21 -PloadArgs='--embedded --rooms=2000 --virtual-threads'
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        List<ConfigurableApplicationContext> embedded = new ArrayList<>();
+        LocalStompBroker broker = null;
+        int exit;
+        try {
+            if (options.embedded()) {
+                if (options.broker().equals("relay")) broker = LocalStompBroker.start(0);
+                List<String> urls = new ArrayList<>();
+                for (int i = 0; i < options.nodes(); i++) {
+                    ConfigurableApplicationContext node = startNode(i, options, broker);
+                    embedded.add(node);
+                    urls.add("http://localhost:" + node.getEnvironment().getProperty("local.server.port"));
+                }
+                options = options.withNodeUrls(urls);
+            }
+            exit = run(options);
+        } finally {
+            // the first node owns the schema (create-drop), so it closes last
+            for (int i = embedded.size() - 1; i >= 0; i--) embedded.get(i).close();
+            if (broker != null) broker.close();
+        }
+        System.exit(exit);
+    }
+
+    private static ConfigurableApplicationContext startNode(int index, LoadTestOptions options, LocalStompBroker broker) {
+        int nodes = options.nodes();
+        List<String> props = new ArrayList<>(List.of("server.port=0", "app.ws.transport=" + options.transport(),
+                "spring.threads.virtual.enabled=" + options.virtualThreads()));
+        if (broker != null) {
+            props.add("app.ws.broker=relay");
+            props.add("app.ws.relay.host=localhost");
+            props.add("app.ws.relay.port=" + broker.port());
+        }
+        if (nodes > 1) {
+            props.add("app.cluster.transport=local");
+            props.add("app.cluster.local-network=loadtest");
+            props.add("app.cluster.node-id=node-" + index);
+            // all nodes share the named in-memory H2 database created by the first one
+            if (index > 0) props.add("spring.jpa.hibernate.ddl-auto=none");
+        }
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("loadtest")
+                .properties(props.toArray(new String[0]))
+                .run();
+    }
+
+    private static int run(LoadTestOptions options) throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        LobbyClient lobby = new LobbyClient(options.baseUrl(), mapper);
+        boolean sockJs = options.transport().equals("sockjs");
+        WebSocketStompClient stomp = new WebSocketStompClient(sockJs
+                ? new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient())))
+                : new StandardWebSocketClient());
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(mapper);
+        stomp.setMessageConverter(converter);
+        List<String> wsUrls = new ArrayList<>();
+        for (String url : options.nodeUrls()) wsUrls.add(sockJs ? url + "/ws" : url.replaceFirst("^http", "ws") + "/ws");
+
+        LoadMetrics metrics = new LoadMetrics();
+        List<RoomDriver> rooms = new ArrayList<>(options.rooms());
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        System.out.printf("load test: rooms=%d players=%d actions/game=%d ramp=%d/s broker=%s transport=%s "
+                        + "virtualThreads=%s targets=%s%n",
+                options.rooms(), options.players(), options.actionsPerGame(), options.rampPerSecond(), options.broker(),
+                options.transport(), options.virtualThreads(), options.nodeUrls());
+
+        long startNanos = System.nanoTime();
+        List<CompletableFuture<RoomDriver.Outcome>> outcomes = new ArrayList<>(options.rooms());
+        for (int i = 0; i < options.rooms(); i++) {
+            RoomDriver room = new RoomDriver(i, options, metrics);
+            rooms.add(room);
+            outcomes.add(room.outcome());
+            long delayMs = i * 1000L / options.rampPerSecond();
+            scheduler.schedule(() -> room.start(lobby, stomp, wsUrls), delayMs, TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            for (RoomDriver room : rooms) room.checkStalled(now);
+        }, 1, 1, TimeUnit.SECONDS);
+        scheduler.scheduleAtFixedRate(() -> System.out.printf("progress: finished=%d stalled=%d failed=%d events=%d%n",
+                (long) metrics.roomsFinished.count(), (long) metrics.roomsStalled.count(),
+                (long) metrics.roomsFailed.count(), (long) metrics.events.count()), 5, 5, TimeUnit.SECONDS);
+
+        try {
+            CompletableFuture.allOf(outcomes.toArray(new CompletableFuture[0]))
+                    .get(options.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            System.err.println("timeout reached; reporting partial results");
+            for (RoomDriver room : rooms) room.finish(RoomDriver.Outcome.STALLED);
+        } finally {
+            scheduler.shutdownNow();
+        }
+        metrics.report(System.out, Duration.ofNanos(System.nanoTime() - startNanos));
+        return metrics.roomsFailed.count() + metrics.roomsStalled.count() > 0 ? 1 : 0;
+    }
+}
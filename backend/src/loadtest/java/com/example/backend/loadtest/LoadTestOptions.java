@@ -0,0 +1,97 @@
+package com.example.backend.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Command-line options for the load tool (all optional, --name=value).
+ * - --url: base URL of a running backend (default http://localhost:3001)
+ * - --embedded: start the backend in-process on a random port with the loadtest profile (H2)
+ * - --nodes: with --embedded, start this many clustered nodes sharing the H2 database and a local
+ *   transport; each room's players connect to different nodes (default 1)
+ * - --broker: with --embedded, simple (in-process broker per node) or relay (every node relays to
+ *   one LocalStompBroker started in-process) (default simple)
+ * - --transport: sockjs or native, matching the backend's app.ws.transport; with --embedded the
+ *   nodes are started with it (default sockjs)
+ * - --virtual-threads: with --embedded, start the nodes with spring.threads.virtual.enabled (needs
+ *   a Java 21+ runtime, e.g. -PruntimeJava=21) (default false)
+ * - --rooms: concurrent rooms to play (default 100)
+ * - --players: STOMP clients per room, 2..4 (default 4)
+ * - --actions: roll/move actions per game before the room finishes (default 200)
+ * - --ramp: rooms started per second (default 50)
+ * - --stall-seconds: a room without events for this long is reported as stalled (default 15)
+ * - --timeout-seconds: overall deadline (default 600)
+ */
+record LoadTestOptions(String baseUrl,
+                       List<String> nodeUrls,
+                       boolean embedded,
+                       int nodes,
+                       String broker,
+                       String transport,
+                       boolean virtualThreads,
+                       int rooms,
+                       int players,
+                       int actionsPerGame,
+                       int rampPerSecond,
+                       Duration stallTimeout,
+                       Duration timeout) {
+
+    static LoadTestOptions parse(String[] args) {
+        String url = "http://localhost:3001";
+        boolean embedded = false;
+        int nodes = 1;
+        String broker = "simple";
+        String transport = "sockjs";
+        boolean virtualThreads = false;
+        int rooms = 100;
+        int players = 4;
+        int actions = 200;
+        int ramp = 50;
+        long stall = 15;
+        long timeout = 600;
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unexpected argument " + arg);
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? "true" : arg.substring(eq + 1);
+            switch (name) {
+                case "url" -> url = value;
+                case "embedded" -> embedded = Boolean.parseBoolean(value);
+                case "nodes" -> nodes = Integer.parseInt(value);
+                case "broker" -> broker = value;
+                case "transport" -> transport = value;
+                case "virtual-threads" -> virtualThreads = Boolean.parseBoolean(value);
+                case "rooms" -> rooms = Integer.parseInt(value);
+                case "players" -> players = Integer.parseInt(value);
+                case "actions" -> actions = Integer.parseInt(value);
+                case "ramp" -> ramp = Integer.parseInt(value);
+                case "stall-seconds" -> stall = Long.parseLong(value);
+                case "timeout-seconds" -> timeout = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (players < 2 || players > 4) throw new IllegalArgumentException("--players must be 2..4");
+        if (rooms < 1 || actions < 1 || ramp < 1) throw new IllegalArgumentException("--rooms, --actions and --ramp must be positive");
+        if (nodes < 1) throw new IllegalArgumentException("--nodes must be positive");
+        if (nodes > 1 && !embedded) throw new IllegalArgumentException("--nodes requires --embedded");
+        if (!broker.equals("simple") && !broker.equals("relay")) throw new IllegalArgumentException("--broker must be simple or relay");
+        if (!transport.equals("sockjs") && !transport.equals("native")) {
+            throw new IllegalArgumentException("--transport must be sockjs or native");
+        }
+        if (virtualThreads && !embedded) throw new IllegalArgumentException("--virtual-threads requires --embedded");
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalArgumentException("--virtual-threads needs a Java 21+ runtime (-PruntimeJava=21)");
+        }
+        if (broker.equals("relay") && !embedded) throw new IllegalArgumentException("--broker requires --embedded");
+        return new LoadTestOptions(url, List.of(url), embedded, nodes, broker, transport, virtualThreads, rooms, players, actions, ramp,
+                Duration.ofSeconds(stall), Duration.ofSeconds(timeout));
+    }
+
+    /**
+     * @param urls base URLs of the started nodes; the first one serves lobby calls
+     */
+    LoadTestOptions withNodeUrls(List<String> urls) {
+        return new LoadTestOptions(urls.get(0), List.copyOf(urls), embedded, nodes, broker, transport, virtualThreads, rooms, players, actionsPerGame,
+                rampPerSecond, stallTimeout, timeout);
+    }
+}
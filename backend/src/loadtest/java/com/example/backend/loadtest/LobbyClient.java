@@ -0,0 +1,66 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.dto.PlayerDTO;
+import com.example.backend.dto.RoomDTO;
+import com.example.backend.dto.actions.CreateRoomRequest;
+import com.example.backend.dto.actions.JoinRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Async REST client for the lobby endpoints (LobbyController) used to set up each room.
+ */
+final class LobbyClient {
+
+    private final String baseUrl;
+    private final ObjectMapper mapper;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    LobbyClient(String baseUrl, ObjectMapper mapper) {
+        this.baseUrl = baseUrl;
+        this.mapper = mapper;
+    }
+
+    CompletableFuture<RoomDTO> createRoom(String name) {
+        return post("/api/rooms", new CreateRoomRequest().setName(name), RoomDTO.class);
+    }
+
+    CompletableFuture<PlayerDTO> join(String roomCode, String playerName) {
+        return post("/api/rooms/" + roomCode + "/join", new JoinRequest().setName(playerName), PlayerDTO.class);
+    }
+
+    CompletableFuture<Void> start(String roomCode) {
+        return post("/api/rooms/" + roomCode + "/start", null, Void.class);
+    }
+
+    private <T> CompletableFuture<T> post(String path, Object body, Class<T> type) {
+        byte[] bytes;
+        try {
+            bytes = body == null ? new byte[0] : mapper.writeValueAsBytes(body);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(bytes))
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).thenApply(resp -> {
+            if (resp.statusCode() / 100 != 2) {
+                throw new IllegalStateException("POST " + path + " failed status=" + resp.statusCode()
+                        + " body=" + new String(resp.body()));
+            }
+            if (type == Void.class || resp.body().length == 0) return null;
+            try {
+                return mapper.readValue(resp.body(), type);
+            } catch (Exception e) {
+                throw new IllegalStateException("Unreadable response from " + path, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,385 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal STOMP 1.2 broker standing in for RabbitMQ or ActiveMQ behind app.ws.broker=relay,
+ * for load tests, StompBrokerRelayTest and local runs without an external broker. It
+ * supports what Spring's broker relay uses: CONNECT/STOMP, SUBSCRIBE, UNSUBSCRIBE, SEND
+ * fanned out as MESSAGE to subscribers of exactly that destination, DISCONNECT and
+ * receipts. Heart-beats are declined (CONNECTED heart-beat:0,0); there is no
+ * authentication, ack, transaction or persistence support. One selector thread serves every
+ * connection; a connection whose unsent output grows past MAX_PENDING_BYTES is dropped as a
+ * slow consumer.
+ *
+ * Run standalone:
+ *   ./gradlew stompBroker -PbrokerArgs='--port=61613'
+ *   ./gradlew bootRun --args='--app.ws.broker=relay'
+ */
+public final class LocalStompBroker implements AutoCloseable {
+
+    private static final int MAX_PENDING_BYTES = 16 << 20;
+    private static final int MAX_FRAME_BYTES = 1 << 20;
+    private static final int MAX_GATHER = 64;
+    private static final byte[] CONNECTED = frame("CONNECTED\nversion:1.2\nheart-beat:0,0\nserver:local-stomp-broker\n\n");
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final Thread loop;
+    private final Map<String, Set<Subscription>> topics = new HashMap<>();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong slowConsumers = new AtomicLong();
+    private volatile int connections;
+    private volatile boolean running = true;
+    private long messageIds;
+
+    private LocalStompBroker(int port) throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port), 1024);
+        server.configureBlocking(false);
+        selector = Selector.open();
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        loop = new Thread(this::run, "stomp-broker");
+        loop.setDaemon(true);
+        loop.start();
+    }
+
+    /**
+     * @param port TCP port, 0 for any free port
+     * @return running broker
+     */
+    public static LocalStompBroker start(int port) throws IOException {
+        return new LocalStompBroker(port);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 61613;
+        for (String arg : args) {
+            if (!arg.startsWith("--port=")) throw new IllegalArgumentException("Unknown option " + arg);
+            port = Integer.parseInt(arg.substring("--port=".length()));
+        }
+        LocalStompBroker broker = start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(broker::close));
+        System.out.printf("local STOMP broker listening on port %d%n", broker.port());
+        while (broker.loop.isAlive()) {
+            broker.loop.join(10_000);
+            System.out.printf("broker: connections=%d delivered=%d slowConsumers=%d%n",
+                    broker.connections(), broker.delivered(), broker.slowConsumers.get());
+        }
+    }
+
+    public int port() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * @return open client connections (each relayed WebSocket session plus the relay's system session)
+     */
+    public int connections() {
+        return connections;
+    }
+
+    /**
+     * @return MESSAGE frames queued to subscribers so far
+     */
+    public long delivered() {
+        return delivered.get();
+    }
+
+    @Override
+    public void close() {
+        if (!running) return;
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join(5000);
+            for (SelectionKey key : selector.keys()) key.channel().close();
+            selector.close();
+        } catch (IOException e) {
+            // shutting down anyway
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                System.err.println("broker selector failed: " + e);
+                return;
+            }
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) continue;
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                Connection c = (Connection) key.attachment();
+                try {
+                    if (key.isReadable()) read(c);
+                    if (key.isValid() && key.isWritable()) flush(c);
+                } catch (IOException e) {
+                    close(c);
+                }
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = server.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Connection c = new Connection(channel);
+                c.key = channel.register(selector, SelectionKey.OP_READ, c);
+                connections++;
+            }
+        } catch (IOException e) {
+            System.err.println("broker accept failed: " + e);
+        }
+    }
+
+    private void read(Connection c) throws IOException {
+        if (c.channel.read(c.in) < 0) {
+            close(c);
+            return;
+        }
+        c.in.flip();
+        Frame frame;
+        while (!c.closed && (frame = parse(c.in)) != null) handle(c, frame);
+        if (c.closed) return;
+        c.in.compact();
+        if (!c.in.hasRemaining()) {
+            if (c.in.capacity() >= MAX_FRAME_BYTES) {
+                error(c, "Frame too large");
+                return;
+            }
+            ByteBuffer bigger = ByteBuffer.allocate(c.in.capacity() * 2);
+            c.in.flip();
+            bigger.put(c.in);
+            c.in = bigger;
+        }
+    }
+
+    private void handle(Connection c, Frame f) {
+        switch (f.command) {
+            case "CONNECT", "STOMP" -> send(c, ByteBuffer.wrap(CONNECTED));
+            case "SUBSCRIBE" -> {
+                String destination = f.headers.get("destination");
+                String id = f.headers.get("id");
+                if (destination == null || id == null) {
+                    error(c, "SUBSCRIBE requires destination and id");
+                    return;
+                }
+                Subscription sub = new Subscription(c, id, destination);
+                Subscription previous = c.subscriptions.put(id, sub);
+                if (previous != null) unsubscribe(previous);
+                topics.computeIfAbsent(destination, d -> new LinkedHashSet<>()).add(sub);
+            }
+            case "UNSUBSCRIBE" -> {
+                Subscription sub = c.subscriptions.remove(String.valueOf(f.headers.get("id")));
+                if (sub != null) unsubscribe(sub);
+            }
+            case "SEND" -> fanOut(f);
+            case "DISCONNECT" -> {
+                receipt(c, f);
+                // close once the receipt has been written
+                c.closing = true;
+                flushQuietly(c);
+                return;
+            }
+            default -> {
+                error(c, "Unsupported command " + f.command);
+                return;
+            }
+        }
+        receipt(c, f);
+    }
+
+    private void fanOut(Frame f) {
+        String destination = f.headers.get("destination");
+        Set<Subscription> subs = destination == null ? null : topics.get(destination);
+        if (subs == null || subs.isEmpty()) return;
+        String contentType = f.headers.get("content-type");
+        ByteBuffer body = ByteBuffer.allocate(f.body.length + 1).put(f.body).put((byte) 0).flip();
+        // subscriptions can be dropped while sending (slow consumers), so iterate a copy
+        for (Subscription sub : subs.toArray(new Subscription[0])) {
+            StringBuilder head = new StringBuilder(160)
+                    .append("MESSAGE\ndestination:").append(destination)
+                    .append("\nsubscription:").append(sub.id)
+                    .append("\nmessage-id:").append(++messageIds);
+            if (contentType != null) head.append("\ncontent-type:").append(contentType);
+            head.append("\ncontent-length:").append(f.body.length).append("\n\n");
+            send(sub.connection, ByteBuffer.wrap(head.toString().getBytes(StandardCharsets.UTF_8)), body.duplicate());
+            delivered.incrementAndGet();
+        }
+    }
+
+    private void receipt(Connection c, Frame f) {
+        String receipt = f.headers.get("receipt");
+        if (receipt != null) send(c, ByteBuffer.wrap(frame("RECEIPT\nreceipt-id:" + receipt + "\n\n")));
+    }
+
+    private void error(Connection c, String message) {
+        send(c, ByteBuffer.wrap(frame("ERROR\nmessage:" + message + "\n\n")));
+        c.closing = true;
+        flushQuietly(c);
+    }
+
+    private void send(Connection c, ByteBuffer... parts) {
+        if (c.closed || c.closing) return;
+        for (ByteBuffer part : parts) {
+            c.out.add(part);
+            c.pending += part.remaining();
+        }
+        if (c.pending > MAX_PENDING_BYTES) {
+            slowConsumers.incrementAndGet();
+            close(c);
+            return;
+        }
+        flushQuietly(c);
+    }
+
+    private void flushQuietly(Connection c) {
+        try {
+            flush(c);
+        } catch (IOException e) {
+            close(c);
+        }
+    }
+
+    private void flush(Connection c) throws IOException {
+        if (c.closed) return;
+        while (!c.out.isEmpty()) {
+            ByteBuffer[] batch = c.out.stream().limit(MAX_GATHER).toArray(ByteBuffer[]::new);
+            long written = c.channel.write(batch);
+            c.pending -= written;
+            while (!c.out.isEmpty() && !c.out.peek().hasRemaining()) c.out.poll();
+            if (batch[batch.length - 1].hasRemaining()) break;
+        }
+        if (c.out.isEmpty() && c.closing) {
+            close(c);
+            return;
+        }
+        c.key.interestOps(c.out.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    private void close(Connection c) {
+        if (c.closed) return;
+        c.closed = true;
+        for (Subscription sub : c.subscriptions.values()) unsubscribe(sub);
+        c.subscriptions.clear();
+        c.out.clear();
+        c.key.cancel();
+        try {
+            c.channel.close();
+        } catch (IOException e) {
+            // already gone
+        }
+        connections--;
+    }
+
+    private void unsubscribe(Subscription sub) {
+        Set<Subscription> subs = topics.get(sub.destination);
+        if (subs != null && subs.remove(sub) && subs.isEmpty()) topics.remove(sub.destination);
+    }
+
+    /**
+     * Parse one frame from a buffer in read mode. Returns null and leaves the position
+     * unchanged when the frame is not complete yet. Header values are kept in their
+     * escaped wire form, which is also how they are written back out.
+     */
+    private static Frame parse(ByteBuffer buf) {
+        byte[] a = buf.array();
+        int start = buf.position();
+        int limit = buf.limit();
+        // heart-beat EOLs between frames
+        while (start < limit && (a[start] == '\n' || a[start] == '\r')) start++;
+        buf.position(start);
+        int headersEnd = -1;
+        for (int i = start + 1; i < limit; i++) {
+            if (a[i] == '\n' && (a[i - 1] == '\n' || (a[i - 1] == '\r' && i >= 2 && a[i - 2] == '\n'))) {
+                headersEnd = i + 1;
+                break;
+            }
+        }
+        if (headersEnd < 0) return null;
+        String[] lines = new String(a, start, headersEnd - start, StandardCharsets.UTF_8).split("\n");
+        String command = stripCr(lines[0]);
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            String line = stripCr(lines[i]);
+            int colon = line.indexOf(':');
+            // repeated headers: the first one wins
+            if (colon > 0) headers.putIfAbsent(line.substring(0, colon), line.substring(colon + 1));
+        }
+        int bodyEnd;
+        String length = headers.get("content-length");
+        if (length != null) {
+            bodyEnd = headersEnd + Integer.parseInt(length.trim());
+            if (bodyEnd >= limit) return null;
+        } else {
+            bodyEnd = headersEnd;
+            while (bodyEnd < limit && a[bodyEnd] != 0) bodyEnd++;
+            if (bodyEnd >= limit) return null;
+        }
+        byte[] body = new byte[bodyEnd - headersEnd];
+        System.arraycopy(a, headersEnd, body, 0, body.length);
+        buf.position(bodyEnd + 1);
+        return new Frame(command, headers, body);
+    }
+
+    private static String stripCr(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    private static byte[] frame(String headers) {
+        byte[] text = headers.getBytes(StandardCharsets.UTF_8);
+        byte[] out = new byte[text.length + 1];
+        System.arraycopy(text, 0, out, 0, text.length);
+        return out;
+    }
+
+    private record Frame(String command, Map<String, String> headers, byte[] body) {
+    }
+
+    private record Subscription(Connection connection, String id, String destination) {
+    }
+
+    private static final class Connection {
+        final SocketChannel channel;
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        final Map<String, Subscription> subscriptions = new HashMap<>();
+        ByteBuffer in = ByteBuffer.allocate(8192);
+        SelectionKey key;
+        long pending;
+        boolean closing;
+        boolean closed;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.dto.GameDeltaEvent;
+import com.example.backend.dto.GameStateDTO;
+import com.example.backend.dto.actions.MoveRequest;
+import com.example.backend.dto.actions.RollRequest;
+import com.example.backend.service.BoardCodec;
+import com.example.backend.service.LudoRulesEngine;
+import com.example.backend.service.PackedBoard;
+import com.example.backend.service.RuleVariant;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+
+/**
+ * One simulated player: its own STOMP session subscribed to the room topic.
+ * The player keeps a local copy of the board from the snapshot plus deltas and acts only
+ * on events it receives, so every action round-trips through the server and broker:
+ * - turn passes to us (or we earned another roll) -> roll
+ * - we rolled and kept the turn -> move a token the rules engine accepts (a roll no token can use
+ *   passes the turn on the server)
+ * - a player finishes all of its tokens -> the room is done
+ */
+final class PlayerClient extends StompSessionHandlerAdapter {
+
+    private static final String HOME = "HOME";
+    private static final String FINISHED = "FINISHED";
+
+    private final RoomDriver room;
+    private final String color;
+    private final LoadMetrics metrics;
+    private final Map<String, String[]> tokens = new HashMap<>();
+    private LudoRulesEngine rules = new LudoRulesEngine();
+    private volatile StompSession session;
+    private long lastSeq;
+    private long sentNanos;
+    private boolean sentMove;
+
+    PlayerClient(RoomDriver room, String color, LoadMetrics metrics) {
+        this.room = room;
+        this.color = color;
+        this.metrics = metrics;
+    }
+
+    String color() {
+        return color;
+    }
+
+    @Override
+    public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+        this.session = session;
+        String code = room.roomCode();
+        session.subscribe("/topic/game/" + code, new Handler(GameDeltaEvent.class) {
+            @Override
+            void handle(Object payload) {
+                onEvent((GameDeltaEvent) payload);
+            }
+        });
+        session.subscribe("/app/game/" + code + "/snapshot", new Handler(GameStateDTO.class) {
+            @Override
+            void handle(Object payload) {
+                onSnapshot((GameStateDTO) payload);
+            }
+        });
+    }
+
+    @Override
+    public void handleException(StompSession s, StompCommand command, StompHeaders headers, byte[] payload, Throwable ex) {
+        room.fail(ex);
+    }
+
+    @Override
+    public void handleTransportError(StompSession s, Throwable ex) {
+        if (!room.isDone()) room.fail(ex);
+    }
+
+    void disconnect() {
+        StompSession s = session;
+        if (s != null && s.isConnected()) s.disconnect();
+    }
+
+    private synchronized void onSnapshot(GameStateDTO state) {
+        Object variant = state.getBoard() == null ? null : state.getBoard().get("rules");
+        if (variant != null) rules = LudoRulesEngine.forVariant(RuleVariant.parse(variant.toString()));
+        Object byColor = state.getBoard() == null ? null : state.getBoard().get("tokens");
+        if (byColor instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                List<?> list = (List<?>) e.getValue();
+                String[] pos = new String[list.size()];
+                for (int i = 0; i < pos.length; i++) pos[i] = String.valueOf(list.get(i));
+                tokens.put(String.valueOf(e.getKey()), pos);
+            }
+        }
+        lastSeq = state.getSeq();
+        room.playerReady(this, state.getCurrentTurnColor());
+    }
+
+    private synchronized void onEvent(GameDeltaEvent event) {
+        metrics.events.increment();
+        metrics.deliveryLag.record(Math.max(0, System.currentTimeMillis() - event.getTs()), TimeUnit.MILLISECONDS);
+        if (lastSeq != 0 && event.getSeq() != lastSeq + 1) metrics.seqGaps.increment();
+        lastSeq = event.getSeq();
+        room.touch();
+        apply(event);
+        if (hasFinished(event.getColor())) {
+            room.finish(RoomDriver.Outcome.FINISHED);
+            return;
+        }
+
+        if (color.equals(event.getColor()) && sentNanos != 0) {
+            (sentMove ? metrics.move : metrics.roll).record(System.nanoTime() - sentNanos, TimeUnit.NANOSECONDS);
+            sentNanos = 0;
+        }
+        if (!color.equals(event.getTurn()) || room.isDone()) return;
+        if (GameDeltaEvent.DICE_ROLLED.equals(event.getType()) && color.equals(event.getColor())) {
+            int token = pickToken(event.getDice());
+            if (token >= 0) {
+                move(token, event.getDice());
+                return;
+            }
+        }
+        roll();
+    }
+
+    synchronized void roll() {
+        if (!room.claimAction()) return;
+        sentNanos = System.nanoTime();
+        sentMove = false;
+        session.send("/app/game/" + room.roomCode() + "/action.roll", new RollRequest().setColor(color));
+    }
+
+    private void move(int token, int dice) {
+        if (!room.claimAction()) return;
+        sentNanos = System.nanoTime();
+        sentMove = true;
+        session.send("/app/game/" + room.roomCode() + "/action.move",
+                new MoveRequest().setColor(color).setTokenIndex(token).setDice(dice));
+    }
+
+    private void apply(GameDeltaEvent event) {
+        if (!GameDeltaEvent.TOKEN_MOVED.equals(event.getType())) return;
+        String[] mine = tokens.get(event.getColor());
+        if (mine != null && event.getToken() != null) mine[event.getToken()] = event.getTo();
+        if (event.getCaptures() == null) return;
+        for (GameDeltaEvent.Capture c : event.getCaptures()) {
+            String[] theirs = tokens.get(c.getColor());
+            if (theirs != null) theirs[c.getToken()] = HOME;
+        }
+    }
+
+    private boolean hasFinished(String player) {
+        String[] pos = player == null ? null : tokens.get(player);
+        if (pos == null) return false;
+        for (String p : pos) {
+            if (!FINISHED.equals(p)) return false;
+        }
+        return true;
+    }
+
+    private int pickToken(int dice) {
+        String[] mine = tokens.get(color);
+        if (mine == null) return -1;
+        // only our own tokens decide legality (blockades aside: the server rejects those moves),
+        // so a board holding just our seat is enough
+        int seat = PackedBoard.seatOf(color);
+        PackedBoard board = new PackedBoard(rules.variant()).addSeat(seat);
+        for (int i = 0; i < mine.length; i++) board.setPosition(seat, i, BoardCodec.parsePosition(mine[i]));
+        int legal = rules.validMoves(board, seat, dice);
+        if (legal == 0) return -1;
+        for (int skip = ThreadLocalRandom.current().nextInt(Integer.bitCount(legal)); skip > 0; skip--) legal &= legal - 1;
+        return Integer.numberOfTrailingZeros(legal);
+    }
+
+    private abstract static class Handler implements StompFrameHandler {
+        private final Class<?> type;
+
+        Handler(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return type;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            handle(payload);
+        }
+
+        abstract void handle(Object payload);
+    }
+}
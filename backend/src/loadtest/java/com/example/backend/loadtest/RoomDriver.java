@@ -0,0 +1,124 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.dto.PlayerDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+/**
+ * Sets up one room over REST (create, join every player, start), connects a STOMP client
+ * per player and kicks off the first roll once every client has its snapshot.
+ * The room finishes after the configured number of actions.
+ */
+final class RoomDriver {
+
+    enum Outcome { FINISHED, STALLED, FAILED }
+
+    private final int index;
+    private final LoadTestOptions options;
+    private final LoadMetrics metrics;
+    private final List<PlayerClient> players = new ArrayList<>();
+    private final AtomicInteger ready = new AtomicInteger();
+    private final AtomicInteger actions = new AtomicInteger();
+    private final AtomicBoolean done = new AtomicBoolean();
+    private final CompletableFuture<Outcome> outcome = new CompletableFuture<>();
+    private volatile String roomCode;
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    RoomDriver(int index, LoadTestOptions options, LoadMetrics metrics) {
+        this.index = index;
+        this.options = options;
+        this.metrics = metrics;
+    }
+
+    String roomCode() {
+        return roomCode;
+    }
+
+    CompletableFuture<Outcome> outcome() {
+        return outcome;
+    }
+
+    boolean isDone() {
+        return done.get();
+    }
+
+    CompletableFuture<Outcome> start(LobbyClient lobby, WebSocketStompClient stomp, List<String> wsUrls) {
+        lobby.createRoom("load-" + index)
+                .thenCompose(room -> {
+                    roomCode = room.getRoomCode();
+                    CompletableFuture<Void> joins = CompletableFuture.completedFuture(null);
+                    for (int p = 0; p < options.players(); p++) {
+                        String name = "bot-" + index + "-" + p;
+                        // joins run one after another so turn order is stable
+                        joins = joins.thenCompose(v -> lobby.join(roomCode, name).thenAccept(this::addPlayer));
+                    }
+                    return joins;
+                })
+                .thenCompose(v -> lobby.start(roomCode))
+                .thenRun(() -> {
+                    touch();
+                    for (int p = 0; p < players.size(); p++) {
+                        // spread a room's players over the nodes so commands and broadcasts cross nodes
+                        String wsUrl = wsUrls.get((index + p) % wsUrls.size());
+                        stomp.connectAsync(wsUrl, players.get(p)).exceptionally(ex -> {
+                            fail(ex);
+                            return null;
+                        });
+                    }
+                })
+                .exceptionally(ex -> {
+                    fail(ex);
+                    return null;
+                });
+        return outcome;
+    }
+
+    private synchronized void addPlayer(PlayerDTO dto) {
+        players.add(new PlayerClient(this, dto.getColor(), metrics));
+    }
+
+    void playerReady(PlayerClient player, String turnColor) {
+        touch();
+        if (ready.incrementAndGet() != options.players()) return;
+        for (PlayerClient p : players) {
+            if (p.color().equals(turnColor)) p.roll();
+        }
+    }
+
+    void touch() {
+        lastActivityNanos = System.nanoTime();
+    }
+
+    /**
+     * Reserve the next action slot; finishes the room once the action budget is spent.
+     */
+    boolean claimAction() {
+        if (actions.incrementAndGet() <= options.actionsPerGame()) return true;
+        finish(Outcome.FINISHED);
+        return false;
+    }
+
+    void checkStalled(long nowNanos) {
+        if (!done.get() && nowNanos - lastActivityNanos > options.stallTimeout().toNanos()) finish(Outcome.STALLED);
+    }
+
+    void fail(Throwable ex) {
+        if (!done.get()) System.err.printf("room %s failed: %s%n", roomCode != null ? roomCode : "#" + index, ex);
+        finish(Outcome.FAILED);
+    }
+
+    void finish(Outcome result) {
+        if (!done.compareAndSet(false, true)) return;
+        switch (result) {
+            case FINISHED -> metrics.roomsFinished.increment();
+            case STALLED -> metrics.roomsStalled.increment();
+            default -> metrics.roomsFailed.increment();
+        }
+        for (PlayerClient p : players) p.disconnect();
+        outcome.complete(result);
+    }
+}
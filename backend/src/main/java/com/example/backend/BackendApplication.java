@@ -2,6 +2,7 @@ package com.example.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Spring Boot application entry point.
@@ -9,6 +10,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * PUBLIC_INTERFACE
  */
 @SpringBootApplication
+@EnableScheduling
 public class BackendApplication {
 
     // PUBLIC_INTERFACE
@@ -0,0 +1,36 @@
+package com.example.backend.config;
+
+import com.example.backend.service.TopicSubscriptions;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+/**
+ * Feeds TopicSubscriptions from the client inbound channel.
+ *
+ * PUBLIC_INTERFACE
+ */
+public class SubscriptionTrackingInterceptor implements ChannelInterceptor {
+
+    private final TopicSubscriptions subscriptions;
+
+    public SubscriptionTrackingInterceptor(TopicSubscriptions subscriptions) {
+        this.subscriptions = subscriptions;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        StompCommand command = accessor.getCommand();
+        if (command == StompCommand.SUBSCRIBE) {
+            subscriptions.subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), accessor.getDestination());
+        } else if (command == StompCommand.UNSUBSCRIBE) {
+            subscriptions.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        } else if (command == StompCommand.DISCONNECT) {
+            subscriptions.disconnect(accessor.getSessionId());
+        }
+        return message;
+    }
+}
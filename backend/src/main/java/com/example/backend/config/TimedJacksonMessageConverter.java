@@ -0,0 +1,58 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.util.MimeType;
+
+/**
+ * Jackson STOMP payload converter that times parsing (ws.payload.parse) and serialization
+ * (ws.payload.serialize), tagged with the wire format. String and byte[] payloads are left
+ * to the plain converters, as with Spring's default converter order.
+ *
+ * PUBLIC_INTERFACE
+ */
+public class TimedJacksonMessageConverter extends MappingJackson2MessageConverter {
+
+    private final Timer parse;
+    private final Timer serialize;
+
+    public TimedJacksonMessageConverter(MeterRegistry registry, String format, MimeType... mimeTypes) {
+        super(mimeTypes);
+        this.parse = registry.timer("ws.payload.parse", "format", format);
+        this.serialize = registry.timer("ws.payload.serialize", "format", format);
+    }
+
+    @Override
+    protected boolean canConvertFrom(Message<?> message, Class<?> targetClass) {
+        return targetClass != String.class && targetClass != byte[].class && super.canConvertFrom(message, targetClass);
+    }
+
+    @Override
+    protected boolean canConvertTo(Object payload, MessageHeaders headers) {
+        return !(payload instanceof String) && !(payload instanceof byte[]) && super.canConvertTo(payload, headers);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        long start = System.nanoTime();
+        try {
+            return super.convertFromInternal(message, targetClass, conversionHint);
+        } finally {
+            parse.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        long start = System.nanoTime();
+        try {
+            return super.convertToInternal(payload, headers, conversionHint);
+        } finally {
+            serialize.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
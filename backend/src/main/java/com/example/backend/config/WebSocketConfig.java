@@ -1,15 +1,51 @@
 package com.example.backend.config;
 
+import com.example.backend.service.TopicSubscriptions;
+import com.example.backend.service.VirtualThreads;
+import com.example.backend.service.WireFormat;
+import com.example.backend.service.WireFormatSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket and STOMP configuration.
+ * Payload encoding is negotiated per connection (see WireFormat): JSON by default,
+ * CBOR when the CONNECT frame carries "wire-format: cbor".
+ * Subscriptions and fan-out run either on the in-process simple broker (app.ws.broker=simple)
+ * or on an external STOMP broker behind a relay (app.ws.broker=relay, app.ws.relay.*), which
+ * keeps subscription state and per-subscriber delivery off the game node and is shared by
+ * every node of a cluster.
+ *
+ * Transport: app.ws.transport=sockjs serves SockJS with its raw WebSocket at {endpoint}/websocket;
+ * native serves plain WebSocket only, at {endpoint} and {endpoint}/websocket, skipping the
+ * SockJS info/transport negotiation. The inbound and outbound channel executors are sized by
+ * app.ws.inbound.* and app.ws.outbound.*. Each session's outbound backlog is bounded by
+ * app.ws.send-time-limit-ms and app.ws.send-buffer-limit-bytes: a session that falls behind
+ * buffers up to those limits while the other sessions in its room keep receiving, and is
+ * then closed. The outbound channel is a pool, so the broker preserves publish order
+ * (setPreservePublishOrder): messages for one session are handed to the pool one at a time
+ * and a client sees a room's deltas in seq order, while different sessions still send in
+ * parallel.
+ * In virtual-thread mode (spring.threads.virtual.enabled on Java 21+) inbound frames run on
+ * a virtual thread each, so handlers waiting on a room or the database do not hold a pooled
+ * thread, and the inbound ws.channel.* gauges count frames waiting for and running on those
+ * threads; the outbound channel keeps its pool so its queue depth stays bounded and metered.
  *
  * PUBLIC_INTERFACE
  */
@@ -20,32 +56,225 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${app.ws.endpoint:/ws}")
     private String wsEndpoint;
 
+    @Value("${app.ws.broker:simple}")
+    private String broker = "simple";
+
+    @Value("${app.ws.relay.host:localhost}")
+    private String relayHost = "localhost";
+
+    @Value("${app.ws.relay.port:61613}")
+    private int relayPort = 61613;
+
+    @Value("${app.ws.relay.client-login:guest}")
+    private String clientLogin = "guest";
+
+    @Value("${app.ws.relay.client-passcode:guest}")
+    private String clientPasscode = "guest";
+
+    @Value("${app.ws.relay.system-login:guest}")
+    private String systemLogin = "guest";
+
+    @Value("${app.ws.relay.system-passcode:guest}")
+    private String systemPasscode = "guest";
+
+    @Value("${app.ws.relay.virtual-host:}")
+    private String virtualHost = "";
+
+    @Value("${app.ws.relay.heartbeat-ms:10000}")
+    private long relayHeartbeatMs = 10000;
+
+    @Value("${app.ws.transport:sockjs}")
+    private String transport = "sockjs";
+
+    @Value("${app.ws.inbound.threads:0}")
+    private int inboundThreads;
+
+    @Value("${app.ws.inbound.max-threads:0}")
+    private int inboundMaxThreads;
+
+    @Value("${app.ws.inbound.queue-capacity:0}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.ws.outbound.threads:0}")
+    private int outboundThreads;
+
+    @Value("${app.ws.outbound.max-threads:0}")
+    private int outboundMaxThreads;
+
+    @Value("${app.ws.outbound.queue-capacity:0}")
+    private int outboundQueueCapacity;
+
+    @Value("${app.ws.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs = 5000;
+
+    @Value("${app.ws.send-buffer-limit-bytes:262144}")
+    private int sendBufferLimitBytes = 262144;
+
+    @Value("${app.ws.message-size-limit-bytes:65536}")
+    private int messageSizeLimitBytes = 65536;
+
+    @Value("${app.ws.time-to-first-message-ms:60000}")
+    private int timeToFirstMessageMs = 60000;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final WireFormatSupport wireFormats;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final WireFormatInterceptor wireFormatInterceptor;
+    private final SubscriptionTrackingInterceptor subscriptionInterceptor;
+    private final WebSocketTransportMetrics transportMetrics;
+
+    public WebSocketConfig(WireFormatSupport wireFormats,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           TopicSubscriptions subscriptions) {
+        this.wireFormats = wireFormats;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.wireFormatInterceptor = new WireFormatInterceptor(wireFormats, objectMapper);
+        this.subscriptionInterceptor = new SubscriptionTrackingInterceptor(subscriptions);
+        this.transportMetrics = new WebSocketTransportMetrics(meterRegistry);
+    }
+
     // PUBLIC_INTERFACE
     /**
      * Configure STOMP endpoints for client connections.
-     * Registers SockJS fallback and allows CORS to be configured at proxy level.
+     * Registers SockJS fallback (app.ws.transport=sockjs) or plain WebSocket only (native),
+     * and allows CORS to be configured at proxy level.
+     * Binary (CBOR) clients must use the raw WebSocket transport ({endpoint}/websocket),
+     * since SockJS frames are text only.
      *
      * @param registry StompEndpointRegistry
      */
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
-        registry.addEndpoint(StringUtils.hasText(wsEndpoint) ? wsEndpoint : "/ws")
-                .setAllowedOriginPatterns("*")
-                .withSockJS();
+        String endpoint = StringUtils.hasText(wsEndpoint) ? wsEndpoint : "/ws";
+        switch (transport) {
+            case "sockjs" -> registry.addEndpoint(endpoint)
+                    .setAllowedOriginPatterns("*")
+                    .withSockJS();
+            // keep the SockJS raw WebSocket path working for clients that connect there
+            case "native" -> registry.addEndpoint(endpoint, endpoint + "/websocket")
+                    .setAllowedOriginPatterns("*");
+            default -> throw new IllegalArgumentException("app.ws.transport must be sockjs or native: " + transport);
+        }
     }
 
     // PUBLIC_INTERFACE
     /**
-     * Configure message broker with application destination prefix and simple broker.
+     * Configure message broker with application destination prefix and the broker selected by app.ws.broker.
      *
      * - Clients send to /app/**
      * - Server broadcasts to /topic/**
+     * - Errors for one session go to /user/queue/errors
+     * - Messages to a session leave in the order they were published
      *
      * @param registry MessageBrokerRegistry
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/app");
-        registry.enableSimpleBroker("/topic");
+        // the pooled outbound channel would otherwise let a session's deltas overtake each other
+        registry.setPreservePublishOrder(true);
+        switch (broker) {
+            case "simple" -> registry.enableSimpleBroker("/topic", "/queue");
+            case "relay" -> {
+                // one system connection for server sends, one relayed connection per client session
+                StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                        .setRelayHost(relayHost)
+                        .setRelayPort(relayPort)
+                        .setClientLogin(clientLogin)
+                        .setClientPasscode(clientPasscode)
+                        .setSystemLogin(systemLogin)
+                        .setSystemPasscode(systemPasscode)
+                        .setSystemHeartbeatSendInterval(relayHeartbeatMs)
+                        .setSystemHeartbeatReceiveInterval(relayHeartbeatMs);
+                if (StringUtils.hasText(virtualHost)) relay.setVirtualHost(virtualHost);
+            }
+            default -> throw new IllegalArgumentException("app.ws.broker must be simple or relay: " + broker);
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Size the inbound executor (or use virtual threads), read the negotiated wire format from CONNECT frames
+     * and track topic subscriptions.
+     *
+     * @param registration inbound channel registration
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (VirtualThreads.isActive(virtualThreads)) {
+            registration.executor(transportMetrics.monitor("inbound", new VirtualThreadTaskExecutor("ws-inbound-")));
+        } else {
+            registration.taskExecutor(channelExecutor("inbound", inboundThreads, inboundMaxThreads, inboundQueueCapacity));
+        }
+        registration.interceptors(wireFormatInterceptor.inbound(), subscriptionInterceptor);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Size the outbound executor and re-encode outbound messages for sessions that negotiated a binary format.
+     *
+     * @param registration outbound channel registration
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("outbound", outboundThreads, outboundMaxThreads, outboundQueueCapacity));
+        registration.interceptors(wireFormatInterceptor.outbound());
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Bound inbound frame size and each session's outbound backlog; count sessions and slow-consumer drops.
+     *
+     * @param registration transport registration
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(messageSizeLimitBytes)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferLimitBytes)
+                .setTimeToFirstMessage(timeToFirstMessageMs)
+                .addDecoratorFactory(transportMetrics::decorate);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Timed JSON converter ahead of the defaults, and CBOR-encoded inbound commands (content-type application/cbor).
+     *
+     * @param messageConverters converters to extend
+     * @return true to keep the default converters
+     */
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        TimedJacksonMessageConverter json = new TimedJacksonMessageConverter(meterRegistry, "json",
+                MimeTypeUtils.APPLICATION_JSON, new MimeType("application", "*+json"));
+        json.setObjectMapper(objectMapper);
+        // first, so it handles JSON payloads before Spring Boot's untimed Jackson converter
+        messageConverters.add(0, json);
+        TimedJacksonMessageConverter cbor = new TimedJacksonMessageConverter(meterRegistry, "cbor",
+                WireFormat.CBOR.mimeType());
+        cbor.setObjectMapper(wireFormats.cborMapper());
+        cbor.setStrictContentTypeMatch(true);
+        messageConverters.add(cbor);
+        return true;
+    }
+
+    /**
+     * Channel executor with metered queue depth. threads 0 = two per CPU (Spring's default);
+     * queueCapacity 0 = unbounded. maxThreads only matters with a bounded queue, which fails
+     * sends once full instead of letting the backlog grow.
+     */
+    private ThreadPoolTaskExecutor channelExecutor(String channel, int threads, int maxThreads, int queueCapacity) {
+        int core = threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 2;
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(Math.max(core, maxThreads));
+        executor.setQueueCapacity(queueCapacity > 0 ? queueCapacity : Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("ws-" + channel + "-");
+        return transportMetrics.monitor(channel, executor);
     }
 }
@@ -0,0 +1,118 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+/**
+ * Meters for the STOMP transport.
+ * - ws.channel.queued / ws.channel.active (tag channel=inbound|outbound): messages
+ *   waiting for and being handled by each channel's executor, pooled or virtual-thread.
+ *   A growing outbound queue means sends are slower than broadcasts, not that one session
+ *   is stuck: each session buffers its own backlog and is closed once it exceeds the send
+ *   limits. The broker channel has no executor (it runs on the sending thread), so it has
+ *   no queue to meter.
+ * - ws.sessions: open WebSocket sessions.
+ * - ws.sessions.dropped: sessions closed for exceeding the send time or buffer limit.
+ *
+ * PUBLIC_INTERFACE
+ */
+public class WebSocketTransportMetrics {
+    private static final Logger log = LoggerFactory.getLogger(WebSocketTransportMetrics.class);
+
+    private final MeterRegistry registry;
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final Counter dropped;
+
+    public WebSocketTransportMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        registry.gauge("ws.sessions", sessions);
+        this.dropped = registry.counter("ws.sessions.dropped", "reason", "slow-consumer");
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Register queue depth and active-thread gauges for a channel executor.
+     *
+     * @param channel channel tag value
+     * @param executor the channel's executor
+     * @return the executor
+     */
+    public ThreadPoolTaskExecutor monitor(String channel, ThreadPoolTaskExecutor executor) {
+        Tags tags = Tags.of("channel", channel);
+        registry.gauge("ws.channel.queued", tags, executor, ThreadPoolTaskExecutor::getQueueSize);
+        registry.gauge("ws.channel.active", tags, executor, ThreadPoolTaskExecutor::getActiveCount);
+        return executor;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Register the same gauges for an executor without a queue to inspect (one virtual thread
+     * per task): queued counts tasks submitted but not yet running, active those running.
+     *
+     * @param channel channel tag value
+     * @param executor the channel's executor
+     * @return executor counting its tasks, to register in place of the given one
+     */
+    public Executor monitor(String channel, Executor executor) {
+        AtomicInteger queued = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+        Tags tags = Tags.of("channel", channel);
+        registry.gauge("ws.channel.queued", tags, queued, AtomicInteger::get);
+        registry.gauge("ws.channel.active", tags, active, AtomicInteger::get);
+        return task -> {
+            queued.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    queued.decrementAndGet();
+                    active.incrementAndGet();
+                    try {
+                        task.run();
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException e) {
+                queued.decrementAndGet();
+                throw e;
+            }
+        };
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Wrap the STOMP handler to count sessions and slow-consumer disconnects.
+     *
+     * @param handler handler to decorate
+     * @return decorated handler
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.incrementAndGet();
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+                sessions.decrementAndGet();
+                // the close status Spring uses when a session exceeds its send time or buffer limit
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(status)) {
+                    dropped.increment();
+                    log.debug("dropped slow websocket session id={}", session.getId());
+                }
+                super.afterConnectionClosed(session, status);
+            }
+        };
+    }
+}
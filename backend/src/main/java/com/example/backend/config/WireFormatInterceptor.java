@@ -0,0 +1,80 @@
+package com.example.backend.config;
+
+import com.example.backend.service.WireFormat;
+import com.example.backend.service.WireFormatSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Negotiates the per-connection wire format and applies it to outbound messages.
+ * Inbound: reads the CONNECT "wire-format" header and forgets the session on DISCONNECT.
+ * Outbound: for binary sessions, swaps the JSON payload for the pre-encoded CBOR one
+ * (or transcodes when none was attached). CBOR frames are sent as application/octet-stream,
+ * the content type Spring's STOMP handler writes as binary WebSocket frames.
+ *
+ * PUBLIC_INTERFACE
+ */
+public class WireFormatInterceptor {
+
+    private final WireFormatSupport support;
+    private final ObjectMapper jsonMapper;
+
+    public WireFormatInterceptor(WireFormatSupport support, ObjectMapper jsonMapper) {
+        this.support = support;
+        this.jsonMapper = jsonMapper;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return interceptor for the client inbound channel
+     */
+    public ChannelInterceptor inbound() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+                StompCommand command = accessor.getCommand();
+                if (command == StompCommand.CONNECT || command == StompCommand.STOMP) {
+                    support.register(accessor.getSessionId(),
+                            WireFormat.fromHeader(accessor.getFirstNativeHeader(WireFormat.CONNECT_HEADER)));
+                } else if (command == StompCommand.DISCONNECT) {
+                    support.unregister(accessor.getSessionId());
+                }
+                return message;
+            }
+        };
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return interceptor for the client outbound channel
+     */
+    public ChannelInterceptor outbound() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                MessageHeaders headers = message.getHeaders();
+                if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) return message;
+                if (support.formatOf(SimpMessageHeaderAccessor.getSessionId(headers)) != WireFormat.CBOR) return message;
+                if (!(message.getPayload() instanceof byte[] json)) return message;
+
+                Object pre = headers.get(WireFormatSupport.CBOR_PAYLOAD_HEADER);
+                byte[] cbor = pre instanceof byte[] bytes ? bytes : support.jsonToCbor(jsonMapper, json);
+                MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+                accessor.removeHeader(WireFormatSupport.CBOR_PAYLOAD_HEADER);
+                accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+                return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+            }
+        };
+    }
+}
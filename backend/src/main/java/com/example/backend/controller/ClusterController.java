@@ -0,0 +1,94 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.GameStateDTO;
+import com.example.backend.service.HttpClusterTransport;
+import com.example.backend.service.LobbyChange;
+import io.swagger.v3.oas.annotations.Hidden;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Receiving side of the HTTP cluster transport (node-to-node only, not part of the public API).
+ *
+ * PUBLIC_INTERFACE
+ */
+@RestController
+@RequestMapping("/internal/cluster")
+@ConditionalOnProperty(name = "app.cluster.transport", havingValue = "http")
+@Hidden
+public class ClusterController {
+
+    private final HttpClusterTransport transport;
+
+    public ClusterController(HttpClusterTransport transport) {
+        this.transport = transport;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Run a command forwarded by a peer for a room owned here.
+     */
+    @PostMapping("/command")
+    public CompletableFuture<GameStateDTO> command(@RequestHeader(value = HttpClusterTransport.SECRET_HEADER, required = false) String secret,
+                                                  @RequestBody HttpClusterTransport.ForwardedCommand command) {
+        transport.checkSecret(secret);
+        return transport.receiver().onCommand(command.toCommand());
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Current state of a room owned here.
+     */
+    @GetMapping("/state/{code}")
+    public GameStateDTO state(@RequestHeader(value = HttpClusterTransport.SECRET_HEADER, required = false) String secret,
+                              @PathVariable("code") String code) {
+        transport.checkSecret(secret);
+        return transport.receiver().onState(code);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Release a room to the peer that now owns it; answers with the room's last durable seq.
+     */
+    @PostMapping("/handoff/{code}")
+    public CompletableFuture<Long> handoff(@RequestHeader(value = HttpClusterTransport.SECRET_HEADER, required = false) String secret,
+                                           @PathVariable("code") String code) {
+        transport.checkSecret(secret);
+        return transport.receiver().onHandoff(code);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Deliver a peer's broadcast to subscribers connected here.
+     */
+    @PostMapping("/relay")
+    public void relay(@RequestHeader(value = HttpClusterTransport.SECRET_HEADER, required = false) String secret,
+                      @RequestParam("destination") String destination,
+                      @RequestBody byte[] json) {
+        transport.checkSecret(secret);
+        transport.receiver().onRelay(destination, json);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Apply a lobby change committed on a peer.
+     */
+    @PostMapping("/lobby")
+    public void lobby(@RequestHeader(value = HttpClusterTransport.SECRET_HEADER, required = false) String secret,
+                      @RequestBody LobbyChange change) {
+        transport.checkSecret(secret);
+        transport.receiver().onLobbyChange(change);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Liveness signal from a peer.
+     */
+    @PostMapping("/heartbeat/{nodeId}")
+    public void heartbeat(@RequestHeader(value = HttpClusterTransport.SECRET_HEADER, required = false) String secret,
+                          @PathVariable("nodeId") String nodeId) {
+        transport.checkSecret(secret);
+        transport.receiver().onHeartbeat(nodeId);
+    }
+}
@@ -3,11 +3,13 @@ package com.example.backend.controller;
 import com.example.backend.dto.GameStateDTO;
 import com.example.backend.dto.actions.MoveRequest;
 import com.example.backend.dto.actions.RollRequest;
+import com.example.backend.service.GameReplayService;
 import com.example.backend.service.GameService;
 import com.example.backend.service.RoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,10 +26,12 @@ public class GameController {
 
     private final GameService gameService;
     private final RoomService roomService;
+    private final GameReplayService replayService;
 
-    public GameController(GameService gameService, RoomService roomService) {
+    public GameController(GameService gameService, RoomService roomService, GameReplayService replayService) {
         this.gameService = gameService;
         this.roomService = roomService;
+        this.replayService = replayService;
     }
 
     // PUBLIC_INTERFACE
@@ -40,14 +44,24 @@ public class GameController {
         return gameService.getState(code);
     }
 
+    // PUBLIC_INTERFACE
+    /**
+     * Rebuild the game state as it was right after event seq, from the event log (audit/debugging).
+     */
+    @GetMapping("/replay")
+    @Operation(summary = "Replay game state", description = "Rebuilds the room's state at a past event sequence number from snapshots and the event log")
+    public GameStateDTO replay(@PathVariable("code") String code, @RequestParam("seq") long seq) {
+        return replayService.stateAt(code, seq);
+    }
+
     // PUBLIC_INTERFACE
     /**
      * Roll dice for the current player.
      */
     @PostMapping("/action/roll")
     @Operation(summary = "Roll dice", description = "Roll dice for the player whose turn it is")
-    public GameStateDTO roll(@PathVariable("code") String code, @Valid @RequestBody RollRequest req) {
-        return gameService.rollDice(code, req.getColor());
+    public CompletableFuture<GameStateDTO> roll(@PathVariable("code") String code, @Valid @RequestBody RollRequest req) {
+        return gameService.rollDice(code, req.getColor(), req.getExpectedVersion());
     }
 
     // PUBLIC_INTERFACE
@@ -56,7 +70,7 @@ public class GameController {
      */
     @PostMapping("/action/move")
     @Operation(summary = "Move token", description = "Move a token using the last rolled dice or a provided dice override")
-    public GameStateDTO move(@PathVariable("code") String code, @Valid @RequestBody MoveRequest req) {
-        return gameService.moveToken(code, req.getColor(), req.getTokenIndex(), req.getDice());
+    public CompletableFuture<GameStateDTO> move(@PathVariable("code") String code, @Valid @RequestBody MoveRequest req) {
+        return gameService.moveToken(code, req.getColor(), req.getTokenIndex(), req.getDice(), req.getExpectedVersion());
     }
 }
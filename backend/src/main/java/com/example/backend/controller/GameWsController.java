@@ -1,21 +1,32 @@
 package com.example.backend.controller;
 
-import com.example.backend.dto.GameEventEnvelope;
 import com.example.backend.dto.GameStateDTO;
 import com.example.backend.dto.actions.MoveRequest;
 import com.example.backend.dto.actions.RollRequest;
-import com.example.backend.service.BroadcastService;
 import com.example.backend.service.GameService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 
 /**
  * STOMP WebSocket message controller. Clients send to /app/game/{code}/action.*
- * Server broadcasts updates to /topic/game/{code}.
+ * Server broadcasts delta events to /topic/game/{code}; a client that detects a
+ * sequence gap subscribes to /app/game/{code}/snapshot to re-sync.
+ * Actions go through the same command pipeline as REST, which publishes exactly once.
+ * A failed action is answered to the sending session only, on /user/queue/errors, with the
+ * body the REST call would return (code VERSION_CONFLICT and currentVersion for a stale
+ * expectedVersion).
  *
  * PUBLIC_INTERFACE
  */
@@ -23,13 +34,14 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 @Tag(name = "Game WS", description = "STOMP endpoints: send to /app/game/{code}/action.*; subscribe /topic/game/{code}")
 public class GameWsController {
+    private static final Logger log = LoggerFactory.getLogger(GameWsController.class);
 
     private final GameService gameService;
-    private final BroadcastService broadcastService;
+    private final SimpMessagingTemplate messaging;
 
-    public GameWsController(GameService gameService, BroadcastService broadcastService) {
+    public GameWsController(GameService gameService, SimpMessagingTemplate messaging) {
         this.gameService = gameService;
-        this.broadcastService = broadcastService;
+        this.messaging = messaging;
     }
 
     // PUBLIC_INTERFACE
@@ -38,11 +50,13 @@ public class GameWsController {
      *
      * @param code room code
      * @param req roll request
+     * @param sessionId sending session, told about a failure
      */
     @MessageMapping("/game/{code}/action.roll")
-    public void roll(@DestinationVariable String code, @Valid RollRequest req) {
-        GameStateDTO dto = gameService.rollDice(code, req.getColor());
-        broadcastService.broadcast(code, GameEventEnvelope.of("DiceRolled", dto, code));
+    public void roll(@DestinationVariable String code, @Valid RollRequest req,
+                     @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        gameService.rollDice(code, req.getColor(), req.getExpectedVersion())
+                .exceptionally(ex -> sendFailure(sessionId, ex));
     }
 
     // PUBLIC_INTERFACE
@@ -50,8 +64,37 @@ public class GameWsController {
      * Handle move over STOMP.
      */
     @MessageMapping("/game/{code}/action.move")
-    public void move(@DestinationVariable String code, @Valid MoveRequest req) {
-        GameStateDTO dto = gameService.moveToken(code, req.getColor(), req.getTokenIndex(), req.getDice());
-        broadcastService.broadcast(code, GameEventEnvelope.of("GameStateUpdated", dto, code));
+    public void move(@DestinationVariable String code, @Valid MoveRequest req,
+                     @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        gameService.moveToken(code, req.getColor(), req.getTokenIndex(), req.getDice(), req.getExpectedVersion())
+                .exceptionally(ex -> sendFailure(sessionId, ex));
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Reply to the subscribing session only with the current full state, including its seq.
+     *
+     * @param code room code
+     * @return current game state
+     */
+    @SubscribeMapping("/game/{code}/snapshot")
+    public GameStateDTO snapshot(@DestinationVariable String code) {
+        return gameService.getState(code);
+    }
+
+    private GameStateDTO sendFailure(String sessionId, Throwable ex) {
+        // actions complete off the inbound thread, so @MessageExceptionHandler never sees these
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        GlobalExceptionHandler.ErrorBody error = GlobalExceptionHandler.actionError(cause);
+        // no authenticated user: address the session, which the user destination resolves by id
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+        try {
+            messaging.convertAndSendToUser(sessionId, GlobalExceptionHandler.ERRORS_QUEUE, error, headers.getMessageHeaders());
+        } catch (RuntimeException e) {
+            log.warn("WS error reply failed session={} code={} msg={}", sessionId, error.code(), e.getMessage());
+        }
+        return null;
     }
 }
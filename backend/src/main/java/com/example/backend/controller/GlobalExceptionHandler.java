@@ -1,5 +1,6 @@
 package com.example.backend.controller;
 
+import com.example.backend.service.VersionConflictException;
 import java.time.Instant;
 import java.util.NoSuchElementException;
 import java.util.UUID;
@@ -8,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
@@ -21,7 +23,14 @@ import org.springframework.web.bind.annotation.*;
 public class GlobalExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
-    record ErrorBody(String code, String message, String requestId, Instant timestamp) {}
+    /** User destination for STOMP action errors, resolved per session (/user/queue/errors). */
+    static final String ERRORS_QUEUE = "/queue/errors";
+
+    /**
+     * Error response body; also sent to a STOMP session on /user/queue/errors.
+     * currentVersion is set for VERSION_CONFLICT only.
+     */
+    record ErrorBody(String code, String message, String requestId, Instant timestamp, Long currentVersion) {}
 
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<ErrorBody> notFound(NoSuchElementException ex) {
@@ -43,6 +52,16 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, "BAD_REQUEST", ex);
     }
 
+    @ExceptionHandler(SecurityException.class)
+    public ResponseEntity<ErrorBody> forbidden(SecurityException ex) {
+        return build(HttpStatus.FORBIDDEN, "FORBIDDEN", ex);
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ErrorBody> versionConflict(VersionConflictException ex) {
+        return build(HttpStatus.CONFLICT, "VERSION_CONFLICT", ex);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ErrorBody> conflict(IllegalStateException ex) {
         return build(HttpStatus.CONFLICT, "CONFLICT", ex);
@@ -54,15 +73,34 @@ public class GlobalExceptionHandler {
     }
 
     @MessageExceptionHandler
-    public void wsErrors(Exception ex) {
-        // Log WebSocket errors to help debugging
-        log.warn("WS error: {}", ex.getMessage());
+    @SendToUser(destinations = ERRORS_QUEUE, broadcast = false)
+    public ErrorBody wsErrors(Exception ex) {
+        return actionError(ex);
+    }
+
+    /**
+     * Map a failed STOMP action to the body the equivalent REST call would return.
+     */
+    static ErrorBody actionError(Throwable ex) {
+        if (ex instanceof NoSuchElementException) return body(HttpStatus.NOT_FOUND, "NOT_FOUND", ex);
+        if (ex instanceof org.springframework.messaging.handler.annotation.support.MethodArgumentNotValidException) {
+            return body(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", ex);
+        }
+        if (ex instanceof IllegalArgumentException) return body(HttpStatus.BAD_REQUEST, "BAD_REQUEST", ex);
+        if (ex instanceof SecurityException) return body(HttpStatus.FORBIDDEN, "FORBIDDEN", ex);
+        if (ex instanceof VersionConflictException) return body(HttpStatus.CONFLICT, "VERSION_CONFLICT", ex);
+        if (ex instanceof IllegalStateException) return body(HttpStatus.CONFLICT, "CONFLICT", ex);
+        return body(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR", ex);
     }
 
     private ResponseEntity<ErrorBody> build(HttpStatus status, String code, Exception ex) {
+        return ResponseEntity.status(status).body(body(status, code, ex));
+    }
+
+    private static ErrorBody body(HttpStatus status, String code, Throwable ex) {
         String reqId = UUID.randomUUID().toString();
         log.warn("error status={} code={} requestId={} msg={}", status.value(), code, reqId, ex.getMessage());
-        return ResponseEntity.status(status)
-                .body(new ErrorBody(code, ex.getMessage(), reqId, Instant.now()));
-        }
+        Long currentVersion = ex instanceof VersionConflictException conflict ? conflict.getCurrentVersion() : null;
+        return new ErrorBody(code, ex.getMessage(), reqId, Instant.now(), currentVersion);
+    }
 }
@@ -1,15 +1,17 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.LobbyPageDTO;
+import com.example.backend.dto.LobbyStatus;
 import com.example.backend.dto.PlayerDTO;
 import com.example.backend.dto.RoomDTO;
 import com.example.backend.dto.actions.CreateRoomRequest;
 import com.example.backend.dto.actions.JoinRequest;
 import com.example.backend.dto.actions.ReadyRequest;
+import com.example.backend.service.LobbyIndex;
 import com.example.backend.service.RoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,9 +27,11 @@ import org.springframework.web.bind.annotation.*;
 public class LobbyController {
 
     private final RoomService roomService;
+    private final LobbyIndex lobbyIndex;
 
-    public LobbyController(RoomService roomService) {
+    public LobbyController(RoomService roomService, LobbyIndex lobbyIndex) {
         this.roomService = roomService;
+        this.lobbyIndex = lobbyIndex;
     }
 
     // PUBLIC_INTERFACE
@@ -38,21 +42,26 @@ public class LobbyController {
      * @return RoomDTO
      */
     @PostMapping
-    @Operation(summary = "Create room", description = "Creates a new room and returns its code")
+    @Operation(summary = "Create room", description = "Creates a new room and returns its code; rules (e.g. players=6) set how many players it takes")
     public RoomDTO create(@Valid @RequestBody CreateRoomRequest req) {
-        return roomService.createRoom(req != null ? req.getName() : null);
+        return roomService.createRoom(req != null ? req.getName() : null, req != null ? req.getRules() : null);
     }
 
     // PUBLIC_INTERFACE
     /**
-     * List rooms.
+     * List rooms one page at a time, newest first.
      *
-     * @return list of RoomDTO
+     * @param status all, open, full or started
+     * @param cursor nextCursor from the previous page
+     * @param limit page size
+     * @return LobbyPageDTO
      */
     @GetMapping
-    @Operation(summary = "List rooms", description = "Returns a list of rooms")
-    public List<RoomDTO> list() {
-        return roomService.listRooms();
+    @Operation(summary = "List rooms", description = "Returns a page of lobby rooms filtered by status (all/open/full/started); follow nextCursor for more. Subscribe to /topic/lobby for changes after the page's version")
+    public LobbyPageDTO list(@RequestParam(value = "status", required = false) String status,
+                             @RequestParam(value = "cursor", required = false) String cursor,
+                             @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return lobbyIndex.page(LobbyStatus.parse(status), cursor, limit);
     }
 
     // PUBLIC_INTERFACE
@@ -64,9 +73,9 @@ public class LobbyController {
      * @return PlayerDTO for joined player
      */
     @PostMapping("/{code}/join")
-    @Operation(summary = "Join room", description = "Join a room by code")
+    @Operation(summary = "Join room", description = "Join a room by code; set ai to add a server-played AI player")
     public PlayerDTO join(@PathVariable("code") String code, @Valid @RequestBody JoinRequest req) {
-        return roomService.joinRoom(code, req.getName(), req.getPreferredColor());
+        return roomService.joinRoom(code, req.getName(), req.getPreferredColor(), req.isAi());
     }
 
     // PUBLIC_INTERFACE
@@ -94,11 +103,13 @@ public class LobbyController {
 
     // PUBLIC_INTERFACE
     /**
-     * Start the game in the room.
+     * Start the game in the room with the rules it was created with, or other house rules
+     * (RuleVariant name, e.g. "quick,blockades") for the same number of players.
      */
     @PostMapping("/{code}/start")
     @Operation(summary = "Start game", description = "Start game for a room and initialize state if needed")
-    public void start(@PathVariable("code") String code) {
-        roomService.start(code);
+    public void start(@PathVariable("code") String code,
+                      @RequestParam(value = "rules", required = false) String rules) {
+        roomService.start(code, rules);
     }
 }
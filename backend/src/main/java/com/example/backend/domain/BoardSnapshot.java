@@ -0,0 +1,77 @@
+package com.example.backend.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Compact point-in-time board of a Room, taken every N events and at game start (seq 0).
+ * The board is stored in BoardCodec's packed binary form (a few dozen bytes).
+ * State at any sequence number = the latest snapshot at or before it + the MoveLog events after it.
+ *
+ * PUBLIC_INTERFACE
+ */
+@Entity
+@Table(name = "board_snapshots", indexes = {
+        @Index(name = "idx_snapshot_room_seq", columnList = "room_id, seq")
+})
+public class BoardSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_snapshot_seq")
+    @SequenceGenerator(name = "board_snapshot_seq", sequenceName = "board_snapshot_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Associated room.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "room_id", nullable = false)
+    private Room room;
+
+    /**
+     * Room event sequence number the board reflects.
+     */
+    @Column(nullable = false)
+    private long seq;
+
+    /**
+     * Packed board (BoardCodec.toBytes).
+     */
+    @Column(nullable = false, length = 64)
+    private byte[] board;
+
+    /**
+     * Creation timestamp.
+     */
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    public BoardSnapshot() {
+    }
+
+    public BoardSnapshot(Room room, long seq, byte[] board) {
+        this.room = room;
+        this.seq = seq;
+        this.board = board;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public byte[] getBoard() {
+        return board;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
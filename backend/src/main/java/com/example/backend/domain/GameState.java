@@ -44,11 +44,23 @@ public class GameState {
     private Integer lastDiceRoll;
 
     /**
-     * Updated timestamp for optimistic visibility (not strict optimistic locking).
+     * Sequence number of the last game event reflected in this state.
+     */
+    @Column
+    private Long eventSeq;
+
+    /**
+     * Last write timestamp.
      */
     @Column(nullable = false)
     private Instant updatedAt = Instant.now();
 
+    /**
+     * Optimistic lock version; concurrent snapshot writers (e.g. two nodes) conflict instead of overwriting.
+     */
+    @Version
+    private Long version;
+
     public GameState() {
     }
 
@@ -105,7 +117,20 @@ public class GameState {
         return this;
     }
 
+    public long getEventSeq() {
+        return eventSeq != null ? eventSeq : 0L;
+    }
+
+    public GameState setEventSeq(long eventSeq) {
+        this.eventSeq = eventSeq;
+        return this;
+    }
+
     public Instant getUpdatedAt() {
         return updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -5,18 +5,30 @@ import java.time.Instant;
 
 /**
  * Log entry for a move performed in a Room.
+ * Also the room's append-only event log: every dice roll (ROLL) and token move (MOVE) is
+ * recorded with the room's event sequence number, so state can be rebuilt from the nearest
+ * BoardSnapshot plus the events after it.
  *
  * PUBLIC_INTERFACE
  */
 @Entity
 @Table(name = "move_logs", indexes = {
         @Index(name = "idx_movelog_room", columnList = "room_id"),
+        @Index(name = "idx_movelog_room_seq", columnList = "room_id, seq"),
         @Index(name = "idx_movelog_created", columnList = "createdAt")
 })
 public class MoveLog {
 
+    public static final String ROLL = "ROLL";
+    public static final String MOVE = "MOVE";
+
+    /**
+     * Sequence-backed id so inserts can be JDBC-batched (IDENTITY forces one round trip per row);
+     * allocationSize lets Hibernate hand out 50 ids per sequence call.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "move_log_seq")
+    @SequenceGenerator(name = "move_log_seq", sequenceName = "move_log_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -26,6 +38,18 @@ public class MoveLog {
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
 
+    /**
+     * Room event sequence number (GameState.eventSeq) this entry produced.
+     */
+    @Column
+    private Long seq;
+
+    /**
+     * Event kind: ROLL or MOVE.
+     */
+    @Column(length = 8, nullable = false)
+    private String eventType = MOVE;
+
     /**
      * Player color that made the move (helps avoid eager joins).
      */
@@ -33,10 +57,10 @@ public class MoveLog {
     private String playerColor;
 
     /**
-     * Token index that moved (0..3).
+     * Token index that moved (0..3); null for ROLL events.
      */
-    @Column(nullable = false)
-    private int tokenIndex;
+    @Column
+    private Integer tokenIndex;
 
     /**
      * From position (see Token.position format).
@@ -65,7 +89,7 @@ public class MoveLog {
     public MoveLog() {
     }
 
-    public MoveLog(Room room, String playerColor, int tokenIndex, String fromPosition, String toPosition, Integer diceValue) {
+    public MoveLog(Room room, String playerColor, Integer tokenIndex, String fromPosition, String toPosition, Integer diceValue) {
         this.room = room;
         this.playerColor = playerColor;
         this.tokenIndex = tokenIndex;
@@ -98,11 +122,29 @@ public class MoveLog {
         return this;
     }
 
-    public int getTokenIndex() {
+    public Long getSeq() {
+        return seq;
+    }
+
+    public MoveLog setSeq(Long seq) {
+        this.seq = seq;
+        return this;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public MoveLog setEventType(String eventType) {
+        this.eventType = eventType;
+        return this;
+    }
+
+    public Integer getTokenIndex() {
         return tokenIndex;
     }
 
-    public MoveLog setTokenIndex(int tokenIndex) {
+    public MoveLog setTokenIndex(Integer tokenIndex) {
         this.tokenIndex = tokenIndex;
         return this;
     }
@@ -137,4 +179,9 @@ public class MoveLog {
     public Instant getCreatedAt() {
         return createdAt;
     }
+
+    public MoveLog setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+        return this;
+    }
 }
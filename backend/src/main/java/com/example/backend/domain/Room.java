@@ -36,12 +36,30 @@ public class Room {
     @Column(nullable = false)
     private boolean active = true;
 
+    /**
+     * House rules (RuleVariant name) chosen when the room was created.
+     */
+    @Column(nullable = false, length = 64)
+    private String rules = "standard";
+
+    /**
+     * Seats under those rules: the most players the room takes. Stored so the lobby query can compare it.
+     */
+    @Column(nullable = false)
+    private int seats = 4;
+
     /**
      * Timestamp of creation.
      */
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
+    /**
+     * Optimistic lock version, bumped by every membership or start change (see RoomRepository.findLockedByRoomCode).
+     */
+    @Version
+    private Long version;
+
     /**
      * Players in this room. Simple unidirectional mapping for convenience.
      * Cascade persists so creating players when saving a room is easy during development.
@@ -115,10 +133,32 @@ public class Room {
         return this;
     }
 
+    public String getRules() {
+        return rules;
+    }
+
+    public Room setRules(String rules) {
+        this.rules = rules;
+        return this;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public Room setSeats(int seats) {
+        this.seats = seats;
+        return this;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public List<Player> getPlayers() {
         return players;
     }
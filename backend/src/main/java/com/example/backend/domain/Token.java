@@ -35,6 +35,7 @@ public class Token {
      * - "HOME" for home yard
      * - "FINISHED" when reached end
      * - or numeric track index as string, e.g. "23"
+     * - or "H1".."H5" for a square of the color's home column
      */
     @Column(nullable = false, length = 32)
     private String position;
@@ -0,0 +1,150 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact game event broadcast on /topic/game/{code}. Carries only what changed;
+ * seq increases by one per event within a room, so a client that sees a gap
+ * re-syncs from a snapshot (subscribe /app/game/{code}/snapshot or GET /state).
+ *
+ * PUBLIC_INTERFACE
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameDeltaEvent {
+    public static final String DICE_ROLLED = "DiceRolled";
+    public static final String TOKEN_MOVED = "TokenMoved";
+
+    private String type;
+    private long seq;
+    private String color;
+    private Integer dice;
+    private Integer token;
+    private String from;
+    private String to;
+    private List<Capture> captures;
+    private String turn;
+    private long ts;
+
+    /**
+     * Opponent token sent back HOME by a move.
+     */
+    public static class Capture {
+        private String color;
+        private int token;
+        private String from;
+
+        public Capture() {
+        }
+
+        public Capture(String color, int token, String from) {
+            this.color = color;
+            this.token = token;
+            this.from = from;
+        }
+
+        public String getColor() {
+            return color;
+        }
+
+        public int getToken() {
+            return token;
+        }
+
+        public String getFrom() {
+            return from;
+        }
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public GameDeltaEvent setType(String type) {
+        this.type = type;
+        return this;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public GameDeltaEvent setSeq(long seq) {
+        this.seq = seq;
+        return this;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public GameDeltaEvent setColor(String color) {
+        this.color = color;
+        return this;
+    }
+
+    public Integer getDice() {
+        return dice;
+    }
+
+    public GameDeltaEvent setDice(Integer dice) {
+        this.dice = dice;
+        return this;
+    }
+
+    public Integer getToken() {
+        return token;
+    }
+
+    public GameDeltaEvent setToken(Integer token) {
+        this.token = token;
+        return this;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public GameDeltaEvent setFrom(String from) {
+        this.from = from;
+        return this;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public GameDeltaEvent setTo(String to) {
+        this.to = to;
+        return this;
+    }
+
+    public List<Capture> getCaptures() {
+        return captures;
+    }
+
+    public GameDeltaEvent addCapture(Capture capture) {
+        if (captures == null) captures = new ArrayList<>(2);
+        captures.add(capture);
+        return this;
+    }
+
+    public String getTurn() {
+        return turn;
+    }
+
+    public GameDeltaEvent setTurn(String turn) {
+        this.turn = turn;
+        return this;
+    }
+
+    public long getTs() {
+        return ts;
+    }
+
+    public GameDeltaEvent setTs(long ts) {
+        this.ts = ts;
+        return this;
+    }
+}
@@ -14,6 +14,7 @@ public class GameStateDTO {
     private Integer lastDiceRoll;
     private Map<String, Object> board; // arbitrary map parsed from boardStateJson
     private Instant updatedAt;
+    private long seq; // last event sequence number reflected in this state
 
     public String getRoomCode() {
         return roomCode;
@@ -59,4 +60,13 @@ public class GameStateDTO {
         this.updatedAt = updatedAt;
         return this;
     }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public GameStateDTO setSeq(long seq) {
+        this.seq = seq;
+        return this;
+    }
 }
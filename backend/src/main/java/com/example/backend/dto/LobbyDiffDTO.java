@@ -0,0 +1,34 @@
+package com.example.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coalesced lobby changes pushed on /topic/lobby. Each room appears once with its latest
+ * state; rooms carry the full entry, so applying a diff twice is harmless. Clients that
+ * fetched a page at version v ignore diffs with version <= v.
+ *
+ * PUBLIC_INTERFACE
+ */
+public class LobbyDiffDTO {
+    private long version;
+    private List<LobbyRoomDTO> rooms = new ArrayList<>();
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LobbyDiffDTO setVersion(long version) {
+        this.version = version;
+        return this;
+    }
+
+    public List<LobbyRoomDTO> getRooms() {
+        return rooms;
+    }
+
+    public LobbyDiffDTO setRooms(List<LobbyRoomDTO> rooms) {
+        this.rooms = rooms;
+        return this;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of the lobby. Pass nextCursor back as the cursor parameter for the next
+ * page; it is null on the last page. version is the lobby version the page reflects
+ * (see LobbyDiffDTO).
+ *
+ * PUBLIC_INTERFACE
+ */
+public class LobbyPageDTO {
+    private List<LobbyRoomDTO> rooms = new ArrayList<>();
+    private String nextCursor;
+    private long version;
+
+    public List<LobbyRoomDTO> getRooms() {
+        return rooms;
+    }
+
+    public LobbyPageDTO setRooms(List<LobbyRoomDTO> rooms) {
+        this.rooms = rooms;
+        return this;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public LobbyPageDTO setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+        return this;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LobbyPageDTO setVersion(long version) {
+        this.version = version;
+        return this;
+    }
+}
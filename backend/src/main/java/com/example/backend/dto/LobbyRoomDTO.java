@@ -0,0 +1,71 @@
+package com.example.backend.dto;
+
+import java.time.Instant;
+
+/**
+ * Room summary shown in the lobby list.
+ *
+ * PUBLIC_INTERFACE
+ */
+public class LobbyRoomDTO {
+    private String roomCode;
+    private String name;
+    private Instant createdAt;
+    private int playerCount;
+    private int maxPlayers;
+    private LobbyStatus status;
+
+    public String getRoomCode() {
+        return roomCode;
+    }
+
+    public LobbyRoomDTO setRoomCode(String roomCode) {
+        this.roomCode = roomCode;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LobbyRoomDTO setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public LobbyRoomDTO setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+        return this;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public LobbyRoomDTO setPlayerCount(int playerCount) {
+        this.playerCount = playerCount;
+        return this;
+    }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    public LobbyRoomDTO setMaxPlayers(int maxPlayers) {
+        this.maxPlayers = maxPlayers;
+        return this;
+    }
+
+    public LobbyStatus getStatus() {
+        return status;
+    }
+
+    public LobbyRoomDTO setStatus(LobbyStatus status) {
+        this.status = status;
+        return this;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.dto;
+
+import java.util.Locale;
+
+/**
+ * Lobby state of a room, also used as the lobby filter (ALL matches every room).
+ *
+ * PUBLIC_INTERFACE
+ */
+public enum LobbyStatus {
+    ALL, OPEN, FULL, STARTED;
+
+    // PUBLIC_INTERFACE
+    /**
+     * Parse a case-insensitive filter value; null or blank means ALL.
+     *
+     * @param value request parameter
+     * @return status
+     * @throws IllegalArgumentException for unknown values
+     */
+    public static LobbyStatus parse(String value) {
+        if (value == null || value.isBlank()) return ALL;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown lobby status: " + value);
+        }
+    }
+}
@@ -13,6 +13,8 @@ public class RoomDTO {
     private String roomCode;
     private String name;
     private boolean active;
+    private String rules;
+    private int maxPlayers;
     private Instant createdAt;
     private List<PlayerDTO> players = new ArrayList<>();
 
@@ -43,6 +45,24 @@ public class RoomDTO {
         return this;
     }
 
+    public String getRules() {
+        return rules;
+    }
+
+    public RoomDTO setRules(String rules) {
+        this.rules = rules;
+        return this;
+    }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    public RoomDTO setMaxPlayers(int maxPlayers) {
+        this.maxPlayers = maxPlayers;
+        return this;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -11,6 +11,13 @@ public class CreateRoomRequest {
     @Size(max = 100)
     private String name;
 
+    /**
+     * House rules (RuleVariant name, e.g. "players=6,blockades"); null for app.rules.default-variant.
+     * The seat count is fixed here, the other options may still change at start.
+     */
+    @Size(max = 64)
+    private String rules;
+
     public String getName() {
         return name;
     }
@@ -19,4 +26,13 @@ public class CreateRoomRequest {
         this.name = name;
         return this;
     }
+
+    public String getRules() {
+        return rules;
+    }
+
+    public CreateRoomRequest setRules(String rules) {
+        this.rules = rules;
+        return this;
+    }
 }
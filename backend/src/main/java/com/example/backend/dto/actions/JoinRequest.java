@@ -13,6 +13,11 @@ public class JoinRequest {
 
     private String preferredColor;
 
+    /**
+     * Join as an AI player, played by the server.
+     */
+    private boolean ai;
+
     public String getName() {
         return name;
     }
@@ -30,4 +35,13 @@ public class JoinRequest {
         this.preferredColor = preferredColor;
         return this;
     }
+
+    public boolean isAi() {
+        return ai;
+    }
+
+    public JoinRequest setAi(boolean ai) {
+        this.ai = ai;
+        return this;
+    }
 }
@@ -19,6 +19,8 @@ public class MoveRequest {
 
     private Integer dice; // optional - if client passes
 
+    private Long expectedVersion; // optional - seq of the state the client acted on
+
     public String getColor() {
         return color;
     }
@@ -45,4 +47,13 @@ public class MoveRequest {
         this.dice = dice;
         return this;
     }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public MoveRequest setExpectedVersion(Long expectedVersion) {
+        this.expectedVersion = expectedVersion;
+        return this;
+    }
 }
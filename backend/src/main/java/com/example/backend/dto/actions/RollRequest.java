@@ -11,6 +11,8 @@ public class RollRequest {
     @NotBlank
     private String color;
 
+    private Long expectedVersion; // optional - seq of the state the client acted on
+
     public String getColor() {
         return color;
     }
@@ -19,4 +21,13 @@ public class RollRequest {
         this.color = color;
         return this;
     }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public RollRequest setExpectedVersion(Long expectedVersion) {
+        this.expectedVersion = expectedVersion;
+        return this;
+    }
 }
@@ -0,0 +1,24 @@
+package com.example.backend.repository;
+
+import com.example.backend.domain.BoardSnapshot;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for BoardSnapshot entity.
+ *
+ * PUBLIC_INTERFACE
+ */
+@Repository
+public interface BoardSnapshotRepository extends JpaRepository<BoardSnapshot, Long> {
+
+    // PUBLIC_INTERFACE
+    /**
+     * Latest snapshot of a room taken at or before a sequence number.
+     * @param roomId room id
+     * @param seq upper bound (inclusive)
+     * @return optional snapshot
+     */
+    Optional<BoardSnapshot> findFirstByRoom_IdAndSeqLessThanEqualOrderBySeqDesc(Long roomId, long seq);
+}
@@ -20,4 +20,12 @@ public interface GameStateRepository extends JpaRepository<GameState, Long> {
      * @return optional game state
      */
     Optional<GameState> findByRoom_Id(Long roomId);
+
+    // PUBLIC_INTERFACE
+    /**
+     * Retrieve game state by room code in a single query.
+     * @param roomCode room code
+     * @return optional game state
+     */
+    Optional<GameState> findByRoom_RoomCode(String roomCode);
 }
@@ -20,4 +20,23 @@ public interface MoveLogRepository extends JpaRepository<MoveLog, Long> {
      * @return list of move logs
      */
     List<MoveLog> findByRoom_IdOrderByCreatedAtAsc(Long roomId);
+
+    // PUBLIC_INTERFACE
+    /**
+     * Room events after a sequence number, in order (rehydration after a snapshot).
+     * @param roomId room id
+     * @param seq exclusive lower bound
+     * @return ordered events
+     */
+    List<MoveLog> findByRoom_IdAndSeqGreaterThanOrderBySeqAsc(Long roomId, long seq);
+
+    // PUBLIC_INTERFACE
+    /**
+     * Room events within a sequence range, in order (replay).
+     * @param roomId room id
+     * @param from inclusive lower bound
+     * @param to inclusive upper bound
+     * @return ordered events
+     */
+    List<MoveLog> findByRoom_IdAndSeqBetweenOrderBySeqAsc(Long roomId, long from, long to);
 }
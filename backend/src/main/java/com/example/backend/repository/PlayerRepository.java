@@ -22,6 +22,14 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
      */
     List<Player> findByRoom_IdOrderByTurnOrderAsc(Long roomId);
 
+    // PUBLIC_INTERFACE
+    /**
+     * Find all players in a room ordered by turnOrder, by room code (for games that only know their code).
+     * @param roomCode room code
+     * @return players
+     */
+    List<Player> findByRoom_RoomCodeOrderByTurnOrderAsc(String roomCode);
+
     // PUBLIC_INTERFACE
     /**
      * Find a player by room and color.
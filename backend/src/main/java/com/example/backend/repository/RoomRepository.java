@@ -1,8 +1,14 @@
 package com.example.backend.repository;
 
 import com.example.backend.domain.Room;
+import jakarta.persistence.LockModeType;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -21,6 +27,18 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      */
     Optional<Room> findByRoomCode(String roomCode);
 
+    // PUBLIC_INTERFACE
+    /**
+     * Finds a room for a change to its membership or game: its version is incremented on
+     * commit even if only the players collection changed, so concurrent changes to the same
+     * room fail with an optimistic locking conflict instead of both succeeding.
+     * @param roomCode unique code of the room
+     * @return optional room
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select r from Room r where r.roomCode = :roomCode")
+    Optional<Room> findLockedByRoomCode(@Param("roomCode") String roomCode);
+
     // PUBLIC_INTERFACE
     /**
      * Checks existence by roomCode.
@@ -28,4 +46,31 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      * @return true if exists
      */
     boolean existsByRoomCode(String roomCode);
+
+    // PUBLIC_INTERFACE
+    /**
+     * One lobby page, newest first, as a single grouped query (no per-room player loads).
+     * Keyset pagination on the primary key keeps the cost proportional to the page.
+     * @param before exclusive upper bound on room id (cursor); Long.MAX_VALUE for the first page
+     * @param status ALL, OPEN (not started, seats left), FULL (not started, no seats) or STARTED;
+     *               seats are counted against each room's own capacity (Room.seats)
+     * @param page page size (offset is ignored; use the cursor)
+     * @return room summaries ordered by id descending
+     */
+    @Query("""
+            select r.id as id, r.roomCode as roomCode, r.name as name, r.createdAt as createdAt,
+                   r.seats as seats, count(p.id) as playerCount,
+                   case when gs.id is null then false else true end as started
+            from Room r left join r.players p left join r.gameState gs
+            where r.active = true and r.id < :before
+            group by r.id, r.roomCode, r.name, r.createdAt, r.seats, gs.id
+            having :status = 'ALL'
+                or (:status = 'STARTED' and gs.id is not null)
+                or (:status = 'OPEN' and gs.id is null and count(p.id) < r.seats)
+                or (:status = 'FULL' and gs.id is null and count(p.id) >= r.seats)
+            order by r.id desc
+            """)
+    List<RoomSummary> findLobbyPage(@Param("before") long before,
+                                    @Param("status") String status,
+                                    Pageable page);
 }
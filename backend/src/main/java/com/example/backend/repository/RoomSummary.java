@@ -0,0 +1,25 @@
+package com.example.backend.repository;
+
+import java.time.Instant;
+
+/**
+ * Lobby projection of a room: scalar columns (seats included) plus player count and started flag,
+ * read in one grouped query instead of loading players per room.
+ *
+ * PUBLIC_INTERFACE
+ */
+public interface RoomSummary {
+    Long getId();
+
+    String getRoomCode();
+
+    String getName();
+
+    Instant getCreatedAt();
+
+    long getPlayerCount();
+
+    int getSeats();
+
+    boolean isStarted();
+}
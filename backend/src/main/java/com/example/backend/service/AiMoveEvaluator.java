@@ -0,0 +1,234 @@
+package com.example.backend.service;
+
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks a token to move for an AI seat, built on LudoRulesEngine and PackedBoard.
+ * - HEURISTIC: best board score one move ahead.
+ * - EXPECTIMINIMAX: search over the following turns to a fixed depth, averaging over the
+ *   six dice values at each turn; the AI seat maximizes the score, opponents minimize it.
+ * - MONTE_CARLO: average score after random playouts of a fixed number of turns.
+ * The score is material from the AI seat's point of view: tokens out of HOME and their
+ * progress, minus tokens an opponent can capture with its next roll, against the same for every
+ * opponent. Searches work on scratch boards allocated once per evaluator, so a decision
+ * allocates nothing. An evaluator plays the rule variant of its engine. Not thread-safe: use
+ * one evaluator per thread.
+ *
+ * PUBLIC_INTERFACE
+ */
+public final class AiMoveEvaluator {
+
+    /**
+     * Strength of an AI player.
+     */
+    public enum Level {
+        HEURISTIC, EXPECTIMINIMAX, MONTE_CARLO;
+
+        // PUBLIC_INTERFACE
+        /**
+         * Parse a case-insensitive level name; '-' is accepted for '_'.
+         *
+         * @param value configured level
+         * @return level
+         * @throws IllegalArgumentException for unknown values
+         */
+        public static Level parse(String value) {
+            try {
+                return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unknown AI level: " + value);
+            }
+        }
+    }
+
+    private static final double ON_TRACK = 10;
+    private static final double PROGRESS = 1;
+    private static final double THREATENED = 4;
+
+    private final LudoRulesEngine rules;
+    private final Level level;
+    private final int depth;
+    private final int rollouts;
+    private final int rolloutTurns;
+    // one board per search ply below the root, plus the playout board
+    private final PackedBoard[] scratch;
+    private final PackedBoard playout = new PackedBoard();
+
+    /**
+     * @param depth turns searched by EXPECTIMINIMAX, including the AI's own move (at least 1)
+     * @param rollouts playouts per candidate move for MONTE_CARLO
+     * @param rolloutTurns turns per playout for MONTE_CARLO
+     */
+    public AiMoveEvaluator(LudoRulesEngine rules, Level level, int depth, int rollouts, int rolloutTurns) {
+        if (depth < 1) throw new IllegalArgumentException("AI search depth must be at least 1");
+        this.rules = rules;
+        this.level = level;
+        this.depth = depth;
+        this.rollouts = Math.max(1, rollouts);
+        this.rolloutTurns = Math.max(0, rolloutTurns);
+        this.scratch = new PackedBoard[depth];
+        for (int i = 0; i < depth; i++) scratch[i] = new PackedBoard();
+    }
+
+    public Level level() {
+        return level;
+    }
+
+    public LudoRulesEngine rules() {
+        return rules;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Choose a token for a seat that has rolled.
+     *
+     * @param board current board; not modified
+     * @param seat seat to move
+     * @param dice rolled value 1..6
+     * @param random source for MONTE_CARLO playouts
+     * @return token index, or -1 if no token can move
+     */
+    public int chooseToken(PackedBoard board, int seat, int dice, RandomGenerator random) {
+        int valid = rules.validMoves(board, seat, dice);
+        if (valid == 0) return -1;
+        if (Integer.bitCount(valid) == 1) return Integer.numberOfTrailingZeros(valid);
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        PackedBoard next = scratch[0];
+        for (int mask = valid; mask != 0; mask &= mask - 1) {
+            int token = Integer.numberOfTrailingZeros(mask);
+            next.copyFrom(board);
+            rules.playMove(next, seat, token, dice, null);
+            double value;
+            switch (level) {
+                case EXPECTIMINIMAX:
+                    value = expect(next, seat, depth - 1, 1);
+                    break;
+                case MONTE_CARLO:
+                    value = playouts(next, seat, random);
+                    break;
+                default:
+                    value = score(next, seat);
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = token;
+            }
+        }
+        return best;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Board score from one seat's point of view; higher is better for that seat.
+     *
+     * @param board board to score
+     * @param seat seat whose view is taken
+     * @return score
+     */
+    public double score(PackedBoard board, int seat) {
+        double own = 0;
+        double others = 0;
+        for (int i = 0; i < board.seatCount(); i++) {
+            int s = board.seatAt(i);
+            if (s == seat) own = material(board, s);
+            else others += material(board, s);
+        }
+        int opponents = board.seatCount() - 1;
+        return opponents > 0 ? own - others / opponents : own;
+    }
+
+    // expected score for `me` with `turns` turns left, the seat to move rolling next
+    private double expect(PackedBoard board, int me, int turns, int ply) {
+        if (turns <= 0 || board.hasFinishedSeat()) return score(board, me);
+        int seat = board.currentSeat();
+        PackedBoard next = scratch[ply];
+        double total = 0;
+        double passValue = Double.NaN;
+        for (int dice = 1; dice <= 6; dice++) {
+            int valid = rules.validMoves(board, seat, dice);
+            if (valid == 0) {
+                // no legal move: the turn is lost, whatever the value rolled
+                if (Double.isNaN(passValue)) {
+                    rules.passTurn(next.copyFrom(board));
+                    passValue = expect(next, me, turns - 1, ply + 1);
+                }
+                total += passValue;
+                continue;
+            }
+            double best = seat == me ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            for (int mask = valid; mask != 0; mask &= mask - 1) {
+                next.copyFrom(board);
+                rules.playMove(next, seat, Integer.numberOfTrailingZeros(mask), dice, null);
+                double value = expect(next, me, turns - 1, ply + 1);
+                best = seat == me ? Math.max(best, value) : Math.min(best, value);
+            }
+            total += best;
+        }
+        return total / 6;
+    }
+
+    private double playouts(PackedBoard start, int me, RandomGenerator random) {
+        double total = 0;
+        for (int r = 0; r < rollouts; r++) {
+            playout.copyFrom(start);
+            for (int turn = 0; turn < rolloutTurns && !playout.hasFinishedSeat(); turn++) {
+                int seat = playout.currentSeat();
+                int dice = 1 + random.nextInt(6);
+                int valid = rules.validMoves(playout, seat, dice);
+                if (valid == 0) {
+                    rules.passTurn(playout);
+                    continue;
+                }
+                rules.playMove(playout, seat, randomBit(valid, random), dice, null);
+            }
+            total += score(playout, me);
+        }
+        return total / rollouts;
+    }
+
+    private double material(PackedBoard board, int seat) {
+        double value = 0;
+        for (int t = 0; t < board.tokens(); t++) {
+            int pos = board.position(seat, t);
+            if (pos == PackedBoard.HOME) continue;
+            value += ON_TRACK + PROGRESS * rules.progress(seat, pos);
+            if (isThreatened(board, seat, pos)) value -= THREATENED;
+        }
+        return value;
+    }
+
+    // true if an opponent token can land on a capturable square with its next roll: one of the
+    // tokens one to six squares behind it or, when entry squares are not safe, a token at HOME
+    private boolean isThreatened(PackedBoard board, int seat, int pos) {
+        if (!rules.isCapturable(pos)) return false;
+        if (!rules.variant().safeStart() && isEnteredBy(board, seat, pos)) return true;
+        int others = ~PackedBoard.seatBits(seat);
+        for (int dice = 1; dice <= 6; dice++) {
+            int from = Math.floorMod(pos - dice, rules.trackLength());
+            for (int mask = board.occupants(from) & others; mask != 0; mask &= mask - 1) {
+                int other = Integer.numberOfTrailingZeros(mask) / PackedBoard.TOKENS_PER_SEAT;
+                // a token about to turn into its home column does not reach pos
+                if (rules.destination(other, from, dice) == pos) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEnteredBy(PackedBoard board, int seat, int pos) {
+        for (int i = 0; i < board.seatCount(); i++) {
+            int other = board.seatAt(i);
+            if (other == seat || rules.destination(other, PackedBoard.HOME, 6) != pos) continue;
+            for (int t = 0; t < board.tokens(); t++) {
+                if (board.position(other, t) == PackedBoard.HOME) return true;
+            }
+        }
+        return false;
+    }
+
+    private static int randomBit(int mask, RandomGenerator random) {
+        for (int skip = random.nextInt(Integer.bitCount(mask)); skip > 0; skip--) mask &= mask - 1;
+        return Integer.numberOfTrailingZeros(mask);
+    }
+}
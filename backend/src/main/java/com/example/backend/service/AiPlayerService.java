@@ -0,0 +1,259 @@
+package com.example.backend.service;
+
+import com.example.backend.domain.Player;
+import com.example.backend.dto.GameStateDTO;
+import com.example.backend.repository.PlayerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Plays the seats of AI players (Player.ai). After every command applied on this node the
+ * pipeline reports the new snapshot; when the seat to move is an AI seat a turn is queued
+ * on a bounded pool of app.ai.threads workers, separate from request and room writer threads.
+ * After app.ai.think-ms the worker rolls, or picks a token with AiMoveEvaluator at
+ * app.ai.level and moves it.
+ * Commands carry the snapshot version they were decided on, so a decision overtaken by
+ * another command is rejected and simply re-planned from the newer state.
+ *
+ * At most one turn per room is queued at a time. A game start (LobbyChange) kicks off AI
+ * seats that move first, and a periodic sweep picks up AI turns that were dropped, e.g.
+ * after a restart or when a room moved to this node.
+ *
+ * Metrics: ai.decision (timer, tag level), ai.commands (counter, tag command), ai.failed
+ * (counter), ai.queued (gauge).
+ *
+ * PUBLIC_INTERFACE
+ */
+@Service
+public class AiPlayerService implements GameCommandPipeline.CommandListener {
+    private static final Logger log = LoggerFactory.getLogger(AiPlayerService.class);
+
+    private final GameStateCache cache;
+    private final ShardRouter router;
+    private final GameCommandPipeline pipeline;
+    private final PlayerRepository playerRepository;
+    private final ScheduledThreadPoolExecutor workers;
+    // per worker thread: one evaluator per rule variant, each bound to that variant's engine
+    private final ThreadLocal<Map<RuleVariant, AiMoveEvaluator>> evaluators = ThreadLocal.withInitial(HashMap::new);
+
+    // room code -> bitmask of AI seats (bit = seat index)
+    private final Map<String, Integer> aiSeats = new ConcurrentHashMap<>();
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rolls;
+    private final Counter moves;
+    private final Counter failed;
+    private Timer decisionTimer;
+
+    @Value("${app.ai.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.ai.level:expectiminimax}")
+    private String level = "expectiminimax";
+
+    @Value("${app.ai.search-depth:2}")
+    private int searchDepth = 2;
+
+    @Value("${app.ai.rollouts:32}")
+    private int rollouts = 32;
+
+    @Value("${app.ai.rollout-turns:16}")
+    private int rolloutTurns = 16;
+
+    @Value("${app.ai.think-ms:300}")
+    private long thinkMs = 300;
+
+    public AiPlayerService(GameStateCache cache,
+                           ShardRouter router,
+                           GameCommandPipeline pipeline,
+                           PlayerRepository playerRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.ai.threads:2}") int threads) {
+        this.cache = cache;
+        this.router = router;
+        this.pipeline = pipeline;
+        this.playerRepository = playerRepository;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger seq = new AtomicInteger();
+        this.workers = new ScheduledThreadPoolExecutor(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "ai-player-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.workers.setRemoveOnCancelPolicy(true);
+        this.rolls = meterRegistry.counter("ai.commands", "command", "roll");
+        this.moves = meterRegistry.counter("ai.commands", "command", "move");
+        this.failed = meterRegistry.counter("ai.failed");
+        meterRegistry.gauge("ai.queued", queued, Set::size);
+    }
+
+    @PostConstruct
+    void register() {
+        if (!enabled) return;
+        // fail at startup rather than on the first AI turn
+        AiMoveEvaluator.Level parsed = AiMoveEvaluator.Level.parse(level);
+        decisionTimer = meterRegistry.timer("ai.decision", "level", parsed.name().toLowerCase(Locale.ROOT));
+        pipeline.setListener(this);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public void commandApplied(LiveGame game, GameSnapshot snapshot) {
+        if (isAiTurn(game.getRoomCode(), snapshot)) queue(game.getRoomCode());
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Forget a room's cached AI seats when its players change, and start playing when its game starts.
+     *
+     * @param change room state after the commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLobbyChange(LobbyChange change) {
+        aiSeats.remove(change.roomCode());
+        if (enabled && change.started()) queue(change.roomCode());
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Queue AI turns that nothing else will trigger, and drop AI seat masks of rooms no longer in memory.
+     */
+    @Scheduled(fixedDelayString = "${app.ai.sweep-ms:5000}")
+    public void sweep() {
+        if (!enabled) return;
+        Set<String> live = new HashSet<>();
+        for (LiveGame game : cache.liveGames()) {
+            live.add(game.getRoomCode());
+            if (router.isLocal(game.getRoomCode()) && isAiTurn(game.getRoomCode(), game.snapshot())) {
+                queue(game.getRoomCode());
+            }
+        }
+        aiSeats.keySet().retainAll(live);
+    }
+
+    // cheap check on the room's writer; an unknown seat mask is resolved on the AI worker
+    private boolean isAiTurn(String roomCode, GameSnapshot snapshot) {
+        if (snapshot.board().hasFinishedSeat()) return false;
+        Integer mask = aiSeats.get(roomCode);
+        return mask == null || isAiSeat(mask, snapshot.board().currentSeat());
+    }
+
+    private void queue(String roomCode) {
+        if (!queued.add(roomCode)) return;
+        try {
+            workers.schedule(() -> play(roomCode), thinkMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            queued.remove(roomCode);
+        }
+    }
+
+    private void play(String roomCode) {
+        // state read after this point is the latest, so any later change queues a new turn
+        queued.remove(roomCode);
+        try {
+            if (!router.isLocal(roomCode)) {
+                playRemote(roomCode);
+                return;
+            }
+            LiveGame game = cache.find(roomCode);
+            if (game == null) return;
+            GameSnapshot snap = game.snapshot();
+            PackedBoard board = snap.board();
+            if (board.hasFinishedSeat() || !isAiSeat(seats(roomCode), board.currentSeat())) return;
+            GameCommand command = decide(roomCode, snap);
+            if (command != null) submit(command);
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("ai turn failed room={} msg={}", roomCode, e.getMessage());
+        }
+    }
+
+    // a game started through this node but owned by a peer: only its opening roll is started here,
+    // the owner's AI players take over once that command is applied there
+    private void playRemote(String roomCode) {
+        GameStateDTO state = router.state(roomCode, () -> GameService.localState(cache, roomCode));
+        int seat = PackedBoard.seatOf(state.getCurrentTurnColor());
+        if (state.getLastDiceRoll() != null || seat == PackedBoard.NO_SEAT) return;
+        if (isAiSeat(seats(roomCode), seat)) submit(new GameCommand.Roll(roomCode, state.getCurrentTurnColor(), state.getSeq()));
+    }
+
+    private GameCommand decide(String roomCode, GameSnapshot snap) {
+        PackedBoard board = snap.board();
+        int seat = board.currentSeat();
+        String color = PackedBoard.colorOf(seat);
+        if (board.dice() == PackedBoard.NO_DICE) return new GameCommand.Roll(roomCode, color, snap.version());
+        long start = System.nanoTime();
+        AiMoveEvaluator evaluator = evaluators.get().computeIfAbsent(board.variant(), this::newEvaluator);
+        int token = evaluator.chooseToken(board, seat, board.dice(), ThreadLocalRandom.current());
+        decisionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        // a roll no token can use has already passed the turn
+        if (token < 0) return null;
+        return new GameCommand.Move(roomCode, color, token, null, snap.version());
+    }
+
+    private void submit(GameCommand command) {
+        (command instanceof GameCommand.Move ? moves : rolls).increment();
+        router.submit(command).whenComplete((state, error) -> {
+            if (error == null) return;
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof VersionConflictException) {
+                log.debug("ai command overtaken room={} command={}", command.roomCode(), command.name());
+                return;
+            }
+            failed.increment();
+            log.warn("ai command rejected room={} command={} msg={}", command.roomCode(), command.name(),
+                    cause.getMessage());
+        });
+    }
+
+    // by room code: games rehydrated from the journal do not know their room id
+    private int seats(String roomCode) {
+        Integer cached = aiSeats.get(roomCode);
+        if (cached != null) return cached;
+        List<Player> players = playerRepository.findByRoom_RoomCodeOrderByTurnOrderAsc(roomCode);
+        int mask = 0;
+        for (Player p : players) {
+            int seat = PackedBoard.seatOf(p.getColor());
+            if (p.isAi() && seat != PackedBoard.NO_SEAT) mask |= 1 << seat;
+        }
+        // a started game always has players: none found is not "no AI seats", so ask again next turn
+        if (!players.isEmpty()) aiSeats.put(roomCode, mask);
+        return mask;
+    }
+
+    private static boolean isAiSeat(int mask, int seat) {
+        return seat != PackedBoard.NO_SEAT && (mask & (1 << seat)) != 0;
+    }
+
+    private AiMoveEvaluator newEvaluator(RuleVariant variant) {
+        return new AiMoveEvaluator(LudoRulesEngine.forVariant(variant), AiMoveEvaluator.Level.parse(level), searchDepth,
+                rollouts, rolloutTurns);
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between PackedBoard and the external board shape used by GameStateDTO.board
+ * and GameState.boardStateJson:
+ * {"currentTurn": "RED", "lastDice": 6, "tokens": {"RED": ["HOME", "23", "H2", ...], ...}}
+ * The order of the "tokens" keys is the turn order. Home column squares are labelled H1..H5.
+ * The board also carries "rules" (RuleVariant name); the persisted JSON omits it for the
+ * standard rules, and carries "sixes" (sixes rolled in a row) when it is not zero.
+ * Snapshots use a packed binary form instead (see toBytes).
+ *
+ * PUBLIC_INTERFACE
+ */
+public final class BoardCodec {
+
+    private static final String HOME = "HOME";
+    private static final String FINISHED = "FINISHED";
+    private static final String HOME_COLUMN_PREFIX = "H";
+    private static final String[] SQUARE_LABELS = new String[LudoRulesEngine.HOME_COLUMN + LudoRulesEngine.HOME_COLUMN_LENGTH];
+
+    static {
+        for (int i = 0; i < LudoRulesEngine.HOME_COLUMN; i++) SQUARE_LABELS[i] = Integer.toString(i);
+        for (int i = 0; i < LudoRulesEngine.HOME_COLUMN_LENGTH; i++) {
+            SQUARE_LABELS[LudoRulesEngine.HOME_COLUMN + i] = HOME_COLUMN_PREFIX + (i + 1);
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // packed layout: format, rules (RuleVariant.code), seatCount, turn order[SEATS], currentSeat,
+    // dice (low 4 bits) | sixes (high 4 bits), positions[SEATS * TOKENS_PER_SEAT]
+    private static final byte PACKED_FORMAT = 2;
+    private static final int PACKED_LENGTH = 5 + PackedBoard.SEATS + PackedBoard.SEATS * PackedBoard.TOKENS_PER_SEAT;
+    // format 1: standard rules on four seats, without the rules byte; its home column started at square 52
+    private static final byte LEGACY_FORMAT = 1;
+    private static final int LEGACY_SEATS = 4;
+    private static final int LEGACY_LENGTH = 4 + LEGACY_SEATS + LEGACY_SEATS * PackedBoard.TOKENS_PER_SEAT;
+    private static final int LEGACY_HOME_COLUMN = 52;
+
+    private BoardCodec() {
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Build the client-facing board map.
+     *
+     * @param board packed board
+     * @return map in the legacy board shape
+     */
+    public static Map<String, Object> toMap(PackedBoard board) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("currentTurn", PackedBoard.colorOf(board.currentSeat()));
+        out.put("lastDice", board.dice() == PackedBoard.NO_DICE ? null : board.dice());
+        out.put("rules", board.variant().name());
+        Map<String, Object> tokens = new LinkedHashMap<>();
+        for (int i = 0; i < board.seatCount(); i++) {
+            int seat = board.seatAt(i);
+            List<String> pos = new ArrayList<>(board.tokens());
+            for (int t = 0; t < board.tokens(); t++) pos.add(label(board.position(seat, t)));
+            tokens.put(PackedBoard.colorOf(seat), pos);
+        }
+        out.put("tokens", tokens);
+        return out;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Parse a board map in the legacy shape.
+     *
+     * @param map board map
+     * @return packed board
+     */
+    public static PackedBoard fromMap(Map<String, Object> map) {
+        Object rules = map.get("rules");
+        PackedBoard board;
+        try {
+            board = new PackedBoard(RuleVariant.parse(rules == null ? null : rules.toString()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown rules " + rules, e);
+        }
+        Object tokens = map.get("tokens");
+        if (tokens instanceof Map<?, ?> byColor) {
+            for (Map.Entry<?, ?> e : byColor.entrySet()) {
+                int seat = PackedBoard.seatOf(String.valueOf(e.getKey()));
+                if (seat == PackedBoard.NO_SEAT) throw new IllegalStateException("Unknown color " + e.getKey());
+                if (seat >= board.variant().seats()) throw new IllegalStateException("No " + e.getKey() + " seat");
+                board.addSeat(seat);
+                if (e.getValue() instanceof List<?> list) {
+                    for (int t = 0; t < list.size() && t < board.tokens(); t++) {
+                        board.setPosition(seat, t, parsePosition(String.valueOf(list.get(t))));
+                    }
+                }
+            }
+        }
+        Object current = map.get("currentTurn");
+        board.setCurrentSeat(current == null ? PackedBoard.NO_SEAT : PackedBoard.seatOf(current.toString()));
+        Object dice = map.get("lastDice");
+        board.setDice(dice instanceof Number n ? n.intValue() : PackedBoard.NO_DICE);
+        Object sixes = map.get("sixes");
+        board.setSixes(sixes instanceof Number n ? n.intValue() : 0);
+        return board;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Serialize a packed board to the persisted JSON shape.
+     *
+     * @param board packed board
+     * @return json string
+     */
+    public static String toJson(PackedBoard board) {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("{\"currentTurn\":");
+        String current = PackedBoard.colorOf(board.currentSeat());
+        if (current == null) sb.append("null");
+        else sb.append('"').append(current).append('"');
+        sb.append(",\"lastDice\":");
+        if (board.dice() == PackedBoard.NO_DICE) sb.append("null");
+        else sb.append(board.dice());
+        if (board.sixes() > 0) sb.append(",\"sixes\":").append(board.sixes());
+        if (!RuleVariant.STANDARD.equals(board.variant())) sb.append(",\"rules\":\"").append(board.variant().name()).append('"');
+        sb.append(",\"tokens\":{");
+        for (int i = 0; i < board.seatCount(); i++) {
+            int seat = board.seatAt(i);
+            if (i > 0) sb.append(',');
+            sb.append('"').append(PackedBoard.colorOf(seat)).append("\":[");
+            for (int t = 0; t < board.tokens(); t++) {
+                if (t > 0) sb.append(',');
+                sb.append('"').append(label(board.position(seat, t))).append('"');
+            }
+            sb.append(']');
+        }
+        return sb.append("}}").toString();
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Parse the persisted JSON shape into a packed board.
+     *
+     * @param json board json
+     * @return packed board
+     */
+    public static PackedBoard fromJson(String json) {
+        if (json == null || json.isBlank()) return new PackedBoard();
+        Map<String, Object> map;
+        try {
+            map = MAPPER.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            throw new IllegalStateException("Parse board failed", e);
+        }
+        return fromMap(map != null ? map : new HashMap<>());
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Serialize a board to its compact binary snapshot form (35 bytes).
+     *
+     * @param board packed board
+     * @return packed bytes
+     */
+    public static byte[] toBytes(PackedBoard board) {
+        byte[] out = new byte[PACKED_LENGTH];
+        int i = 0;
+        out[i++] = PACKED_FORMAT;
+        out[i++] = (byte) board.variant().code();
+        out[i++] = (byte) board.seatCount();
+        for (int o = 0; o < PackedBoard.SEATS; o++) out[i++] = (byte) (o < board.seatCount() ? board.seatAt(o) : PackedBoard.NO_SEAT);
+        out[i++] = (byte) board.currentSeat();
+        out[i++] = (byte) (board.dice() | board.sixes() << 4);
+        for (int seat = 0; seat < PackedBoard.SEATS; seat++) {
+            for (int t = 0; t < PackedBoard.TOKENS_PER_SEAT; t++) out[i++] = (byte) board.position(seat, t);
+        }
+        return out;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Parse the compact binary snapshot form, including the format 1 snapshots written before
+     * rule variants.
+     *
+     * @param bytes packed bytes
+     * @return packed board
+     */
+    public static PackedBoard fromBytes(byte[] bytes) {
+        boolean legacy = bytes != null && bytes.length == LEGACY_LENGTH && bytes[0] == LEGACY_FORMAT;
+        if (!legacy && (bytes == null || bytes.length != PACKED_LENGTH || bytes[0] != PACKED_FORMAT)) {
+            throw new IllegalStateException("Unsupported board snapshot format");
+        }
+        int i = 1;
+        PackedBoard board = new PackedBoard(legacy ? RuleVariant.STANDARD : RuleVariant.fromCode(bytes[i++]));
+        int capacity = legacy ? LEGACY_SEATS : PackedBoard.SEATS;
+        int seats = bytes[i++];
+        for (int o = 0; o < capacity; o++, i++) {
+            if (o < seats) board.addSeat(bytes[i]);
+        }
+        board.setCurrentSeat(bytes[i++]);
+        board.setDice(bytes[i] & 0x0F);
+        board.setSixes(bytes[i++] >> 4 & 0x0F);
+        for (int seat = 0; seat < capacity; seat++) {
+            for (int t = 0; t < PackedBoard.TOKENS_PER_SEAT; t++) {
+                int position = bytes[i++];
+                if (legacy && position >= LEGACY_HOME_COLUMN) position += LudoRulesEngine.HOME_COLUMN - LEGACY_HOME_COLUMN;
+                board.setPosition(seat, t, position);
+            }
+        }
+        return board;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * External label for a packed position (see Token.position format).
+     */
+    public static String label(int position) {
+        if (position == PackedBoard.HOME) return HOME;
+        if (position == PackedBoard.FINISHED) return FINISHED;
+        return SQUARE_LABELS[position];
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Packed position for an external label.
+     */
+    public static int parsePosition(String label) {
+        if (HOME.equals(label)) return PackedBoard.HOME;
+        if (FINISHED.equals(label)) return PackedBoard.FINISHED;
+        try {
+            int position = label.startsWith(HOME_COLUMN_PREFIX)
+                    ? LudoRulesEngine.HOME_COLUMN + Integer.parseInt(label.substring(HOME_COLUMN_PREFIX.length())) - 1
+                    : Integer.parseInt(label);
+            if (position >= 0 && position < SQUARE_LABELS.length) return position;
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid token position " + label, e);
+        }
+        throw new IllegalStateException("Invalid token position " + label);
+    }
+}
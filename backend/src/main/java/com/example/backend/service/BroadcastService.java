@@ -1,35 +1,152 @@
 package com.example.backend.service;
 
-import com.example.backend.dto.GameEventEnvelope;
+import com.example.backend.dto.GameDeltaEvent;
+import com.example.backend.dto.LobbyDiffDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
 
 /**
  * Wrapper around SimpMessagingTemplate for broadcasting events.
+ * Events are serialized once into a byte[] payload and sent as a ready-made message,
+ * so the broker fans the same read-only buffer out to every subscriber of the room
+ * instead of running message conversion per send. While binary sessions are connected
+ * the CBOR variant is encoded once as well and carried alongside for the outbound
+ * wire-format interceptor to pick up. Through an external broker only the JSON payload
+ * survives, so the pre-encoded variant is skipped and binary sessions are transcoded on
+ * their way out instead.
+ *
+ * Metrics: broadcast.serialize (timer, tag format=json|cbor), broadcast.publish (timer, tag
+ * topic=game|lobby, local broker hand-off plus cluster relay) and broadcast.fanout (summary,
+ * tag topic: this node's subscribers per broadcast). Tags never carry the room code.
  *
  * PUBLIC_INTERFACE
  */
 @Service
 public class BroadcastService {
     private static final Logger log = LoggerFactory.getLogger(BroadcastService.class);
+    private static final String LOBBY_TOPIC = "/topic/lobby";
+
     private final SimpMessagingTemplate template;
+    private final ObjectMapper mapper;
+    private final WireFormatSupport wireFormats;
+    private final ClusterNode node;
+    private final TopicSubscriptions subscriptions;
+
+    private final Timer serializeJson;
+    private final Timer serializeCbor;
+    private final Timer publishGame;
+    private final Timer publishLobby;
+    private final DistributionSummary fanoutGame;
+    private final DistributionSummary fanoutLobby;
 
-    public BroadcastService(SimpMessagingTemplate template) {
+    public BroadcastService(SimpMessagingTemplate template, ObjectMapper mapper, WireFormatSupport wireFormats,
+                            ClusterNode node, TopicSubscriptions subscriptions, MeterRegistry meterRegistry) {
         this.template = template;
+        this.mapper = mapper;
+        this.wireFormats = wireFormats;
+        this.node = node;
+        this.subscriptions = subscriptions;
+        this.serializeJson = meterRegistry.timer("broadcast.serialize", "format", "json");
+        this.serializeCbor = meterRegistry.timer("broadcast.serialize", "format", "cbor");
+        this.publishGame = meterRegistry.timer("broadcast.publish", "topic", "game");
+        this.publishLobby = meterRegistry.timer("broadcast.publish", "topic", "lobby");
+        this.fanoutGame = meterRegistry.summary("broadcast.fanout", "topic", "game");
+        this.fanoutLobby = meterRegistry.summary("broadcast.fanout", "topic", "lobby");
     }
 
     // PUBLIC_INTERFACE
     /**
-     * Broadcast to /topic/game/{code}.
+     * Publish a delta event to /topic/game/{code}, here and on every other cluster node.
      *
      * @param roomCode room code
-     * @param envelope event payload
+     * @param event delta event
      */
-    public void broadcast(String roomCode, GameEventEnvelope envelope) {
+    public void publish(String roomCode, GameDeltaEvent event) {
         String destination = "/topic/game/" + roomCode;
-        log.info("broadcasting event type={} to destination={}", envelope.getType(), destination);
-        template.convertAndSend(destination, envelope);
+        log.debug("publishing event type={} seq={} to destination={}", event.getType(), event.getSeq(), destination);
+        Message<byte[]> message = encode(event);
+        long start = System.nanoTime();
+        template.send(destination, message);
+        node.relay(destination, message.getPayload());
+        publishGame.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        fanoutGame.record(subscriptions.count(destination));
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Deliver a broadcast relayed from another node to this node's subscribers.
+     *
+     * @param destination topic destination
+     * @param json serialized JSON payload
+     */
+    public void deliverLocal(String destination, byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (wireFormats.hasBinarySessions()) {
+            long start = System.nanoTime();
+            accessor.setHeader(WireFormatSupport.CBOR_PAYLOAD_HEADER, wireFormats.jsonToCbor(mapper, json));
+            serializeCbor.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        accessor.setLeaveMutable(true);
+        long start = System.nanoTime();
+        template.send(destination, MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+        publishGame.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        fanoutGame.record(subscriptions.count(destination));
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Publish a coalesced lobby diff to /topic/lobby.
+     *
+     * @param diff lobby changes
+     */
+    public void publishLobby(LobbyDiffDTO diff) {
+        log.debug("publishing lobby diff version={} rooms={}", diff.getVersion(), diff.getRooms().size());
+        Message<byte[]> message = encode(diff);
+        long start = System.nanoTime();
+        template.send(LOBBY_TOPIC, message);
+        publishLobby.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        fanoutLobby.record(subscriptions.count(LOBBY_TOPIC));
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Serialize a payload once into a JSON message that can be delivered to any number of sessions.
+     *
+     * @param payload event payload
+     * @return message with a shared byte[] payload; must not be mutated
+     */
+    public Message<byte[]> encode(Object payload) {
+        byte[] bytes;
+        long start = System.nanoTime();
+        try {
+            bytes = mapper.writeValueAsBytes(payload);
+        } catch (Exception e) {
+            throw new IllegalStateException("Serialize event failed", e);
+        } finally {
+            serializeJson.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (wireFormats.hasBinarySessions() && !node.hasSharedBroker()) {
+            long cborStart = System.nanoTime();
+            accessor.setHeader(WireFormatSupport.CBOR_PAYLOAD_HEADER, wireFormats.toCbor(payload));
+            serializeCbor.record(System.nanoTime() - cborStart, TimeUnit.NANOSECONDS);
+        }
+        // leave headers mutable so the template can stamp the destination without copying
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(bytes, accessor.getMessageHeaders());
     }
 }
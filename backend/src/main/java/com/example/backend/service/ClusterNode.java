@@ -0,0 +1,112 @@
+package com.example.backend.service;
+
+import java.util.UUID;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identity of this backend node and its cluster transport, if any. Services that fan out
+ * to peer nodes (broadcast relay, lobby changes) go through here so they work unchanged
+ * on a single node. With a shared external broker (app.ws.broker=relay) every node's
+ * subscribers already receive every broadcast, so game broadcasts are not relayed and
+ * cluster-wide topics are published by one node only (see ownsSharedTopic).
+ *
+ * PUBLIC_INTERFACE
+ */
+@Component
+public class ClusterNode {
+    private final String nodeId;
+    private final ClusterTransport transport;
+    private final boolean sharedBroker;
+    private volatile ConsistentHashRing ring;
+
+    @Autowired
+    public ClusterNode(@Value("${app.cluster.node-id:}") String nodeId,
+                       @Value("${app.ws.broker:simple}") String broker,
+                       ObjectProvider<ClusterTransport> transport) {
+        this(nodeId, transport.getIfAvailable(), "relay".equals(broker));
+    }
+
+    public ClusterNode(String nodeId, ClusterTransport transport) {
+        this(nodeId, transport, false);
+    }
+
+    public ClusterNode(String nodeId, ClusterTransport transport, boolean sharedBroker) {
+        this.transport = transport;
+        this.sharedBroker = sharedBroker;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? "node-" + UUID.randomUUID().toString().substring(0, 8) : nodeId;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return a node without peers (benchmarks and tools that build services by hand)
+     */
+    public static ClusterNode standalone() {
+        return new ClusterNode(null, (ClusterTransport) null);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return true if a cluster transport is configured
+     */
+    public boolean isClustered() {
+        return transport != null;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return true if broadcasts go through an external broker shared by all nodes
+     */
+    public boolean hasSharedBroker() {
+        return sharedBroker;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Whether this node publishes a cluster-wide topic. Always true with a node-local broker,
+     * where each node serves its own subscribers; with a shared broker only the ring owner
+     * of the key publishes, so subscribers do not receive the same update once per node.
+     *
+     * @param key topic key hashed onto the ring
+     * @return true if this node should publish
+     */
+    public boolean ownsSharedTopic(String key) {
+        ConsistentHashRing r = ring;
+        return !sharedBroker || r == null || nodeId.equals(r.ownerOf(key));
+    }
+
+    void ring(ConsistentHashRing ring) {
+        this.ring = ring;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return the transport; only valid when clustered
+     */
+    public ClusterTransport transport() {
+        return transport;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Forward a serialized broadcast to subscribers on the other nodes (no-op on a single node
+     * or with a shared broker).
+     */
+    public void relay(String destination, byte[] json) {
+        if (transport != null && !sharedBroker) transport.relay(nodeId, destination, json);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Share a committed lobby change with the other nodes' lobby indexes (no-op on a single node).
+     */
+    public void relayLobbyChange(LobbyChange change) {
+        if (transport != null) transport.relayLobbyChange(nodeId, change);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.GameStateDTO;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Inter-node messaging for room sharding. Selected by app.cluster.transport:
+ * local (nodes in one JVM, for tests and the load harness) or http (separate processes).
+ * Without a transport the backend runs as a single node that owns every room.
+ *
+ * PUBLIC_INTERFACE
+ */
+public interface ClusterTransport {
+
+    /**
+     * Inbound side of a node, implemented by ShardRouter.
+     */
+    interface Receiver {
+        CompletableFuture<GameStateDTO> onCommand(GameCommand command);
+
+        GameStateDTO onState(String roomCode);
+
+        void onRelay(String destination, byte[] json);
+
+        void onLobbyChange(LobbyChange change);
+
+        void onHeartbeat(String nodeId);
+
+        /**
+         * Release a room this node no longer owns (see GameStateCache.release).
+         *
+         * @return future completed with the room's last seq once it is durable, -1 if not held here
+         */
+        CompletableFuture<Long> onHandoff(String roomCode);
+    }
+
+    void register(String nodeId, Receiver receiver);
+
+    void unregister(String nodeId);
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return ids of every node that may take part in the ring, live or not (including this one)
+     */
+    Set<String> members();
+
+    // PUBLIC_INTERFACE
+    /**
+     * Run a command on the node that owns its room.
+     *
+     * @return future completed with the resulting state, or exceptionally if rejected or unreachable
+     */
+    CompletableFuture<GameStateDTO> sendCommand(String nodeId, GameCommand command);
+
+    CompletableFuture<GameStateDTO> fetchState(String nodeId, String roomCode);
+
+    // PUBLIC_INTERFACE
+    /**
+     * Deliver an already serialized broadcast to the local subscribers of every other node.
+     */
+    void relay(String fromNodeId, String destination, byte[] json);
+
+    void relayLobbyChange(String fromNodeId, LobbyChange change);
+
+    void heartbeat(String fromNodeId);
+
+    // PUBLIC_INTERFACE
+    /**
+     * Ask a room's previous owner to release it to the caller.
+     *
+     * @return future completed with the room's last seq once its state is durable in the shared
+     *         store (-1 if the node did not hold it), or exceptionally if not yet releasable or unreachable
+     */
+    CompletableFuture<Long> handoff(String nodeId, String roomCode);
+}
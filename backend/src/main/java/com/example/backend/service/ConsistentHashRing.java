@@ -0,0 +1,65 @@
+package com.example.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring mapping room codes to node ids. Each node is placed at
+ * virtualNodes points, so rooms spread evenly and adding or removing a node only moves
+ * the rooms that node gains or owned.
+ *
+ * PUBLIC_INTERFACE
+ */
+public final class ConsistentHashRing {
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+    private final Set<String> nodes;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        this.nodes = Set.copyOf(new TreeSet<>(nodeIds));
+        for (String node : nodes) {
+            for (int v = 0; v < virtualNodes; v++) {
+                points.put(hash(node + "#" + v), node);
+            }
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @param key room code
+     * @return id of the node owning the key
+     * @throws IllegalStateException if the ring has no nodes
+     */
+    public String ownerOf(String key) {
+        if (points.isEmpty()) throw new IllegalStateException("No live nodes");
+        Map.Entry<Long, String> e = points.ceilingEntry(hash(key));
+        return (e != null ? e : points.firstEntry()).getValue();
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return node ids on the ring
+     */
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    static long hash(String key) {
+        // FNV-1a followed by the murmur3 finalizer for avalanche on short keys
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
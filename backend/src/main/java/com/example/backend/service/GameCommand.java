@@ -0,0 +1,46 @@
+package com.example.backend.service;
+
+/**
+ * Player action handled by GameCommandPipeline. REST and STOMP entry points
+ * build the same commands so both go through one validate/apply/persist/publish path.
+ *
+ * PUBLIC_INTERFACE
+ */
+public sealed interface GameCommand permits GameCommand.Roll, GameCommand.Move {
+
+    String roomCode();
+
+    String color();
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return state seq the client acted on, or null to skip the check
+     */
+    Long expectedVersion();
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return low-cardinality command name for logs and metric tags
+     */
+    String name();
+
+    /**
+     * Roll the dice for the player whose turn it is.
+     */
+    record Roll(String roomCode, String color, Long expectedVersion) implements GameCommand {
+        @Override
+        public String name() {
+            return "roll";
+        }
+    }
+
+    /**
+     * Move a token using the last rolled dice or a dice override.
+     */
+    record Move(String roomCode, String color, int tokenIndex, Integer dice, Long expectedVersion) implements GameCommand {
+        @Override
+        public String name() {
+            return "move";
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.backend.service;
+
+import com.example.backend.domain.MoveLog;
+import com.example.backend.dto.GameDeltaEvent;
+import com.example.backend.dto.GameStateDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Single command-handling pipeline shared by the REST and STOMP controllers.
+ * Every command runs on its room's writer through four stages, each executed and
+ * timed exactly once (metric game.command.stage, tags command/stage):
+ * validate -> apply -> persist (event appended to the room log via MoveLogAppender; board
+ * snapshots every N events via GameStateCache) -> publish (one broadcast).
+ * A CommandListener (the AI players) is told about every applied command.
+ *
+ * PUBLIC_INTERFACE
+ */
+@Service
+public class GameCommandPipeline {
+    private static final Logger log = LoggerFactory.getLogger(GameCommandPipeline.class);
+
+    private static final String[] STAGES = {"validate", "apply", "persist", "publish"};
+    private static final int VALIDATE = 0;
+    private static final int APPLY = 1;
+    private static final int PERSIST = 2;
+    private static final int PUBLISH = 3;
+
+    private final GameStateCache cache;
+    private final RoomActorExecutor actors;
+    private final BroadcastService broadcastService;
+    private final MoveLogAppender moveLog;
+
+    private final Timer[] rollStages = new Timer[STAGES.length];
+    private final Timer[] moveStages = new Timer[STAGES.length];
+    private volatile CommandListener listener;
+
+    public GameCommandPipeline(GameStateCache cache,
+                               RoomActorExecutor actors,
+                               BroadcastService broadcastService,
+                               MoveLogAppender moveLog,
+                               MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.actors = actors;
+        this.broadcastService = broadcastService;
+        this.moveLog = moveLog;
+        for (int i = 0; i < STAGES.length; i++) {
+            rollStages[i] = meterRegistry.timer("game.command.stage", "command", "roll", "stage", STAGES[i]);
+            moveStages[i] = meterRegistry.timer("game.command.stage", "command", "move", "stage", STAGES[i]);
+        }
+    }
+
+    /**
+     * Notified on the room's writer after a command has been applied and published.
+     * Implementations must return quickly and must not block or throw.
+     */
+    public interface CommandListener {
+        void commandApplied(LiveGame game, GameSnapshot snapshot);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @param listener listener for applied commands, replacing any previous one
+     */
+    public void setListener(CommandListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Per-command working state carried between stages.
+     */
+    private static final class Context {
+        LiveGame game;
+        int seat;
+        int dice;
+        boolean extraTurn;
+        final MoveOutcome outcome = new MoveOutcome();
+        GameSnapshot snapshot;
+        GameDeltaEvent event;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Dispatch a command to its room's writer.
+     *
+     * @param command roll or move
+     * @return future completed with the resulting state, or exceptionally if rejected
+     */
+    public CompletableFuture<GameStateDTO> submit(GameCommand command) {
+        return actors.submit(command.roomCode(), () -> execute(command));
+    }
+
+    private GameStateDTO execute(GameCommand command) {
+        Timer[] timers = command instanceof GameCommand.Move ? moveStages : rollStages;
+        Context ctx = new Context();
+
+        long t0 = System.nanoTime();
+        validate(command, ctx);
+        long t1 = System.nanoTime();
+        timers[VALIDATE].record(t1 - t0, TimeUnit.NANOSECONDS);
+
+        apply(command, ctx);
+        long t2 = System.nanoTime();
+        timers[APPLY].record(t2 - t1, TimeUnit.NANOSECONDS);
+
+        ctx.snapshot = cache.markDirty(ctx.game);
+        moveLog.append(toLogEntry(command, ctx));
+        long t3 = System.nanoTime();
+        timers[PERSIST].record(t3 - t2, TimeUnit.NANOSECONDS);
+
+        ctx.event = toEvent(command, ctx);
+        broadcastService.publish(command.roomCode(), ctx.event);
+        timers[PUBLISH].record(System.nanoTime() - t3, TimeUnit.NANOSECONDS);
+
+        CommandListener l = listener;
+        if (l != null) l.commandApplied(ctx.game, ctx.snapshot);
+
+        log.info("command applied room={} command={} color={} seq={}", command.roomCode(), command.name(),
+                command.color(), ctx.snapshot.version());
+        return GameService.toDTO(command.roomCode(), ctx.snapshot);
+    }
+
+    private void validate(GameCommand command, Context ctx) {
+        ctx.game = cache.require(command.roomCode());
+        long current = ctx.game.snapshot().version();
+        if (command.expectedVersion() != null && command.expectedVersion() != current) {
+            throw new VersionConflictException(command.expectedVersion(), current);
+        }
+        PackedBoard board = ctx.game.getBoard();
+        LudoRulesEngine rules = ctx.game.rules();
+        if (board.hasFinishedSeat()) throw new IllegalStateException("Game finished");
+        int seat = PackedBoard.seatOf(rules.normalizeColor(command.color()));
+        if (seat == PackedBoard.NO_SEAT || seat != board.currentSeat()) {
+            throw new IllegalStateException("Not your turn");
+        }
+        ctx.seat = seat;
+        if (command instanceof GameCommand.Move move) {
+            int dice = move.dice() != null ? move.dice() : board.dice();
+            if (dice == PackedBoard.NO_DICE) {
+                throw new IllegalStateException("Roll dice first");
+            }
+            int valid = rules.validMoves(board, seat, dice);
+            if (!LudoRulesEngine.isValid(valid, move.tokenIndex())) {
+                throw new IllegalStateException("Invalid move");
+            }
+            ctx.dice = dice;
+        } else if (board.dice() != PackedBoard.NO_DICE) {
+            throw new IllegalStateException("Move a token first");
+        }
+    }
+
+    private void apply(GameCommand command, Context ctx) {
+        PackedBoard board = ctx.game.getBoard();
+        LudoRulesEngine rules = ctx.game.rules();
+        if (command instanceof GameCommand.Move move) {
+            ctx.extraTurn = rules.playMove(board, ctx.seat, move.tokenIndex(), ctx.dice, ctx.outcome);
+        } else {
+            ctx.dice = 1 + ThreadLocalRandom.current().nextInt(6);
+            // a roll no token can use (or a third six) passes the turn; the event's turn field shows it
+            rules.applyRoll(board, ctx.dice);
+        }
+    }
+
+    private MoveLogAppender.Entry toLogEntry(GameCommand command, Context ctx) {
+        String color = PackedBoard.colorOf(ctx.seat);
+        long seq = ctx.snapshot.version();
+        if (command instanceof GameCommand.Move move) {
+            return new MoveLogAppender.Entry(ctx.game, seq, MoveLog.MOVE, color, move.tokenIndex(),
+                    BoardCodec.label(ctx.outcome.from()), BoardCodec.label(ctx.outcome.to()), ctx.dice,
+                    ctx.snapshot.updatedAt());
+        }
+        return new MoveLogAppender.Entry(ctx.game, seq, MoveLog.ROLL, color, null, null, null, ctx.dice,
+                ctx.snapshot.updatedAt());
+    }
+
+    private GameDeltaEvent toEvent(GameCommand command, Context ctx) {
+        GameSnapshot snap = ctx.snapshot;
+        GameDeltaEvent event = new GameDeltaEvent()
+                .setSeq(snap.version())
+                .setColor(PackedBoard.colorOf(ctx.seat))
+                .setDice(ctx.dice)
+                .setTurn(PackedBoard.colorOf(snap.board().currentSeat()))
+                .setTs(snap.updatedAt().toEpochMilli());
+        if (!(command instanceof GameCommand.Move move)) {
+            return event.setType(GameDeltaEvent.DICE_ROLLED);
+        }
+        MoveOutcome outcome = ctx.outcome;
+        event.setType(GameDeltaEvent.TOKEN_MOVED)
+                .setToken(move.tokenIndex())
+                .setFrom(BoardCodec.label(outcome.from()))
+                .setTo(BoardCodec.label(outcome.to()));
+        for (int mask = outcome.captureMask(); mask != 0; mask &= mask - 1) {
+            int bit = Integer.numberOfTrailingZeros(mask);
+            // captured tokens stood on the destination square
+            event.addCapture(new GameDeltaEvent.Capture(PackedBoard.colorOf(bit / PackedBoard.TOKENS_PER_SEAT),
+                    bit % PackedBoard.TOKENS_PER_SEAT, event.getTo()));
+        }
+        return event;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.backend.service;
+
+import com.example.backend.domain.MoveLog;
+import java.time.Instant;
+
+/**
+ * Storage-neutral room event as read back from a GameStore for replay.
+ * tokenIndex is -1 for ROLL events.
+ *
+ * PUBLIC_INTERFACE
+ */
+public record GameEvent(long seq, String type, int seat, int tokenIndex, int dice, Instant at) {
+
+    public boolean isRoll() {
+        return MoveLog.ROLL.equals(type);
+    }
+
+    static GameEvent of(MoveLog log) {
+        return new GameEvent(log.getSeq() == null ? -1 : log.getSeq(), log.getEventType(),
+                PackedBoard.seatOf(log.getPlayerColor()),
+                log.getTokenIndex() == null ? -1 : log.getTokenIndex(),
+                log.getDiceValue() == null ? PackedBoard.NO_DICE : log.getDiceValue(),
+                log.getCreatedAt());
+    }
+}
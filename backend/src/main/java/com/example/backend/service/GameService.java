@@ -1,59 +1,51 @@
 package com.example.backend.service;
 
-import com.example.backend.domain.GameState;
-import com.example.backend.domain.Room;
-import com.example.backend.dto.GameEventEnvelope;
 import com.example.backend.dto.GameStateDTO;
-import com.example.backend.repository.GameStateRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.springframework.stereotype.Service;
 
 /**
  * Game actions service. Authoritative game operations with simple validation.
+ * Actions go through GameCommandPipeline on the room's single writer, on the node that owns
+ * the room (ShardRouter); reads are served from that node's in-memory GameStateCache.
+ * Each roll and move is timed end to end, from before it is routed until its future completes
+ * (metric game.command, tags command=roll|move and outcome=ok|conflict|rejected|error).
  *
  * PUBLIC_INTERFACE
  */
 @Service
 public class GameService {
-    private static final Logger log = LoggerFactory.getLogger(GameService.class);
 
-    private final GameStateRepository gameStateRepository;
-    private final RoomService roomService;
-    private final BroadcastService broadcastService;
-    private final ObjectMapper mapper = new ObjectMapper();
-    private final LudoRulesEngine rules = new LudoRulesEngine();
+    private final GameStateCache cache;
+    private final ShardRouter router;
+    private final MeterRegistry meterRegistry;
 
-    // room-level locks
-    private final Map<String, Object> locks = new ConcurrentHashMap<>();
-
-    public GameService(GameStateRepository gameStateRepository,
-                       RoomService roomService,
-                       BroadcastService broadcastService) {
-        this.gameStateRepository = gameStateRepository;
-        this.roomService = roomService;
-        this.broadcastService = broadcastService;
-    }
-
-    private Object roomLock(String code) {
-        return locks.computeIfAbsent(code, k -> new Object());
+    public GameService(GameStateCache cache,
+                       ShardRouter router,
+                       MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.router = router;
+        this.meterRegistry = meterRegistry;
     }
 
     // PUBLIC_INTERFACE
     /**
-     * Retrieve current GameStateDTO for a room.
+     * Retrieve current GameStateDTO for a room from the latest published snapshot on its owning node.
      */
-    @Transactional
     public GameStateDTO getState(String roomCode) {
-        Room room = roomService.getRoomEntity(roomCode);
-        GameState gs = room.getGameState();
-        if (gs == null) {
+        return router.state(roomCode, () -> localState(cache, roomCode));
+    }
+
+    static GameStateDTO localState(GameStateCache cache, String roomCode) {
+        LiveGame game = cache.find(roomCode);
+        if (game == null) {
             // Not started: initialize in-memory view
             return new GameStateDTO()
                     .setRoomCode(roomCode)
@@ -62,114 +54,74 @@ public class GameService {
                     .setBoard(Map.of())
                     .setUpdatedAt(Instant.now());
         }
-        Map<String, Object> board = parseBoard(gs.getBoardStateJson());
-        return toDTO(room.getRoomCode(), gs.getCurrentTurnColor(), gs.getLastDiceRoll(), board, gs.getUpdatedAt());
+        return toDTO(roomCode, game.snapshot());
     }
 
     // PUBLIC_INTERFACE
     /**
-     * Apply a dice roll. If valid, records lastDice but does not auto-advance turn until a move or pass.
+     * Apply a dice roll. If valid, records lastDice for the following move; if no token can use it,
+     * or it is the seat's third six in a row, the turn passes at once.
+     *
+     * @param expectedVersion state seq the client acted on, or null to skip the check
+     * @return future completed with the new state once the room's writer has applied the roll,
+     *         or failed with VersionConflictException if the game has moved on
      */
-    @Transactional
-    public GameStateDTO rollDice(String roomCode, String color) {
-        synchronized (roomLock(roomCode)) {
-            Room room = roomService.getRoomEntity(roomCode);
-            ensureStarted(room);
-            GameState gs = room.getGameState();
-            Map<String, Object> board = parseBoard(gs.getBoardStateJson());
-            String current = (String) board.get("currentTurn");
-            String norm = rules.normalizeColor(color);
-            if (!Objects.equals(current, norm)) {
-                throw new IllegalStateException("Not your turn");
-            }
-            int dice = 1 + new Random().nextInt(6);
-            board.put("lastDice", dice);
-            gs.setLastDiceRoll(dice);
-            gs.setBoardStateJson(toJson(board));
-            gameStateRepository.save(gs);
-            GameStateDTO dto = toDTO(room.getRoomCode(), (String) board.get("currentTurn"), dice, board, gs.getUpdatedAt());
-            broadcastService.broadcast(roomCode, GameEventEnvelope.of("DiceRolled", dto, roomCode));
-            log.info("dice rolled room={} color={} dice={}", roomCode, color, dice);
-            return dto;
-        }
+    public CompletableFuture<GameStateDTO> rollDice(String roomCode, String color, Long expectedVersion) {
+        return timed("roll", () -> router.submit(new GameCommand.Roll(roomCode, color, expectedVersion)));
     }
 
     // PUBLIC_INTERFACE
     /**
      * Apply a move for a token index with current dice (or provided dice).
+     *
+     * @param expectedVersion state seq the client acted on, or null to skip the check
+     * @return future completed with the new state once the room's writer has applied the move,
+     *         or failed with VersionConflictException if the game has moved on
      */
-    @Transactional
-    public GameStateDTO moveToken(String roomCode, String color, int tokenIndex, Integer diceOverride) {
-        synchronized (roomLock(roomCode)) {
-            Room room = roomService.getRoomEntity(roomCode);
-            ensureStarted(room);
-            GameState gs = room.getGameState();
-            Map<String, Object> board = parseBoard(gs.getBoardStateJson());
-            String current = (String) board.get("currentTurn");
-            String norm = rules.normalizeColor(color);
-            if (!Objects.equals(current, norm)) {
-                throw new IllegalStateException("Not your turn");
-            }
-            Integer dice = diceOverride != null ? diceOverride : (Integer) board.get("lastDice");
-            if (dice == null) {
-                throw new IllegalStateException("Roll dice first");
-            }
-            List<String> order = room.getPlayers().stream()
-                    .sorted(Comparator.comparingInt(p -> p.getTurnOrder()))
-                    .map(p -> p.getColor())
-                    .toList();
-
-            List<Integer> valid = rules.validMoves(board, norm, dice);
-            if (!valid.contains(tokenIndex)) {
-                throw new IllegalStateException("Invalid move");
-            }
-            boolean extra = rules.applyMove(board, norm, tokenIndex, dice);
-            rules.advanceTurn(board, order, extra);
-
-            gs.setCurrentTurnColor((String) board.get("currentTurn"));
-            gs.setBoardStateJson(toJson(board));
-            // if extra turn was taken due to 6, keep lastDice to allow move; else clear
-            if (!extra) {
-                board.put("lastDice", null);
-                gs.setLastDiceRoll(null);
-                gs.setBoardStateJson(toJson(board));
-            }
-
-            gameStateRepository.save(gs);
-            GameStateDTO dto = toDTO(room.getRoomCode(), gs.getCurrentTurnColor(), (Integer) board.get("lastDice"), board, gs.getUpdatedAt());
-            broadcastService.broadcast(roomCode, GameEventEnvelope.of("GameStateUpdated", dto, roomCode));
-            log.info("move applied room={} color={} token={} extraTurn={}", roomCode, color, tokenIndex, extra);
-            return dto;
-        }
-    }
-
-    private void ensureStarted(Room room) {
-        if (room.getGameState() == null) throw new IllegalStateException("Game not started");
+    public CompletableFuture<GameStateDTO> moveToken(String roomCode, String color, int tokenIndex, Integer diceOverride,
+                                                     Long expectedVersion) {
+        return timed("move", () -> router.submit(new GameCommand.Move(roomCode, color, tokenIndex, diceOverride, expectedVersion)));
     }
 
-    private Map<String, Object> parseBoard(String json) {
+    private CompletableFuture<GameStateDTO> timed(String command, Supplier<CompletableFuture<GameStateDTO>> submit) {
+        // start before submitting, so routing, forwarding and the wait for the room's writer count
+        long start = System.nanoTime();
+        CompletableFuture<GameStateDTO> result;
         try {
-            if (json == null || json.isBlank()) return new HashMap<>();
-            return mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
-        } catch (Exception e) {
-            throw new IllegalStateException("Parse board failed", e);
+            result = submit.get();
+        } catch (RuntimeException e) {
+            record(command, e, start);
+            throw e;
         }
+        result.whenComplete((state, error) -> record(command, error, start));
+        return result;
     }
 
-    private String toJson(Map<String, Object> board) {
-        try {
-            return mapper.writeValueAsString(board);
-        } catch (Exception e) {
-            throw new IllegalStateException("Serialize board failed", e);
+    private void record(String command, Throwable error, long start) {
+        meterRegistry.timer("game.command", "command", command, "outcome", outcome(error))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(Throwable error) {
+        if (error == null) return "ok";
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof VersionConflictException) return "conflict";
+        if (cause instanceof IllegalStateException || cause instanceof IllegalArgumentException
+                || cause instanceof NoSuchElementException || cause instanceof SecurityException) {
+            return "rejected";
         }
+        return "error";
     }
 
-    private GameStateDTO toDTO(String roomCode, String currentTurn, Integer lastDice, Map<String, Object> board, Instant updated) {
+    static GameStateDTO toDTO(String roomCode, GameSnapshot snap) {
+        // conversion to the client board shape happens only here, at the API edge
+        PackedBoard board = snap.board();
         return new GameStateDTO()
                 .setRoomCode(roomCode)
-                .setCurrentTurnColor(currentTurn)
-                .setLastDiceRoll(lastDice)
-                .setBoard(board)
-                .setUpdatedAt(updated);
+                .setCurrentTurnColor(PackedBoard.colorOf(board.currentSeat()))
+                .setLastDiceRoll(board.dice() == PackedBoard.NO_DICE ? null : board.dice())
+                .setBoard(BoardCodec.toMap(board))
+                .setUpdatedAt(snap.updatedAt())
+                .setSeq(snap.version());
     }
 }
@@ -0,0 +1,13 @@
+package com.example.backend.service;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a live game published by its room writer after every change.
+ * Readers and the write-behind flusher use it without coordinating with the writer;
+ * the board inside must never be mutated.
+ *
+ * PUBLIC_INTERFACE
+ */
+public record GameSnapshot(long version, PackedBoard board, Instant updatedAt) {
+}
@@ -0,0 +1,308 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.RoomRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Live in-memory store of active games keyed by room code.
+ * The game path reads and mutates LiveGame instances only. Every change is an event in the
+ * room's log (written through MoveLogAppender to the GameStore); this cache writes a board
+ * snapshot only every app.game.snapshot-every events, in coalesced batches. Finished or idle
+ * games are evicted once their events are durable. Misses rehydrate from the store's latest
+ * snapshot plus the events after it; games the store reports as active are loaded at startup.
+ * Mutations and evictions run on the room's writer (RoomActorExecutor); the flusher
+ * only reads published snapshots. A game handed to another cluster node is released on its
+ * writer only after its queued events and a board snapshot are in the store (see release).
+ *
+ * Metrics: game.rooms.active (gauge, games in memory), game.snapshot.flush (timer, one
+ * snapshot batch write).
+ *
+ * PUBLIC_INTERFACE
+ */
+@Service
+public class GameStateCache {
+    private static final Logger log = LoggerFactory.getLogger(GameStateCache.class);
+
+    private final GameStore store;
+    private final RoomRepository roomRepository;
+    private final RoomActorExecutor actors;
+    private final MoveLogAppender moveLog;
+    private final Timer flushTimer;
+
+    private final Map<String, LiveGame> games = new ConcurrentHashMap<>();
+    private final Set<String> dirtyRooms = ConcurrentHashMap.newKeySet();
+    // rooms released since the last ring change -> seq they were released at
+    private final Map<String, Long> releasedSeqs = new ConcurrentHashMap<>();
+
+    @Value("${app.game.flush-batch-size:100}")
+    private int flushBatchSize = 100;
+
+    @Value("${app.game.snapshot-every:50}")
+    private long snapshotEvery = 50;
+
+    @Value("${app.game.idle-evict-ms:600000}")
+    private long idleEvictMs = 600_000;
+
+    public GameStateCache(GameStore store, RoomRepository roomRepository, RoomActorExecutor actors,
+                          MoveLogAppender moveLog, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.roomRepository = roomRepository;
+        this.actors = actors;
+        this.moveLog = moveLog;
+        this.flushTimer = meterRegistry.timer("game.snapshot.flush");
+        meterRegistry.gauge("game.rooms.active", games, Map::size);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Find the live game for a room, rehydrating it from the database on a miss.
+     * Callers outside the room's writer may only read {@link LiveGame#snapshot()}.
+     *
+     * @param roomCode room code
+     * @return live game, or null if the room exists but the game has not started
+     * @throws NoSuchElementException if the room does not exist
+     */
+    public LiveGame find(String roomCode) {
+        LiveGame game = games.get(roomCode);
+        if (game != null) return game;
+        LiveGame loaded = load(roomCode);
+        if (loaded == null) return null;
+        LiveGame prev = games.putIfAbsent(roomCode, loaded);
+        return prev != null ? prev : loaded;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Resolve the live game for a mutation. Must be called on the room's writer.
+     *
+     * @param roomCode room code
+     * @return live game
+     * @throws IllegalStateException if the game has not started
+     */
+    public LiveGame require(String roomCode) {
+        LiveGame game = find(roomCode);
+        if (game == null) throw new IllegalStateException("Game not started");
+        game.touch();
+        return game;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Publish a game's working board after a mutation so readers see it and the next
+     * flush considers it for a snapshot. Must be called on the room's writer.
+     *
+     * @param game live game
+     * @return the published snapshot
+     */
+    public GameSnapshot markDirty(LiveGame game) {
+        GameSnapshot snap = game.publish();
+        dirtyRooms.add(game.getRoomCode());
+        return snap;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Hand a game over to another node: on the room's writer, so an in-flight command finishes
+     * first, write the room's queued events and a board snapshot, then drop the game. A failed
+     * write keeps the game here, so the next handoff request retries the release.
+     *
+     * @param roomCode room code
+     * @return future completed with the released game's seq once it is durable in the store
+     *         (also for a room already released since the last ring change), or -1 if this node
+     *         holds no game for the room
+     */
+    public CompletableFuture<Long> release(String roomCode) {
+        return actors.submit(roomCode, () -> {
+            LiveGame game = games.get(roomCode);
+            if (game == null) return releasedSeqs.getOrDefault(roomCode, -1L);
+            moveLog.sync().join();
+            GameSnapshot snap = game.snapshot();
+            if (snap.version() > game.getSnapshotVersion()) {
+                store.writeSnapshots(List.of(new GameStore.SnapshotWrite(game, snap)));
+                game.markSnapshot(snap.version());
+            }
+            games.remove(roomCode, game);
+            dirtyRooms.remove(roomCode);
+            releasedSeqs.put(roomCode, snap.version());
+            log.info("game released room={} seq={}", roomCode, snap.version());
+            return snap.version();
+        });
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Take over a room another node has released: on the room's writer, drop any copy held
+     * here (rehydrated by a read before the handoff, so possibly stale), rehydrate from the
+     * store and check that the game has reached the released seq.
+     *
+     * @param roomCode room code
+     * @param releasedSeq seq the previous owner made durable (see release), or -1
+     * @return future completed with the seq of the game now held here, or exceptionally with
+     *         IllegalStateException if the store is still behind
+     */
+    public CompletableFuture<Long> acquire(String roomCode, long releasedSeq) {
+        return actors.submit(roomCode, () -> {
+            games.remove(roomCode);
+            dirtyRooms.remove(roomCode);
+            releasedSeqs.remove(roomCode);
+            LiveGame game = find(roomCode);
+            long seq = game == null ? -1 : game.snapshot().version();
+            if (seq < releasedSeq) {
+                throw new IllegalStateException("Room handoff incomplete at seq " + seq + " of " + releasedSeq + ", retry");
+            }
+            return seq;
+        });
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Release the games this node no longer owns after a cluster ring change (see release).
+     * The new owner asks for each room's handoff before using it, so it waits for these.
+     *
+     * @param owned ownership test by room code
+     * @return number of games being released
+     */
+    public int releaseUnowned(Predicate<String> owned) {
+        // a handoff is only asked of the owner under the ring just replaced
+        releasedSeqs.clear();
+        int released = 0;
+        for (LiveGame game : games.values()) {
+            String code = game.getRoomCode();
+            if (owned.test(code)) continue;
+            released++;
+            release(code).whenComplete((seq, ex) -> {
+                if (ex != null) log.error("game release failed room={} msg={}", code, ex.getMessage());
+            });
+        }
+        return released;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return read-only view of the games currently held in memory
+     */
+    public Collection<LiveGame> liveGames() {
+        return Collections.unmodifiableCollection(games.values());
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return number of games currently held in memory
+     */
+    public int size() {
+        return games.size();
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Snapshot games that are due in batches, then evict finished or idle games.
+     */
+    @Scheduled(fixedDelayString = "${app.game.flush-interval-ms:200}")
+    public void flush() {
+        flushDirty(false);
+        evict();
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Load the games the store still considers in progress, so they are live before the first request.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int loaded = 0;
+        for (String code : store.activeRooms()) {
+            if (find(code) != null) loaded++;
+        }
+        if (loaded > 0) log.info("game cache warmed up games={}", loaded);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // let queued commands finish before the final snapshots
+        actors.shutdown();
+        flushDirty(true);
+        log.info("game cache flushed on shutdown games={}", games.size());
+    }
+
+    private void flushDirty(boolean all) {
+        List<GameStore.SnapshotWrite> pending = new ArrayList<>();
+        for (String code : dirtyRooms) {
+            LiveGame game = games.get(code);
+            if (game != null && !all && !isSnapshotDue(game)) continue;
+            dirtyRooms.remove(code);
+            if (game == null || game.snapshot().version() <= game.getSnapshotVersion()) continue;
+            pending.add(new GameStore.SnapshotWrite(game, game.snapshot()));
+            if (pending.size() >= flushBatchSize) {
+                write(pending);
+                pending = new ArrayList<>();
+            }
+        }
+        if (!pending.isEmpty()) write(pending);
+    }
+
+    private void write(List<GameStore.SnapshotWrite> batch) {
+        try {
+            flushTimer.record(() -> store.writeSnapshots(batch));
+            for (GameStore.SnapshotWrite w : batch) w.game().markSnapshot(w.snapshot().version());
+            log.debug("game snapshots written count={}", batch.size());
+        } catch (RuntimeException e) {
+            log.error("game snapshot write failed count={} msg={}", batch.size(), e.getMessage());
+            // re-queue so the latest state is retried on the next flush
+            for (GameStore.SnapshotWrite w : batch) dirtyRooms.add(w.game().getRoomCode());
+        }
+    }
+
+    private void evict() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictMs);
+        for (LiveGame game : games.values()) {
+            if (!isEvictable(game, idleNanos)) continue;
+            // re-check on the room's writer so no command is mid-flight against this entry
+            actors.execute(game.getRoomCode(), () -> {
+                if (isEvictable(game, idleNanos) && games.remove(game.getRoomCode(), game)) {
+                    log.info("game evicted room={} finished={}", game.getRoomCode(), game.isFinished());
+                }
+            });
+        }
+    }
+
+    private boolean isSnapshotDue(LiveGame game) {
+        return game.isSnapshotRequired() || game.snapshot().version() - game.getSnapshotVersion() >= snapshotEvery;
+    }
+
+    private boolean isEvictable(LiveGame game, long idleNanos) {
+        if (game.isDirty()) return false;
+        return game.isFinished() || System.nanoTime() - game.getLastAccessNanos() > idleNanos;
+    }
+
+    private LiveGame load(String roomCode) {
+        Optional<GameStore.StoredGame> found = store.load(roomCode, Long.MAX_VALUE);
+        if (found.isEmpty()) {
+            if (!roomRepository.existsByRoomCode(roomCode)) throw new NoSuchElementException("Room not found");
+            return null;
+        }
+        GameStore.StoredGame sg = found.get();
+        log.info("game rehydrated room={} snapshotSeq={} seq={}", roomCode, sg.snapshotSeq(), sg.seq());
+        return new LiveGame(roomCode, sg.roomId(), sg.gameStateId(), sg.board(), sg.seq(), sg.snapshotSeq(), sg.updatedAt());
+    }
+}
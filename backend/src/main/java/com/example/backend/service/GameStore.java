@@ -0,0 +1,65 @@
+package com.example.backend.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistence backend for live game data: the per-room event log and board snapshots.
+ * Selected with app.persistence.backend: "jpa" (default, MoveLog/BoardSnapshot/GameState
+ * tables) or "journal" (memory-mapped append-only segment files, see JournalGameStore).
+ * Rooms and players always live in JPA.
+ *
+ * PUBLIC_INTERFACE
+ */
+public interface GameStore {
+
+    /**
+     * Snapshot to persist for a live game.
+     */
+    record SnapshotWrite(LiveGame game, GameSnapshot snapshot) {}
+
+    /**
+     * Game state rebuilt from storage: the nearest snapshot plus the events after it.
+     *
+     * @param seq sequence number of the last event applied to board
+     * @param snapshotSeq sequence number of the snapshot the replay started from
+     */
+    record StoredGame(Long roomId, Long gameStateId, PackedBoard board, long seq, long snapshotSeq, Instant updatedAt) {}
+
+    // PUBLIC_INTERFACE
+    /**
+     * Record the initial board of a newly started game as its seq 0 snapshot. Called inside
+     * the transaction that starts the game; a store that cannot roll back writes only once
+     * that transaction has committed.
+     */
+    void gameStarted(String roomCode, Long roomId, PackedBoard board);
+
+    // PUBLIC_INTERFACE
+    /**
+     * Persist a batch of events in order. Called from the MoveLogAppender writer thread only.
+     */
+    void appendEvents(List<MoveLogAppender.Entry> batch);
+
+    // PUBLIC_INTERFACE
+    /**
+     * Persist board snapshots. Called from the GameStateCache flusher.
+     */
+    void writeSnapshots(List<SnapshotWrite> batch);
+
+    // PUBLIC_INTERFACE
+    /**
+     * Rebuild a room's state up to a sequence number.
+     *
+     * @param roomCode room code
+     * @param upToSeq last event to apply (Long.MAX_VALUE for the latest state)
+     * @return stored game, or empty if the store has no game for the room
+     */
+    Optional<StoredGame> load(String roomCode, long upToSeq);
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return rooms with an unfinished game that should be loaded at startup (crash recovery)
+     */
+    List<String> activeRooms();
+}
@@ -0,0 +1,223 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.GameStateDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.MessageDigest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inter-node transport over HTTP for nodes in separate processes. Peers are listed in
+ * app.cluster.peers as id=baseUrl pairs; each node serves the receiving side under
+ * /internal/cluster (ClusterController), guarded by the shared app.cluster.secret, which is
+ * required: startup fails without it.
+ * Errors from the owning node keep their meaning: 404, 400 and 409 come back as
+ * NoSuchElementException, IllegalArgumentException and IllegalStateException.
+ *
+ * PUBLIC_INTERFACE
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.transport", havingValue = "http")
+public class HttpClusterTransport implements ClusterTransport {
+    private static final Logger log = LoggerFactory.getLogger(HttpClusterTransport.class);
+
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+
+    /**
+     * Wire form of a GameCommand.
+     */
+    public record ForwardedCommand(String type, String roomCode, String color, Integer tokenIndex, Integer dice,
+                                   Long expectedVersion) {
+
+        static ForwardedCommand of(GameCommand command) {
+            if (command instanceof GameCommand.Move m) {
+                return new ForwardedCommand(m.name(), m.roomCode(), m.color(), m.tokenIndex(), m.dice(), m.expectedVersion());
+            }
+            return new ForwardedCommand(command.name(), command.roomCode(), command.color(), null, null,
+                    command.expectedVersion());
+        }
+
+        public GameCommand toCommand() {
+            if ("move".equals(type)) {
+                if (tokenIndex == null) throw new IllegalArgumentException("tokenIndex required");
+                return new GameCommand.Move(roomCode, color, tokenIndex, dice, expectedVersion);
+            }
+            return new GameCommand.Roll(roomCode, color, expectedVersion);
+        }
+    }
+
+    private final ObjectMapper mapper;
+    private final HttpClient http;
+    private final Map<String, String> peers = new LinkedHashMap<>();
+    private final String secret;
+    private final byte[] secretBytes;
+    private final Duration timeout;
+    private volatile Receiver receiver;
+
+    public HttpClusterTransport(ObjectMapper mapper,
+                                @Value("${app.cluster.node-id:}") String nodeId,
+                                @Value("${app.cluster.peers:}") String peers,
+                                @Value("${app.cluster.secret:}") String secret,
+                                @Value("${app.cluster.request-timeout-ms:2000}") long timeoutMs) {
+        if (nodeId.isBlank()) throw new IllegalStateException("app.cluster.node-id is required for the http transport");
+        if (secret.isBlank()) throw new IllegalStateException("app.cluster.secret is required for the http transport");
+        this.mapper = mapper;
+        this.secret = secret;
+        this.secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+        for (String entry : peers.split(",")) {
+            if (entry.isBlank()) continue;
+            int eq = entry.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("app.cluster.peers entries must be id=url: " + entry);
+            String id = entry.substring(0, eq).trim();
+            if (!id.equals(nodeId)) this.peers.put(id, entry.substring(eq + 1).trim());
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return this node's receiver, for ClusterController
+     */
+    public Receiver receiver() {
+        Receiver r = receiver;
+        if (r == null) throw new IllegalStateException("Cluster node not started");
+        return r;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Constant-time comparison, so response timing does not reveal how much of a guess matched.
+     *
+     * @param value secret header sent by a peer
+     * @throws SecurityException if it does not match app.cluster.secret (mapped to 403)
+     */
+    public void checkSecret(String value) {
+        byte[] given = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(secretBytes, given)) throw new SecurityException("Invalid cluster secret");
+    }
+
+    @Override
+    public void register(String nodeId, Receiver receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void unregister(String nodeId) {
+        this.receiver = null;
+    }
+
+    @Override
+    public Set<String> members() {
+        return peers.keySet();
+    }
+
+    @Override
+    public CompletableFuture<GameStateDTO> sendCommand(String nodeId, GameCommand command) {
+        return send(nodeId, "/internal/cluster/command", json(ForwardedCommand.of(command)))
+                .thenApply(body -> read(body, GameStateDTO.class));
+    }
+
+    @Override
+    public CompletableFuture<GameStateDTO> fetchState(String nodeId, String roomCode) {
+        HttpRequest.Builder req = request(nodeId, "/internal/cluster/state/" + roomCode).GET();
+        return exchange(nodeId, req.build()).thenApply(body -> read(body, GameStateDTO.class));
+    }
+
+    @Override
+    public CompletableFuture<Long> handoff(String nodeId, String roomCode) {
+        return send(nodeId, "/internal/cluster/handoff/" + roomCode, new byte[0]).thenApply(body -> read(body, Long.class));
+    }
+
+    @Override
+    public void relay(String fromNodeId, String destination, byte[] json) {
+        String path = "/internal/cluster/relay?destination=" + URLEncoder.encode(destination, StandardCharsets.UTF_8);
+        for (String peer : peers.keySet()) fireAndForget(peer, path, json);
+    }
+
+    @Override
+    public void relayLobbyChange(String fromNodeId, LobbyChange change) {
+        byte[] body = json(change);
+        for (String peer : peers.keySet()) fireAndForget(peer, "/internal/cluster/lobby", body);
+    }
+
+    @Override
+    public void heartbeat(String fromNodeId) {
+        for (String peer : peers.keySet()) fireAndForget(peer, "/internal/cluster/heartbeat/" + fromNodeId, new byte[0]);
+    }
+
+    private void fireAndForget(String nodeId, String path, byte[] body) {
+        send(nodeId, path, body).exceptionally(ex -> {
+            log.debug("cluster message failed node={} path={} msg={}", nodeId, path, ex.getMessage());
+            return null;
+        });
+    }
+
+    private CompletableFuture<byte[]> send(String nodeId, String path, byte[] body) {
+        HttpRequest req = request(nodeId, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return exchange(nodeId, req);
+    }
+
+    private HttpRequest.Builder request(String nodeId, String path) {
+        String base = peers.get(nodeId);
+        if (base == null) throw new IllegalStateException("Unknown cluster node " + nodeId);
+        return HttpRequest.newBuilder(URI.create(base + path)).timeout(timeout).header(SECRET_HEADER, secret);
+    }
+
+    private CompletableFuture<byte[]> exchange(String nodeId, HttpRequest req) {
+        return http.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((resp, ex) -> {
+                    if (ex != null) throw new IllegalStateException("Room owner unavailable: " + nodeId, ex);
+                    int status = resp.statusCode();
+                    if (status / 100 == 2) return resp.body();
+                    String message = errorMessage(resp.body());
+                    if (status == 404) throw new NoSuchElementException(message);
+                    if (status == 400) throw new IllegalArgumentException(message);
+                    throw new IllegalStateException(message);
+                });
+    }
+
+    private String errorMessage(byte[] body) {
+        try {
+            JsonNode node = mapper.readTree(body);
+            return node.path("message").asText("Cluster request failed");
+        } catch (Exception e) {
+            return "Cluster request failed";
+        }
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Serialize cluster message failed", e);
+        }
+    }
+
+    private <T> T read(byte[] body, Class<T> type) {
+        try {
+            return mapper.readValue(body, type);
+        } catch (Exception e) {
+            throw new IllegalStateException("Read cluster response failed", e);
+        }
+    }
+}
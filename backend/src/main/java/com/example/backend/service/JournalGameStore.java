@@ -0,0 +1,557 @@
+package com.example.backend.service;
+
+import com.example.backend.domain.MoveLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * GameStore writing fixed-size binary records to memory-mapped, append-only segment files
+ * (app.persistence.backend=journal). Appends are a memory copy into the mapped segment; the
+ * OS owns write-back, so a process crash loses nothing already appended, and the fsync policy
+ * decides what survives a machine crash:
+ * - always: force the segment after every append call
+ * - interval: force every app.journal.fsync-interval-ms
+ * - never: leave write-back to the OS
+ *
+ * Record layout: type, seat, token, dice, room code (8 bytes ASCII), seq, epoch millis, then
+ * - roll and move (64 bytes): 32 reserved
+ * - snapshot (96 bytes): board length, packed board (up to 63 bytes, see BoardCodec)
+ * and a CRC32 of the preceding bytes last. The type decides the record size. Journals written
+ * before rule variants hold 64-byte legacy snapshots (type 3) with a 24-byte format 1 board and
+ * 4 reserved bytes; they are still read, and compaction rewrites them as current snapshots.
+ * Segments roll at app.journal.segment-bytes; once app.journal.compact-after-segments are
+ * sealed, the live tail (latest snapshot plus later events of every unfinished room, and a
+ * single snapshot of the final board of every finished one) is rewritten into a fresh segment
+ * and the old ones are deleted. Replay therefore reaches back to the last compaction only.
+ *
+ * Startup recovery scans all segments, stops at the first zero or corrupt record of each
+ * (a torn write), rebuilds the per-room index and continues appending after the last valid record.
+ *
+ * Writers hold a ReentrantLock rather than the object monitor, since the fsync and segment
+ * I/O under it would pin the carrier of a virtual thread (see VirtualThreads).
+ *
+ * PUBLIC_INTERFACE
+ */
+@Component
+@ConditionalOnProperty(name = "app.persistence.backend", havingValue = "journal")
+public class JournalGameStore implements GameStore {
+    private static final Logger log = LoggerFactory.getLogger(JournalGameStore.class);
+
+    /**
+     * When mapped segment pages are forced to disk.
+     */
+    public enum FsyncPolicy { ALWAYS, INTERVAL, NEVER }
+
+    static final int RECORD_SIZE = 64;
+    static final int SNAPSHOT_RECORD_SIZE = 96;
+    private static final int CODE_BYTES = 8;
+    private static final int BOARD_OFFSET = 28;
+    private static final int LEGACY_BOARD_BYTES = 24;
+    private static final int MAX_BOARD_BYTES = SNAPSHOT_RECORD_SIZE - 4 - BOARD_OFFSET - 1;
+    private static final byte TYPE_ROLL = 1;
+    private static final byte TYPE_MOVE = 2;
+    private static final byte TYPE_LEGACY_SNAPSHOT = 3;
+    private static final byte TYPE_SNAPSHOT = 4;
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final FsyncPolicy fsync;
+    private final int compactAfterSegments;
+
+    private final Map<String, RoomJournal> rooms = new ConcurrentHashMap<>();
+    private final List<Path> sealed = new ArrayList<>();
+    private final byte[] scratch = new byte[SNAPSHOT_RECORD_SIZE];
+    private int scratchSize;
+    private final CRC32 crc = new CRC32();
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Path currentPath;
+    private long currentId;
+    private boolean unforced;
+    private boolean compacting;
+
+    public JournalGameStore(@Value("${app.journal.dir:data/journal}") String dir,
+                            @Value("${app.journal.segment-bytes:67108864}") long segmentBytes,
+                            @Value("${app.journal.fsync:interval}") String fsync,
+                            @Value("${app.journal.compact-after-segments:4}") int compactAfterSegments) {
+        this.dir = Paths.get(dir);
+        // whole records only, so a record never straddles two segments (encode rolls early)
+        this.segmentBytes = Math.max(SNAPSHOT_RECORD_SIZE, segmentBytes - segmentBytes % RECORD_SIZE);
+        this.fsync = FsyncPolicy.valueOf(fsync.trim().toUpperCase(Locale.ROOT));
+        this.compactAfterSegments = Math.max(1, compactAfterSegments);
+    }
+
+    @PostConstruct
+    void recover() {
+        lock.lock();
+        try {
+            Files.createDirectories(dir);
+            List<Path> files;
+            try (Stream<Path> s = Files.list(dir)) {
+                files = s.filter(p -> p.getFileName().toString().matches("segment-\\d{16}\\.log")).sorted().toList();
+            }
+            long records = 0;
+            int end = 0;
+            for (int i = 0; i < files.size(); i++) {
+                Path file = files.get(i);
+                boolean last = i == files.size() - 1;
+                open(file, idOf(file));
+                int[] scanned = scan();
+                end = scanned[0];
+                records += scanned[1];
+                if (!last) {
+                    seal();
+                }
+            }
+            if (channel == null) {
+                open(segmentPath(1), 1);
+            } else {
+                buffer.position(end);
+            }
+            log.info("journal recovered dir={} segments={} records={} rooms={} fsync={}",
+                    dir, files.size(), records, rooms.size(), fsync);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal recovery failed", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void gameStarted(String roomCode, Long roomId, PackedBoard board) {
+        // appends cannot roll back: journal only a start whose transaction committed, so a failed
+        // or retried start leaves no seq 0 snapshot (possibly with other rules) behind
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appendStart(roomCode, board);
+                }
+            });
+        } else {
+            appendStart(roomCode, board);
+        }
+    }
+
+    @Override
+    public void appendEvents(List<MoveLogAppender.Entry> batch) {
+        lock.lock();
+        try {
+            for (MoveLogAppender.Entry e : batch) {
+                boolean roll = MoveLog.ROLL.equals(e.type());
+                int seat = PackedBoard.seatOf(e.color());
+                int token = e.tokenIndex() == null ? -1 : e.tokenIndex();
+                encode(roll ? TYPE_ROLL : TYPE_MOVE, seat, token, e.dice(), e.game().getRoomCode(), e.seq(), e.at(), null);
+                write();
+                room(e.game().getRoomCode()).addEvent(new GameEvent(e.seq(), e.type(), seat, token, e.dice(), e.at()));
+            }
+            afterAppend();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void writeSnapshots(List<SnapshotWrite> batch) {
+        lock.lock();
+        try {
+            for (SnapshotWrite w : batch) {
+                appendSnapshot(w.game().getRoomCode(), w.snapshot().version(), w.snapshot().board(), w.snapshot().updatedAt());
+            }
+            afterAppend();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<StoredGame> load(String roomCode, long upToSeq) {
+        RoomJournal room = rooms.get(roomCode);
+        return room == null ? Optional.empty() : room.load(upToSeq);
+    }
+
+    @Override
+    public List<String> activeRooms() {
+        List<String> out = new ArrayList<>();
+        for (Map.Entry<String, RoomJournal> e : rooms.entrySet()) {
+            if (!e.getValue().isFinished()) out.add(e.getKey());
+        }
+        return out;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Force unflushed appends to disk under the interval fsync policy.
+     */
+    @Scheduled(fixedDelayString = "${app.journal.fsync-interval-ms:100}")
+    public void forceIfNeeded() {
+        lock.lock();
+        try {
+            if (fsync == FsyncPolicy.INTERVAL && unforced && buffer != null) {
+                buffer.force();
+                unforced = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        lock.lock();
+        try {
+            if (channel == null) return;
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                log.warn("journal close failed msg={}", e.getMessage());
+            }
+            channel = null;
+            log.info("journal closed segment={} rooms={}", currentPath.getFileName(), rooms.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendStart(String roomCode, PackedBoard board) {
+        lock.lock();
+        try {
+            Instant now = Instant.now();
+            appendSnapshot(roomCode, 0, board, now);
+            afterAppend();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendSnapshot(String roomCode, long seq, PackedBoard board, Instant at) {
+        byte[] packed = BoardCodec.toBytes(board);
+        encode(TYPE_SNAPSHOT, 0, 0, 0, roomCode, seq, at, packed);
+        write();
+        room(roomCode).addSnapshot(seq, packed, at);
+    }
+
+    private void afterAppend() {
+        if (fsync == FsyncPolicy.ALWAYS) {
+            buffer.force();
+        } else {
+            unforced = true;
+        }
+    }
+
+    private RoomJournal room(String roomCode) {
+        return rooms.computeIfAbsent(roomCode, k -> new RoomJournal());
+    }
+
+    private void encode(byte type, int seat, int token, int dice, String roomCode, long seq, Instant at, byte[] board) {
+        int size = recordSize(type);
+        // roll first: compaction during a roll reuses the scratch record
+        if (buffer.remaining() < size) roll();
+        if (board != null && board.length > MAX_BOARD_BYTES) {
+            throw new IllegalArgumentException("Board snapshot too large for journal: " + board.length + " bytes");
+        }
+        ByteBuffer b = ByteBuffer.wrap(scratch);
+        Arrays.fill(scratch, (byte) 0);
+        scratchSize = size;
+        b.put(type).put((byte) seat).put((byte) token).put((byte) dice);
+        byte[] code = roomCode.getBytes(StandardCharsets.US_ASCII);
+        if (code.length > CODE_BYTES) throw new IllegalArgumentException("Room code too long for journal: " + roomCode);
+        b.put(code);
+        b.position(4 + CODE_BYTES);
+        b.putLong(seq).putLong(at.toEpochMilli());
+        if (board != null) {
+            scratch[BOARD_OFFSET] = (byte) board.length;
+            System.arraycopy(board, 0, scratch, BOARD_OFFSET + 1, board.length);
+        }
+        crc.reset();
+        crc.update(scratch, 0, size - 4);
+        b.putInt(size - 4, (int) crc.getValue());
+    }
+
+    private void write() {
+        buffer.put(scratch, 0, scratchSize);
+    }
+
+    /**
+     * @return record size for a type, or 0 if the type is unknown
+     */
+    private static int recordSize(byte type) {
+        switch (type) {
+            case TYPE_ROLL:
+            case TYPE_MOVE:
+            case TYPE_LEGACY_SNAPSHOT:
+                return RECORD_SIZE;
+            case TYPE_SNAPSHOT:
+                return SNAPSHOT_RECORD_SIZE;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * @return end offset of the last valid record and the number of records
+     */
+    private int[] scan() {
+        byte[] rec = new byte[SNAPSHOT_RECORD_SIZE];
+        int pos = 0;
+        int records = 0;
+        while (pos < buffer.limit()) {
+            byte type = buffer.get(pos);
+            if (type == 0) break;
+            int size = recordSize(type);
+            if (size == 0 || pos + size > buffer.limit()) {
+                log.warn("journal torn or corrupt record segment={} offset={}", currentPath.getFileName(), pos);
+                break;
+            }
+            buffer.get(pos, rec, 0, size);
+            crc.reset();
+            crc.update(rec, 0, size - 4);
+            if ((int) crc.getValue() != ByteBuffer.wrap(rec).getInt(size - 4)) {
+                log.warn("journal torn or corrupt record segment={} offset={}", currentPath.getFileName(), pos);
+                break;
+            }
+            index(rec);
+            pos += size;
+            records++;
+        }
+        return new int[] {pos, records};
+    }
+
+    private void index(byte[] rec) {
+        ByteBuffer b = ByteBuffer.wrap(rec);
+        byte type = b.get(0);
+        int seat = b.get(1);
+        int token = b.get(2);
+        int dice = b.get(3);
+        int len = 0;
+        while (len < CODE_BYTES && rec[4 + len] != 0) len++;
+        String code = new String(rec, 4, len, StandardCharsets.US_ASCII);
+        long seq = b.getLong(4 + CODE_BYTES);
+        Instant at = Instant.ofEpochMilli(b.getLong(12 + CODE_BYTES));
+        if (type == TYPE_SNAPSHOT) {
+            byte[] board = Arrays.copyOfRange(rec, BOARD_OFFSET + 1, BOARD_OFFSET + 1 + (rec[BOARD_OFFSET] & 0xFF));
+            room(code).addSnapshot(seq, board, at);
+        } else if (type == TYPE_LEGACY_SNAPSHOT) {
+            // format 1 board, decoded by BoardCodec as a standard four-seat game
+            room(code).addSnapshot(seq, Arrays.copyOfRange(rec, BOARD_OFFSET, BOARD_OFFSET + LEGACY_BOARD_BYTES), at);
+        } else {
+            String kind = type == TYPE_ROLL ? MoveLog.ROLL : MoveLog.MOVE;
+            room(code).addEvent(new GameEvent(seq, kind, seat, token, dice, at));
+        }
+    }
+
+    private void roll() {
+        seal();
+        try {
+            open(segmentPath(currentId + 1), currentId + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal segment roll failed", e);
+        }
+        if (!compacting && sealed.size() >= compactAfterSegments) compact();
+    }
+
+    private void seal() {
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("journal segment close failed msg={}", e.getMessage());
+        }
+        sealed.add(currentPath);
+    }
+
+    private void open(Path path, long id) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        currentPath = path;
+        currentId = id;
+    }
+
+    /**
+     * Rewrite the live tail of every unfinished room and the final board of every finished one
+     * after the sealed segments, then delete them. A crash midway leaves both copies; recovery
+     * ignores the duplicated events.
+     */
+    private void compact() {
+        compacting = true;
+        List<Path> obsolete = new ArrayList<>(sealed);
+        int kept = 0;
+        int finished = 0;
+        try {
+            for (Map.Entry<String, RoomJournal> e : rooms.entrySet()) {
+                RoomJournal room = e.getValue();
+                if (room.isFinished()) {
+                    RoomJournal.Snapshot last = room.collapse();
+                    if (last == null) {
+                        // events without a snapshot cannot be loaded
+                        rooms.remove(e.getKey());
+                        continue;
+                    }
+                    finished++;
+                    encode(TYPE_SNAPSHOT, 0, 0, 0, e.getKey(), last.seq(), last.at(), last.board());
+                    write();
+                    continue;
+                }
+                kept++;
+                room.trim();
+                RoomJournal.Snapshot snap = room.latestSnapshot();
+                encode(TYPE_SNAPSHOT, 0, 0, 0, e.getKey(), snap.seq(), snap.at(), snap.board());
+                write();
+                for (GameEvent ev : room.eventsAfter(snap.seq())) {
+                    encode(ev.isRoll() ? TYPE_ROLL : TYPE_MOVE, ev.seat(), ev.tokenIndex(), ev.dice(), e.getKey(),
+                            ev.seq(), ev.at(), null);
+                    write();
+                }
+            }
+            buffer.force();
+            for (Path p : obsolete) Files.deleteIfExists(p);
+            sealed.removeAll(obsolete);
+            log.info("journal compacted segmentsRemoved={} rooms={} finished={}", obsolete.size(), kept, finished);
+        } catch (IOException e) {
+            log.error("journal compaction failed msg={}", e.getMessage());
+        } finally {
+            compacting = false;
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return dir.resolve(String.format("segment-%016d.log", id));
+    }
+
+    private static long idOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length()));
+    }
+
+    /**
+     * In-memory index of one room's journal: snapshots by seq plus events in order. The board
+     * after the last contiguous event is kept up to date as records arrive, so whether the
+     * game is finished is known without a replay.
+     */
+    private static final class RoomJournal {
+        record Snapshot(long seq, byte[] board, Instant at) {}
+
+        private final TreeMap<Long, Snapshot> snapshots = new TreeMap<>();
+        private final List<GameEvent> events = new ArrayList<>();
+        private long lastSeq = -1;
+        private PackedBoard head;
+        private long headSeq = -1;
+        private boolean finished;
+
+        synchronized void addSnapshot(long seq, byte[] board, Instant at) {
+            snapshots.put(seq, new Snapshot(seq, board, at));
+            if (seq > lastSeq) lastSeq = seq;
+            // snapshots normally trail the events; only a newer one (first snapshot, gap) moves the head
+            if (seq > headSeq) {
+                head = BoardCodec.fromBytes(board);
+                headSeq = GameReplayService.replay(head, seq, eventsAfter(seq));
+                finished = head.hasFinishedSeat();
+            }
+        }
+
+        synchronized void addEvent(GameEvent event) {
+            if (event.seq() <= lastSeq) return; // duplicate from an interrupted compaction
+            events.add(event);
+            lastSeq = event.seq();
+            if (head != null && event.seq() == headSeq + 1) {
+                headSeq = GameReplayService.replay(head, headSeq, List.of(event));
+                finished = head.hasFinishedSeat();
+            }
+        }
+
+        synchronized Snapshot latestSnapshot() {
+            return snapshots.lastEntry().getValue();
+        }
+
+        synchronized List<GameEvent> eventsAfter(long seq) {
+            List<GameEvent> out = new ArrayList<>();
+            for (GameEvent e : events) {
+                if (e.seq() > seq) out.add(e);
+            }
+            return out;
+        }
+
+        synchronized Optional<StoredGame> load(long upToSeq) {
+            Map.Entry<Long, Snapshot> floor = snapshots.floorEntry(upToSeq);
+            if (floor == null) return Optional.empty();
+            Snapshot snap = floor.getValue();
+            PackedBoard board = BoardCodec.fromBytes(snap.board());
+            List<GameEvent> tail = new ArrayList<>();
+            Instant at = snap.at();
+            for (GameEvent e : events) {
+                if (e.seq() > snap.seq() && e.seq() <= upToSeq) tail.add(e);
+            }
+            long seq = GameReplayService.replay(board, snap.seq(), tail);
+            for (GameEvent e : tail) {
+                if (e.seq() == seq) at = e.at();
+            }
+            return Optional.of(new StoredGame(null, null, board, seq, snap.seq(), at));
+        }
+
+        /**
+         * @return true once a seat has finished, or if no snapshot was recorded (not resumable)
+         */
+        synchronized boolean isFinished() {
+            return head == null || finished;
+        }
+
+        /**
+         * Replace a finished game's snapshots and events with one snapshot of its final board.
+         *
+         * @return the final snapshot, or null if no snapshot was ever recorded
+         */
+        synchronized Snapshot collapse() {
+            if (head == null) return null;
+            Instant at = snapshots.containsKey(headSeq) ? snapshots.get(headSeq).at() : null;
+            for (GameEvent e : events) {
+                if (e.seq() == headSeq) at = e.at();
+            }
+            Snapshot last = new Snapshot(headSeq, BoardCodec.toBytes(head), at);
+            snapshots.clear();
+            snapshots.put(headSeq, last);
+            events.clear();
+            return last;
+        }
+
+        /**
+         * Drop snapshots and events older than the latest snapshot.
+         */
+        synchronized void trim() {
+            long keep = snapshots.lastKey();
+            snapshots.headMap(keep, false).clear();
+            events.removeIf(e -> e.seq() <= keep);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.backend.service;
+
+import java.time.Instant;
+
+/**
+ * Authoritative in-memory state of an active game, owned by GameStateCache.
+ * The working board and version are confined to the room's single writer
+ * (RoomActorExecutor); every change is published as an immutable GameSnapshot
+ * that other threads read without locking. The version doubles as the room's
+ * event sequence number: each change is one event in the room's MoveLog.
+ * Durability is tracked per version: events become durable when the MoveLogAppender
+ * writes them, or when a board snapshot covering them is written.
+ * The rules engine for the board's RuleVariant is resolved once here, so every command on
+ * the room runs against the same engine instance.
+ *
+ * PUBLIC_INTERFACE
+ */
+public class LiveGame {
+
+    private final String roomCode;
+    private final Long roomId;
+    private final Long gameStateId;
+    private final PackedBoard board;
+    private final LudoRulesEngine rules;
+    private long version;
+    private volatile GameSnapshot latest;
+    private volatile long flushedVersion;
+    private volatile long snapshotVersion;
+    private volatile long requiredSnapshotVersion;
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    /**
+     * @param version current event sequence number (all events up to it are durable)
+     * @param snapshotVersion sequence number of the latest persisted board snapshot
+     */
+    public LiveGame(String roomCode, Long roomId, Long gameStateId, PackedBoard board,
+                    long version, long snapshotVersion, Instant updatedAt) {
+        this.roomCode = roomCode;
+        this.roomId = roomId;
+        this.gameStateId = gameStateId;
+        this.board = board;
+        this.rules = LudoRulesEngine.forVariant(board.variant());
+        this.version = version;
+        this.flushedVersion = version;
+        this.snapshotVersion = snapshotVersion;
+        this.latest = new GameSnapshot(version, board.copy(), updatedAt);
+    }
+
+    public String getRoomCode() {
+        return roomCode;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public Long getGameStateId() {
+        return gameStateId;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Working board; only the room's writer may read or mutate it.
+     */
+    public PackedBoard getBoard() {
+        return board;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return rules engine for this game's variant
+     */
+    public LudoRulesEngine rules() {
+        return rules;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return latest published snapshot, safe to read from any thread
+     */
+    public GameSnapshot snapshot() {
+        return latest;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Publish the working board after a mutation. Writer only.
+     *
+     * @return the new snapshot
+     */
+    GameSnapshot publish() {
+        version++;
+        GameSnapshot snap = new GameSnapshot(version, board.copy(), Instant.now());
+        latest = snap;
+        return snap;
+    }
+
+    // called from the move log writer and the snapshot flusher, hence synchronized
+    synchronized void markFlushed(long persistedVersion) {
+        if (persistedVersion > flushedVersion) flushedVersion = persistedVersion;
+    }
+
+    synchronized void markSnapshot(long persistedVersion) {
+        if (persistedVersion > snapshotVersion) snapshotVersion = persistedVersion;
+        markFlushed(persistedVersion);
+    }
+
+    long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    /**
+     * Ask for a board snapshot at or after a version, used when its event could not be
+     * logged so state stays recoverable without it.
+     */
+    synchronized void requireSnapshot(long version) {
+        if (version > requiredSnapshotVersion) requiredSnapshotVersion = version;
+    }
+
+    boolean isSnapshotRequired() {
+        return snapshotVersion < requiredSnapshotVersion;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return true if the latest state is not yet recoverable from the database
+     */
+    public boolean isDirty() {
+        return latest.version() > flushedVersion || isSnapshotRequired();
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return true once any seat has all of its tokens FINISHED
+     */
+    public boolean isFinished() {
+        return latest.board().hasFinishedSeat();
+    }
+}
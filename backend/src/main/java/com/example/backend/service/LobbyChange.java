@@ -0,0 +1,26 @@
+package com.example.backend.service;
+
+import com.example.backend.domain.Room;
+import java.time.Instant;
+
+/**
+ * Lobby-visible state of a room after a committed change, published by RoomService
+ * and applied to the LobbyIndex.
+ *
+ * PUBLIC_INTERFACE
+ */
+public record LobbyChange(long roomId, String roomCode, String name, Instant createdAt,
+                          int playerCount, int maxPlayers, boolean started) {
+
+    // PUBLIC_INTERFACE
+    /**
+     * Capture a room's lobby fields; call inside the transaction that changed it.
+     *
+     * @param room room entity with players loaded
+     * @return change event
+     */
+    public static LobbyChange of(Room room) {
+        return new LobbyChange(room.getId(), room.getRoomCode(), room.getName(), room.getCreatedAt(),
+                room.getPlayers().size(), room.getSeats(), room.getGameState() != null);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.LobbyDiffDTO;
+import com.example.backend.dto.LobbyPageDTO;
+import com.example.backend.dto.LobbyRoomDTO;
+import com.example.backend.dto.LobbyStatus;
+import com.example.backend.repository.RoomRepository;
+import com.example.backend.repository.RoomSummary;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory lobby index serving GET /api/rooms and pushing changes on /topic/lobby.
+ * Loaded once from the database at startup, then maintained from LobbyChange events
+ * published by RoomService after each commit, on this node or (relayed) on a peer. Rooms are kept newest first in one map per
+ * status, so any filtered page is a range read of at most limit entries. Changes are
+ * coalesced per room and published as one LobbyDiffDTO per app.lobby.publish-interval-ms,
+ * so lobby traffic does not grow with the number of browsing clients or the change rate.
+ * With a shared external broker only the node owning the "lobby" ring key publishes diffs;
+ * every node still applies every change so any node can serve pages. Versions are counted
+ * per node, so across nodes they only order diffs approximately; diffs carry full entries,
+ * so clients behind a load balancer can simply apply every diff they receive.
+ *
+ * PUBLIC_INTERFACE
+ */
+@Service
+public class LobbyIndex {
+    private static final Logger log = LoggerFactory.getLogger(LobbyIndex.class);
+    private static final int BOOTSTRAP_PAGE = 500;
+    private static final String TOPIC_KEY = "lobby";
+
+    private final RoomRepository roomRepository;
+    private final BroadcastService broadcast;
+    private final ClusterNode node;
+
+    private final Map<LobbyStatus, NavigableMap<Long, LobbyRoomDTO>> byStatus = new EnumMap<>(LobbyStatus.class);
+    private final Map<String, LobbyRoomDTO> pending = new LinkedHashMap<>();
+    private volatile long version;
+
+    @Value("${app.lobby.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    public LobbyIndex(RoomRepository roomRepository, BroadcastService broadcast, ClusterNode node) {
+        this.roomRepository = roomRepository;
+        this.broadcast = broadcast;
+        this.node = node;
+        for (LobbyStatus s : LobbyStatus.values()) {
+            byStatus.put(s, new ConcurrentSkipListMap<>(Comparator.reverseOrder()));
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        long before = Long.MAX_VALUE;
+        int count = 0;
+        while (true) {
+            List<RoomSummary> rows = roomRepository.findLobbyPage(before, LobbyStatus.ALL.name(),
+                    PageRequest.of(0, BOOTSTRAP_PAGE));
+            for (RoomSummary r : rows) {
+                put(r.getId(), new LobbyRoomDTO()
+                        .setRoomCode(r.getRoomCode())
+                        .setName(r.getName())
+                        .setCreatedAt(r.getCreatedAt())
+                        .setPlayerCount((int) r.getPlayerCount())
+                        .setMaxPlayers(r.getSeats())
+                        .setStatus(statusOf((int) r.getPlayerCount(), r.getSeats(), r.isStarted())));
+            }
+            count += rows.size();
+            if (rows.size() < BOOTSTRAP_PAGE) break;
+            before = rows.get(rows.size() - 1).getId();
+        }
+        log.info("lobby index loaded rooms={}", count);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Apply a room change committed on this node and share it with the other cluster nodes.
+     *
+     * @param change room state after the commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(LobbyChange change) {
+        apply(change);
+        node.relayLobbyChange(change);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Apply a committed room change and queue it for the next lobby diff.
+     *
+     * @param change room state after the commit
+     */
+    public synchronized void apply(LobbyChange change) {
+        LobbyRoomDTO entry = new LobbyRoomDTO()
+                .setRoomCode(change.roomCode())
+                .setName(change.name())
+                .setCreatedAt(change.createdAt())
+                .setPlayerCount(change.playerCount())
+                .setMaxPlayers(change.maxPlayers())
+                .setStatus(statusOf(change.playerCount(), change.maxPlayers(), change.started()));
+        put(change.roomId(), entry);
+        pending.put(change.roomCode(), entry);
+        version++;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * One page of the lobby, newest rooms first.
+     *
+     * @param status filter
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit page size, clamped to 1..app.lobby.max-page-size
+     * @return page of room summaries
+     */
+    public LobbyPageDTO page(LobbyStatus status, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        // read the version first: anything changed after this arrives in a later diff
+        long at = version;
+        NavigableMap<Long, LobbyRoomDTO> range = byStatus.get(status).tailMap(parseCursor(cursor), false);
+        List<LobbyRoomDTO> rooms = new ArrayList<>(size);
+        String next = null;
+        long last = 0;
+        for (Map.Entry<Long, LobbyRoomDTO> e : range.entrySet()) {
+            if (rooms.size() == size) {
+                next = String.valueOf(last);
+                break;
+            }
+            rooms.add(e.getValue());
+            last = e.getKey();
+        }
+        return new LobbyPageDTO().setRooms(rooms).setNextCursor(next).setVersion(at);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Publish the changes coalesced since the last tick as one diff on /topic/lobby.
+     */
+    @Scheduled(fixedDelayString = "${app.lobby.publish-interval-ms:500}")
+    public void publish() {
+        LobbyDiffDTO diff;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+            diff = new LobbyDiffDTO().setVersion(version).setRooms(new ArrayList<>(pending.values()));
+            pending.clear();
+        }
+        if (!node.ownsSharedTopic(TOPIC_KEY)) return;
+        broadcast.publishLobby(diff);
+    }
+
+    private void put(long roomId, LobbyRoomDTO entry) {
+        LobbyRoomDTO prev = byStatus.get(LobbyStatus.ALL).put(roomId, entry);
+        if (prev != null && prev.getStatus() != entry.getStatus()) byStatus.get(prev.getStatus()).remove(roomId);
+        byStatus.get(entry.getStatus()).put(roomId, entry);
+    }
+
+    private static LobbyStatus statusOf(int playerCount, int maxPlayers, boolean started) {
+        if (started) return LobbyStatus.STARTED;
+        return playerCount >= maxPlayers ? LobbyStatus.FULL : LobbyStatus.OPEN;
+    }
+
+    private static long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return Long.MAX_VALUE;
+        try {
+            return Long.parseLong(cursor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid lobby cursor");
+        }
+    }
+}
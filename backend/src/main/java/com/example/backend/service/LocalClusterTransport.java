@@ -0,0 +1,96 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.GameStateDTO;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-JVM stand-in for the inter-node transport: application contexts started in the same
+ * process with the same app.cluster.local-network reach each other by direct calls.
+ * A node that shuts down unregisters and becomes unreachable, as if it had crashed.
+ *
+ * PUBLIC_INTERFACE
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.transport", havingValue = "local")
+public class LocalClusterTransport implements ClusterTransport {
+    private static final Map<String, Map<String, Receiver>> NETWORKS = new ConcurrentHashMap<>();
+
+    private final Map<String, Receiver> nodes;
+
+    public LocalClusterTransport(@Value("${app.cluster.local-network:default}") String network) {
+        this.nodes = NETWORKS.computeIfAbsent(network, k -> new ConcurrentHashMap<>());
+    }
+
+    @Override
+    public void register(String nodeId, Receiver receiver) {
+        if (nodes.putIfAbsent(nodeId, receiver) != null) {
+            throw new IllegalStateException("Duplicate cluster node id " + nodeId);
+        }
+    }
+
+    @Override
+    public void unregister(String nodeId) {
+        nodes.remove(nodeId);
+    }
+
+    @Override
+    public Set<String> members() {
+        return Set.copyOf(nodes.keySet());
+    }
+
+    @Override
+    public CompletableFuture<GameStateDTO> sendCommand(String nodeId, GameCommand command) {
+        Receiver r = nodes.get(nodeId);
+        if (r == null) return CompletableFuture.failedFuture(unavailable(nodeId));
+        return r.onCommand(command);
+    }
+
+    @Override
+    public CompletableFuture<GameStateDTO> fetchState(String nodeId, String roomCode) {
+        Receiver r = nodes.get(nodeId);
+        if (r == null) return CompletableFuture.failedFuture(unavailable(nodeId));
+        try {
+            return CompletableFuture.completedFuture(r.onState(roomCode));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void relay(String fromNodeId, String destination, byte[] json) {
+        nodes.forEach((id, r) -> {
+            if (!id.equals(fromNodeId)) r.onRelay(destination, json);
+        });
+    }
+
+    @Override
+    public void relayLobbyChange(String fromNodeId, LobbyChange change) {
+        nodes.forEach((id, r) -> {
+            if (!id.equals(fromNodeId)) r.onLobbyChange(change);
+        });
+    }
+
+    @Override
+    public void heartbeat(String fromNodeId) {
+        nodes.forEach((id, r) -> {
+            if (!id.equals(fromNodeId)) r.onHeartbeat(fromNodeId);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> handoff(String nodeId, String roomCode) {
+        Receiver r = nodes.get(nodeId);
+        if (r == null) return CompletableFuture.failedFuture(unavailable(nodeId));
+        return r.onHandoff(roomCode);
+    }
+
+    private static IllegalStateException unavailable(String nodeId) {
+        return new IllegalStateException("Room owner unavailable: " + nodeId);
+    }
+}
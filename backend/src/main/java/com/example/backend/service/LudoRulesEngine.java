@@ -1,180 +1,355 @@
 package com.example.backend.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Ludo rules engine providing basic validation and move application.
- * This MVP uses a simplified track model and token positions:
- * - "HOME" means in yard; a roll of 6 can move to "0".
- * - numeric string (e.g., "23") is track position.
- * - "FINISHED" when token reaches end.
+ * Ludo rules engine providing validation and move application.
+ * Operates directly on a PackedBoard; conversion to the client board shape
+ * happens at the API edge (see BoardCodec).
+ * Rules:
+ * - HOME means in yard; a roll of 6 moves a token to its color's entry square
+ *   (seat * 13 on the track of 13 squares per seat).
+ * - Tokens go round the track from their entry square to the square two before it (steps
+ *   0..trackLength-2: 51 of the 52 squares on a four-seat board, 77 of 78 on a six-seat one),
+ *   then up their color's five-square home column (positions HOME_COLUMN..HOME_COLUMN+4) to
+ *   FINISHED, which must be reached with an exact roll.
+ * - Landing on a track square held by opponents sends them HOME, except on the safe squares
+ *   (the entry squares and the star squares eight steps after them).
+ * - A six earns another roll; a third six in a row forfeits the turn, as does a roll no
+ *   token can use.
+ * House rules (board size, tokens per seat, blockades, capture on entry squares) come from
+ * a RuleVariant. Each variant has one engine instance (forVariant) whose tables are built
+ * for it, so the same final class serves every room and a move never looks up configuration:
+ * every destination, step count and safe-square check is a lookup in tables indexed by
+ * (seat, position, dice), and validation does no path arithmetic.
+ * Captures and blockades read the board's occupancy index rather than scanning the other
+ * seats' tokens.
  *
  * PUBLIC_INTERFACE
  */
-public class LudoRulesEngine {
+public final class LudoRulesEngine {
 
-    private static final int TRACK_LENGTH = 52; // standard outer track
-    private static final int TOKENS_PER_PLAYER = 4;
-    private static final Set<String> COLORS = Set.of("RED", "GREEN", "BLUE", "YELLOW");
+    // packed positions of the home column squares, per color: HOME_COLUMN + 0..4
+    static final int HOME_COLUMN = PackedBoard.HOME_COLUMN;
+    static final int HOME_COLUMN_LENGTH = 5;
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    private static final int SQUARES_PER_SEAT = 13;
+    private static final int STAR_OFFSET = 8;
+    private static final int MAX_SIXES = 3;
+
+    // table index of a packed position: FINISHED, HOME, track squares, home column
+    private static final int POSITIONS = 2 + HOME_COLUMN + HOME_COLUMN_LENGTH;
+    private static final int DICE_SLOTS = 7;
+    private static final byte ILLEGAL = Byte.MIN_VALUE;
+
+    private static final Map<RuleVariant, LudoRulesEngine> ENGINES = new ConcurrentHashMap<>();
+
+    private final RuleVariant variant;
+    private final int trackLength;
+    // steps from the entry square: 0..lastTrackStep on the track (the square two before the entry),
+    // then the home column, then finishStep
+    private final int lastTrackStep;
+    private final int finishStep;
+    private final boolean blockades;
+
+    // [seat][position][dice] -> destination, or ILLEGAL
+    private final byte[] destination = new byte[PackedBoard.SEATS * POSITIONS * DICE_SLOTS];
+    // [seat][position][dice] -> track squares passed or landed on after the current one
+    private final byte[] trackSteps = new byte[PackedBoard.SEATS * POSITIONS * DICE_SLOTS];
+    // [seat][position] -> progress score (0 at HOME, highest at FINISHED)
+    private final byte[] progress = new byte[PackedBoard.SEATS * POSITIONS];
+    // [position] -> true for track squares where tokens can be captured
+    private final boolean[] capturable = new boolean[POSITIONS];
+
+    /**
+     * Engine for the standard rules.
+     */
+    public LudoRulesEngine() {
+        this(RuleVariant.STANDARD);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Build an engine and its tables for a variant. Prefer {@link #forVariant(RuleVariant)},
+     * which shares one engine per variant.
+     *
+     * @param variant house rules
+     */
+    public LudoRulesEngine(RuleVariant variant) {
+        this.variant = variant;
+        this.trackLength = variant.seats() * SQUARES_PER_SEAT;
+        this.lastTrackStep = trackLength - 2;
+        this.finishStep = lastTrackStep + HOME_COLUMN_LENGTH + 1;
+        this.blockades = variant.blockades();
+        for (int square = 0; square < trackLength; square++) {
+            int offset = square % SQUARES_PER_SEAT;
+            capturable[index(square)] = offset != STAR_OFFSET && (offset != 0 || !variant.safeStart());
+        }
+        Arrays.fill(destination, ILLEGAL);
+        for (int seat = 0; seat < variant.seats(); seat++) {
+            for (int pos = PackedBoard.FINISHED; pos < HOME_COLUMN + HOME_COLUMN_LENGTH; pos++) {
+                if (pos >= trackLength && pos < HOME_COLUMN) continue; // not on this board
+                int step = stepOf(seat, pos);
+                progress[seat * POSITIONS + index(pos)] = (byte) (step + 1);
+                for (int dice = 1; dice <= 6; dice++) {
+                    int cell = (seat * POSITIONS + index(pos)) * DICE_SLOTS + dice;
+                    if (pos == PackedBoard.HOME) {
+                        if (dice != 6) continue;
+                        destination[cell] = (byte) positionOf(seat, 0);
+                        trackSteps[cell] = 1;
+                    } else if (pos != PackedBoard.FINISHED) {
+                        destination[cell] = (byte) positionOf(seat, step + dice);
+                        trackSteps[cell] = (byte) Math.max(0, Math.min(step + dice, lastTrackStep) - step);
+                    }
+                }
+            }
+        }
+    }
 
     // PUBLIC_INTERFACE
     /**
-     * Build an initial board state map.
+     * Shared engine for a variant, built on first use.
      *
-     * @param playerColors list of players by color
+     * @param variant house rules
+     * @return engine
+     */
+    public static LudoRulesEngine forVariant(RuleVariant variant) {
+        return ENGINES.computeIfAbsent(variant, LudoRulesEngine::new);
+    }
+
+    public RuleVariant variant() {
+        return variant;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return track squares on this engine's board (13 per seat)
+     */
+    public int trackLength() {
+        return trackLength;
+    }
+
+    private static int index(int position) {
+        return position - PackedBoard.FINISHED;
+    }
+
+    // steps from the seat's entry square: -1 at HOME, finishStep when finished
+    private int stepOf(int seat, int position) {
+        if (position == PackedBoard.HOME) return -1;
+        if (position == PackedBoard.FINISHED) return finishStep;
+        if (position >= HOME_COLUMN) return lastTrackStep + 1 + position - HOME_COLUMN;
+        return Math.floorMod(position - seat * SQUARES_PER_SEAT, trackLength);
+    }
+
+    private int positionOf(int seat, int step) {
+        if (step <= lastTrackStep) return (seat * SQUARES_PER_SEAT + step) % trackLength;
+        if (step < finishStep) return HOME_COLUMN + step - lastTrackStep - 1;
+        return step == finishStep ? PackedBoard.FINISHED : ILLEGAL;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Build an initial board state.
+     *
+     * @param playerColors list of players by color, in turn order
      * @param firstTurnColor color whose turn starts
-     * @return map representing board state
+     * @return packed board with all tokens at HOME
+     * @throws IllegalArgumentException for a color without a seat under this engine's rules
      */
-    public Map<String, Object> initialBoardState(List<String> playerColors, String firstTurnColor) {
-        Map<String, Object> board = new LinkedHashMap<>();
-        board.put("currentTurn", firstTurnColor);
-        board.put("lastDice", null);
-        Map<String, Object> tokens = new LinkedHashMap<>();
+    public PackedBoard initialBoardState(List<String> playerColors, String firstTurnColor) {
+        PackedBoard board = new PackedBoard(variant);
         for (String color : playerColors) {
-            List<String> pos = new ArrayList<>(TOKENS_PER_PLAYER);
-            for (int i = 0; i < TOKENS_PER_PLAYER; i++) pos.add("HOME");
-            tokens.put(color, pos);
+            int seat = PackedBoard.seatOf(color);
+            if (seat == PackedBoard.NO_SEAT) throw new IllegalArgumentException("Unknown color " + color);
+            board.addSeat(seat);
         }
-        board.put("tokens", tokens);
+        board.setCurrentSeat(PackedBoard.seatOf(firstTurnColor));
+        board.setDice(PackedBoard.NO_DICE);
         return board;
     }
 
     // PUBLIC_INTERFACE
     /**
-     * Compute valid tokens a player can move for a dice roll.
+     * Compute valid tokens a seat can move for a dice roll.
      *
-     * @param board board map
-     * @param color player color
+     * @param board packed board
+     * @param seat player seat
      * @param dice dice value 1..6
-     * @return list of token indices that can be moved
-     */
-    public List<Integer> validMoves(Map<String, Object> board, String color, int dice) {
-        List<Integer> valid = new ArrayList<>();
-        Map<String, Object> tokens = tokens(board);
-        @SuppressWarnings("unchecked")
-        List<String> my = (List<String>) tokens.get(color);
-        if (my == null) return valid;
-
-        for (int i = 0; i < my.size(); i++) {
-            String pos = my.get(i);
-            if ("FINISHED".equals(pos)) continue;
-            if ("HOME".equals(pos)) {
-                if (dice == 6) valid.add(i);
-            } else {
-                // simple: moving forward within track; no home stretch modeling for MVP
-                int p = Integer.parseInt(pos);
-                int np = (p + dice) % TRACK_LENGTH;
-                // for simplicity always valid; capture is resolved later
-                valid.add(i);
-            }
+     * @return bitmask of token indices that can be moved (bit i set = token i movable)
+     */
+    public int validMoves(PackedBoard board, int seat, int dice) {
+        int valid = 0;
+        if (dice < 1 || dice > 6 || !board.hasSeat(seat)) return valid;
+        int base = seat * POSITIONS;
+        // unused token slots are parked at FINISHED, so the loop bound is the same for every variant
+        for (int i = 0; i < PackedBoard.TOKENS_PER_SEAT; i++) {
+            int pos = board.position(seat, i);
+            int cell = (base + index(pos)) * DICE_SLOTS + dice;
+            if (destination[cell] != ILLEGAL && !(blockades && isBlocked(board, seat, pos, cell))) valid |= 1 << i;
         }
         return valid;
     }
 
+    // true if a blockade of another seat stands on a track square the move passes or lands on
+    private boolean isBlocked(PackedBoard board, int seat, int pos, int cell) {
+        if (pos == PackedBoard.HOME) return board.isBlockade(destination[cell], seat);
+        for (int k = 1; k <= trackSteps[cell]; k++) {
+            if (board.isBlockade((pos + k) % trackLength, seat)) return true;
+        }
+        return false;
+    }
+
     // PUBLIC_INTERFACE
     /**
-     * Apply a token move and mutate the board map; also resolve captures and finished state.
+     * Where a token of a seat lands with a dice value, ignoring blockades.
+     *
+     * @param seat player seat
+     * @param position current packed position
+     * @param dice dice value 1..6
+     * @return destination position, or Byte.MIN_VALUE if the token cannot move
+     */
+    public int destination(int seat, int position, int dice) {
+        return destination[(seat * POSITIONS + index(position)) * DICE_SLOTS + dice];
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @param position packed position
+     * @return true for track squares where a token can be captured (not safe, not HOME, home column or FINISHED)
+     */
+    public boolean isCapturable(int position) {
+        return capturable[index(position)];
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * How far a token has come, for move evaluation: 0 at HOME, highest when FINISHED.
+     *
+     * @param seat player seat
+     * @param position token position
+     * @return progress score
+     */
+    public int progress(int seat, int position) {
+        return progress[seat * POSITIONS + index(position)];
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Whether a token index is present in a validMoves bitmask.
+     */
+    public static boolean isValid(int validMask, int tokenIndex) {
+        return tokenIndex >= 0 && tokenIndex < PackedBoard.TOKENS_PER_SEAT && (validMask & (1 << tokenIndex)) != 0;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Apply a token move and mutate the board; also resolve captures and finished state.
      * Returns whether player gets extra turn (on six).
      */
-    public boolean applyMove(Map<String, Object> board, String color, int tokenIndex, int dice) {
-        Map<String, Object> tokens = tokens(board);
-        @SuppressWarnings("unchecked")
-        List<String> my = (List<String>) tokens.get(color);
-        String pos = my.get(tokenIndex);
-        String newPos;
-        if ("HOME".equals(pos)) {
-            if (dice != 6) {
-                throw new IllegalStateException("Cannot leave HOME without a 6");
-            }
-            newPos = "0";
-        } else if ("FINISHED".equals(pos)) {
-            throw new IllegalStateException("Token already finished");
-        } else {
-            int p = Integer.parseInt(pos);
-            int np = (p + dice) % TRACK_LENGTH;
-            // MVP does not include exact finish; keep on track looping.
-            newPos = Integer.toString(np);
+    public boolean applyMove(PackedBoard board, int seat, int tokenIndex, int dice) {
+        return applyMove(board, seat, tokenIndex, dice, null);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Apply a token move like {@link #applyMove(PackedBoard, int, int, int)} and describe it.
+     *
+     * @param out receives from/to, captures and extra-turn flag; may be null
+     */
+    public boolean applyMove(PackedBoard board, int seat, int tokenIndex, int dice, MoveOutcome out) {
+        int pos = board.position(seat, tokenIndex);
+        int cell = (seat * POSITIONS + index(pos)) * DICE_SLOTS + dice;
+        int newPos = dice < 1 || dice > 6 ? ILLEGAL : destination[cell];
+        if (newPos == ILLEGAL) {
+            if (pos == PackedBoard.HOME) throw new IllegalStateException("Cannot leave HOME without a 6");
+            if (pos == PackedBoard.FINISHED) throw new IllegalStateException("Token already finished");
+            throw new IllegalStateException("Token must reach FINISHED with an exact roll");
         }
-        my.set(tokenIndex, newPos);
-
-        // resolve captures: if any opponent token shares same numeric position, send it HOME
-        if (!"HOME".equals(newPos) && !"FINISHED".equals(newPos)) {
-            for (String otherColor : tokens.keySet()) {
-                if (otherColor.equals(color)) continue;
-                @SuppressWarnings("unchecked")
-                List<String> otherList = (List<String>) tokens.get(otherColor);
-                for (int i = 0; i < otherList.size(); i++) {
-                    String op = otherList.get(i);
-                    if (op.equals(newPos)) {
-                        // simple capture rule: send opponent token to HOME
-                        otherList.set(i, "HOME");
-                    }
-                }
-            }
+        if (blockades && isBlocked(board, seat, pos, cell)) throw new IllegalStateException("Blocked by a blockade");
+        board.setPosition(seat, tokenIndex, newPos);
+
+        // resolve captures: opponent tokens on the destination go HOME, unless it is a safe square
+        int captures = capturable[index(newPos)] ? board.occupants(newPos) & ~PackedBoard.seatBits(seat) : 0;
+        for (int mask = captures; mask != 0; mask &= mask - 1) {
+            int bit = Integer.numberOfTrailingZeros(mask);
+            board.setPosition(bit / PackedBoard.TOKENS_PER_SEAT, bit % PackedBoard.TOKENS_PER_SEAT, PackedBoard.HOME);
         }
 
-        board.put("lastDice", dice);
-        return dice == 6;
+        board.setDice(dice);
+        boolean extra = dice == 6;
+        if (out != null) out.set(pos, newPos, captures, extra);
+        return extra;
     }
 
     // PUBLIC_INTERFACE
     /**
-     * Change the current turn to the next player in order.
+     * Record a dice roll for the current seat. The turn passes at once if this is the seat's
+     * third six in a row or if no token can use the roll.
      *
-     * @param board map
-     * @param turnOrder ordered list of colors
-     * @param extraTurn true if same player continues
+     * @param board packed board
+     * @param dice dice value 1..6
+     * @return true if the seat must now move a token, false if the turn passed
      */
-    public void advanceTurn(Map<String, Object> board, List<String> turnOrder, boolean extraTurn) {
-        String current = (String) board.get("currentTurn");
-        if (extraTurn) {
-            board.put("currentTurn", current);
-            return;
+    public boolean applyRoll(PackedBoard board, int dice) {
+        if (dice == 6) {
+            int sixes = board.sixes() + 1;
+            if (sixes >= MAX_SIXES) {
+                passTurn(board);
+                return false;
+            }
+            board.setSixes(sixes);
         }
-        int idx = turnOrder.indexOf(current);
-        if (idx < 0) idx = 0;
-        String next = turnOrder.get((idx + 1) % turnOrder.size());
-        board.put("currentTurn", next);
+        board.setDice(dice);
+        if (validMoves(board, board.currentSeat(), dice) == 0) {
+            passTurn(board);
+            return false;
+        }
+        return true;
     }
 
     // PUBLIC_INTERFACE
     /**
-     * Parse Json string into board map.
+     * Play a full move turn: apply the move, pass the turn unless it earned an extra roll,
+     * and clear the dice. Shared by live commands and event replay so both produce
+     * identical boards.
+     *
+     * @return true if the seat keeps the turn
      */
-    public Map<String, Object> parseBoard(String json) {
-        try {
-            if (json == null || json.isBlank()) return new HashMap<>();
-            return mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to parse board json", e);
-        }
+    public boolean playMove(PackedBoard board, int seat, int tokenIndex, int dice, MoveOutcome out) {
+        boolean extra = applyMove(board, seat, tokenIndex, dice, out);
+        advanceTurn(board, extra);
+        // the dice is spent either way; an extra turn starts with a new roll
+        board.setDice(PackedBoard.NO_DICE);
+        return extra;
     }
 
     // PUBLIC_INTERFACE
     /**
-     * Serialize board map to json.
+     * End the current seat's turn without a move (no token can move for the roll) and clear the dice.
+     *
+     * @param board packed board
      */
-    public String toJson(Map<String, Object> board) {
-        try {
-            return mapper.writeValueAsString(board);
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to serialize board json", e);
-        }
+    public void passTurn(PackedBoard board) {
+        advanceTurn(board, false);
+        board.setDice(PackedBoard.NO_DICE);
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> tokens(Map<String, Object> board) {
-        Object t = board.get("tokens");
-        if (t instanceof Map<?, ?> m) {
-            return (Map<String, Object>) m;
-        }
-        Map<String, Object> newMap = new LinkedHashMap<>();
-        board.put("tokens", newMap);
-        return newMap;
+    // PUBLIC_INTERFACE
+    /**
+     * Change the current turn to the next seat in the board's turn order.
+     *
+     * @param board packed board
+     * @param extraTurn true if same player continues
+     */
+    public void advanceTurn(PackedBoard board, boolean extraTurn) {
+        if (extraTurn || board.seatCount() == 0) return;
+        board.setSixes(0);
+        int idx = board.orderIndexOf(board.currentSeat());
+        if (idx < 0) idx = 0;
+        board.setCurrentSeat(board.seatAt((idx + 1) % board.seatCount()));
     }
 
     // PUBLIC_INTERFACE
@@ -187,6 +362,6 @@ public class LudoRulesEngine {
     public String normalizeColor(String color) {
         if (color == null) return null;
         String up = color.trim().toUpperCase();
-        return COLORS.contains(up) ? up : color;
+        return PackedBoard.seatOf(up) != PackedBoard.NO_SEAT ? up : color;
     }
 }
@@ -0,0 +1,216 @@
+package com.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Asynchronous, batched writer for the per-room event log (MoveLog: dice rolls and moves).
+ * Room writers append to a bounded in-memory queue and never touch storage; a single
+ * background writer drains the queue to the GameStore in batches when it reaches the batch size or on
+ * the flush interval, whichever comes first. A full queue briefly blocks the appending room
+ * (backpressure) and drops the entry if it stays full; both are counted. Written events are
+ * marked durable on their LiveGame; dropped or failed ones request a board snapshot instead,
+ * so the room's state stays recoverable. In virtual-thread mode the writer is a virtual thread.
+ *
+ * Metrics: movelog.queue.depth (gauge), movelog.appended, movelog.backpressure,
+ * movelog.dropped, movelog.failed (counters), movelog.batch.size (summary), movelog.flush (timer).
+ *
+ * PUBLIC_INTERFACE
+ */
+@Service
+public class MoveLogAppender {
+    private static final Logger log = LoggerFactory.getLogger(MoveLogAppender.class);
+
+    /**
+     * Event captured on the room writer, handed to the GameStore at flush time.
+     * tokenIndex, from and to are null for ROLL events.
+     */
+    public record Entry(LiveGame game, long seq, String type, String color, Integer tokenIndex,
+                        String from, String to, int dice, Instant at) {}
+
+    private final GameStore store;
+    private final RoomActorExecutor actors;
+    private final BlockingQueue<Entry> queue;
+    private final ExecutorService writer;
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    private final Counter appended;
+    private final Counter backpressure;
+    private final Counter dropped;
+    private final Counter failed;
+    private final DistributionSummary batchSize;
+    private final Timer flushTimer;
+
+    @Value("${app.movelog.batch-size:200}")
+    private int maxBatch = 200;
+
+    @Value("${app.movelog.offer-timeout-ms:20}")
+    private long offerTimeoutMs = 20;
+
+    public MoveLogAppender(GameStore store, RoomActorExecutor actors, MeterRegistry meterRegistry, int capacity) {
+        this(store, actors, meterRegistry, capacity, false);
+    }
+
+    @Autowired
+    public MoveLogAppender(GameStore store,
+                           RoomActorExecutor actors,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.movelog.queue-capacity:10000}") int capacity,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.store = store;
+        this.actors = actors;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = Executors.newSingleThreadExecutor(VirtualThreads.isActive(virtualThreads)
+                ? VirtualThreads.factory("movelog-writer-")
+                : r -> {
+                    Thread t = new Thread(r, "movelog-writer");
+                    t.setDaemon(true);
+                    return t;
+                });
+        meterRegistry.gauge("movelog.queue.depth", queue, BlockingQueue::size);
+        this.appended = meterRegistry.counter("movelog.appended");
+        this.backpressure = meterRegistry.counter("movelog.backpressure");
+        this.dropped = meterRegistry.counter("movelog.dropped");
+        this.failed = meterRegistry.counter("movelog.failed");
+        this.batchSize = meterRegistry.summary("movelog.batch.size");
+        this.flushTimer = meterRegistry.timer("movelog.flush");
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Queue an event for persistence. Called on the room's writer; never performs I/O.
+     *
+     * @param entry event to record
+     * @return false if the queue stayed full and the entry was dropped
+     */
+    public boolean append(Entry entry) {
+        if (!queue.offer(entry)) {
+            backpressure.increment();
+            requestFlush();
+            boolean accepted;
+            try {
+                accepted = queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+            if (!accepted) {
+                dropped.increment();
+                entry.game().requireSnapshot(entry.seq());
+                log.warn("move log queue full, entry dropped room={} seq={}", entry.game().getRoomCode(), entry.seq());
+                return false;
+            }
+        }
+        appended.increment();
+        if (queue.size() >= maxBatch) requestFlush();
+        return true;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return entries waiting to be written
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Time-based flush trigger; size-based flushes are requested by append.
+     */
+    @Scheduled(fixedDelayString = "${app.movelog.flush-interval-ms:500}")
+    public void flush() {
+        if (!queue.isEmpty()) requestFlush();
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Write everything queued so far on the background writer (room handoff, see GameStateCache.release).
+     *
+     * @return future completed once the entries queued before the call are in the store
+     */
+    public CompletableFuture<Void> sync() {
+        try {
+            return CompletableFuture.runAsync(this::drain, writer);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Move log is shutting down", e));
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Stop room writers, then write everything still queued. Idempotent.
+     */
+    @PreDestroy
+    public void shutdown() {
+        // stop producers first so the final drain sees every accepted move
+        actors.shutdown();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("move log writer did not finish in time pending={}", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        log.info("move log flushed on shutdown pending={}", queue.size());
+    }
+
+    private void requestFlush() {
+        if (!flushQueued.compareAndSet(false, true)) return;
+        try {
+            writer.execute(() -> {
+                flushQueued.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            // shutting down: the final drain in shutdown() picks these up
+            flushQueued.set(false);
+        }
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(maxBatch);
+        while (queue.drainTo(batch, maxBatch) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        long start = System.nanoTime();
+        try {
+            store.appendEvents(batch);
+            for (Entry e : batch) e.game().markFlushed(e.seq());
+            batchSize.record(batch.size());
+            log.debug("move logs written count={}", batch.size());
+        } catch (RuntimeException ex) {
+            failed.increment(batch.size());
+            for (Entry e : batch) e.game().requireSnapshot(e.seq());
+            log.error("move log write failed count={} msg={}", batch.size(), ex.getMessage());
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
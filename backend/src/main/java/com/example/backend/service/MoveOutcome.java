@@ -0,0 +1,43 @@
+package com.example.backend.service;
+
+/**
+ * Reusable, allocation-free description of the last move applied by LudoRulesEngine:
+ * where the token went, which opponent tokens were captured and whether the mover
+ * keeps the turn.
+ *
+ * PUBLIC_INTERFACE
+ */
+public final class MoveOutcome {
+
+    private int from;
+    private int to;
+    private int captureMask;
+    private boolean extraTurn;
+
+    void set(int from, int to, int captureMask, boolean extraTurn) {
+        this.from = from;
+        this.to = to;
+        this.captureMask = captureMask;
+        this.extraTurn = extraTurn;
+    }
+
+    public int from() {
+        return from;
+    }
+
+    public int to() {
+        return to;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return bitmask of captured tokens, bit (seat * TOKENS_PER_SEAT + token) per capture
+     */
+    public int captureMask() {
+        return captureMask;
+    }
+
+    public boolean extraTurn() {
+        return extraTurn;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a unit of work in its own transaction and re-runs it when the commit loses an
+ * optimistic locking race (@Version conflict), up to app.persistence.optimistic-attempts
+ * attempts with a short jittered backoff. Exhausted retries surface as an
+ * IllegalStateException (HTTP 409).
+ *
+ * Metrics: room.command (timer including retries, tags op and outcome=ok|exhausted|error)
+ * and room.optimistic.conflicts (counter, tag op).
+ *
+ * PUBLIC_INTERFACE
+ */
+@Component
+public class OptimisticRetry {
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final TransactionTemplate tx;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.persistence.optimistic-attempts:3}")
+    private int maxAttempts = 3;
+
+    @Value("${app.persistence.retry-backoff-ms:10}")
+    private long backoffMs = 10;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.tx = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Execute work transactionally, retrying on optimistic locking conflicts.
+     *
+     * @param operation name for logs and metric tags; must be a fixed name, never an id
+     * @param work transactional work; must re-read everything it changes
+     * @return work result
+     * @throws IllegalStateException if every attempt conflicted
+     */
+    public <T> T execute(String operation, Supplier<T> work) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    T result = tx.execute(status -> work.get());
+                    outcome = "ok";
+                    return result;
+                } catch (OptimisticLockingFailureException e) {
+                    meterRegistry.counter("room.optimistic.conflicts", "op", operation).increment();
+                    if (attempt >= maxAttempts) {
+                        outcome = "exhausted";
+                        log.warn("optimistic retry exhausted op={} attempts={}", operation, attempt);
+                        throw new IllegalStateException("Concurrent update, please retry");
+                    }
+                    log.debug("optimistic conflict op={} attempt={}", operation, attempt);
+                    backoff(attempt);
+                }
+            }
+        } finally {
+            meterRegistry.timer("room.command", "op", operation, "outcome", outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void backoff(int attempt) {
+        long millis = backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying");
+        }
+    }
+}
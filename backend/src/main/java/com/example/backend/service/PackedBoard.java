@@ -0,0 +1,273 @@
+package com.example.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Compact primitive board representation used by the rules engine on the game path.
+ * Token positions live in a flat byte array indexed by seat * TOKENS_PER_SEAT + token:
+ * - HOME (-1) means in yard.
+ * - 0..track length-1 is a track square (52 squares, 78 on a six-player board).
+ * - HOME_COLUMN.. is a square of the token's own home column (see LudoRulesEngine).
+ * - FINISHED (-2) when token reaches end.
+ * Seats are fixed per color (RED=0, GREEN=1, BLUE=2, YELLOW=3, ORANGE=4, PURPLE=5); the play
+ * order of the seats taking part is kept alongside, together with the current seat, last dice
+ * and the number of sixes the current seat has rolled in a row. The board also carries the
+ * RuleVariant it is played with, which decides how many seats and tokens per seat are in use.
+ * Token slots beyond the variant's count are parked at FINISHED, so loops over all
+ * TOKENS_PER_SEAT slots stay correct without a per-variant bound (and JIT-unrollable).
+ * An occupancy index maps every track square to a bitmask of the tokens on it (bit
+ * seat * TOKENS_PER_SEAT + token, the same layout as MoveOutcome's capture mask). setPosition
+ * keeps it current, so "who is on this square" is one array read instead of a scan of all
+ * tokens. HOME, FINISHED and home column squares are not indexed: no other seat can reach them.
+ *
+ * PUBLIC_INTERFACE
+ */
+public final class PackedBoard {
+
+    // capacity: seats of the largest board, tokens per seat of the largest variant
+    public static final int SEATS = 6;
+    public static final int TOKENS_PER_SEAT = 4;
+    public static final int MAX_TRACK_SQUARES = 78;
+    // first home column square, the same for every board size
+    public static final int HOME_COLUMN = MAX_TRACK_SQUARES;
+    public static final byte HOME = -1;
+    public static final byte FINISHED = -2;
+    public static final int NO_SEAT = -1;
+    public static final int NO_DICE = 0;
+
+    private static final String[] COLORS = {"RED", "GREEN", "BLUE", "YELLOW", "ORANGE", "PURPLE"};
+
+    private final byte[] positions = new byte[SEATS * TOKENS_PER_SEAT];
+    private final byte[] turnOrder = new byte[SEATS];
+    // [track square] -> bitmask of the tokens on it
+    private final int[] occupants = new int[MAX_TRACK_SQUARES];
+    private RuleVariant variant;
+    private int seatCount;
+    private int currentSeat = NO_SEAT;
+    private int dice = NO_DICE;
+    private int sixes;
+
+    public PackedBoard() {
+        this(RuleVariant.STANDARD);
+    }
+
+    public PackedBoard(RuleVariant variant) {
+        this.variant = variant;
+        Arrays.fill(positions, HOME);
+        for (int seat = 0; seat < SEATS; seat++) {
+            Arrays.fill(positions, seat * TOKENS_PER_SEAT + variant.tokens(), (seat + 1) * TOKENS_PER_SEAT, FINISHED);
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Seat index for a canonical color name.
+     *
+     * @param color upper-case color
+     * @return seat index or NO_SEAT if unknown
+     */
+    public static int seatOf(String color) {
+        if (color == null) return NO_SEAT;
+        switch (color) {
+            case "RED":
+                return 0;
+            case "GREEN":
+                return 1;
+            case "BLUE":
+                return 2;
+            case "YELLOW":
+                return 3;
+            case "ORANGE":
+                return 4;
+            case "PURPLE":
+                return 5;
+            default:
+                return NO_SEAT;
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Color name for a seat index.
+     *
+     * @param seat seat index
+     * @return color or null for NO_SEAT
+     */
+    public static String colorOf(int seat) {
+        return seat >= 0 && seat < SEATS ? COLORS[seat] : null;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Append a seat to the play order.
+     *
+     * @param seat seat index
+     * @return this
+     */
+    public PackedBoard addSeat(int seat) {
+        if (seat < 0 || seat >= SEATS) throw new IllegalArgumentException("Unknown seat " + seat);
+        if (seat >= variant.seats()) {
+            throw new IllegalArgumentException("No " + colorOf(seat) + " seat with rules " + variant.name());
+        }
+        if (hasSeat(seat)) return this;
+        turnOrder[seatCount++] = (byte) seat;
+        return this;
+    }
+
+    public boolean hasSeat(int seat) {
+        for (int i = 0; i < seatCount; i++) {
+            if (turnOrder[i] == seat) return true;
+        }
+        return false;
+    }
+
+    public RuleVariant variant() {
+        return variant;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return tokens per seat in use under the board's rules
+     */
+    public int tokens() {
+        return variant.tokens();
+    }
+
+    public int seatCount() {
+        return seatCount;
+    }
+
+    public int seatAt(int orderIndex) {
+        return turnOrder[orderIndex];
+    }
+
+    public int orderIndexOf(int seat) {
+        for (int i = 0; i < seatCount; i++) {
+            if (turnOrder[i] == seat) return i;
+        }
+        return -1;
+    }
+
+    public int position(int seat, int token) {
+        return positions[seat * TOKENS_PER_SEAT + token];
+    }
+
+    public PackedBoard setPosition(int seat, int token, int position) {
+        int i = seat * TOKENS_PER_SEAT + token;
+        int old = positions[i];
+        if (old >= 0 && old < MAX_TRACK_SQUARES) occupants[old] &= ~(1 << i);
+        if (position >= 0 && position < MAX_TRACK_SQUARES) occupants[position] |= 1 << i;
+        positions[i] = (byte) position;
+        return this;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Tokens on a track square, from the occupancy index.
+     *
+     * @param square track square
+     * @return bitmask with bit seat * TOKENS_PER_SEAT + token set for each token on the square
+     */
+    public int occupants(int square) {
+        return occupants[square];
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Whether another seat holds a blockade (two or more of its tokens) on a track square.
+     *
+     * @param square track square
+     * @param seat seat asking; its own tokens never block it
+     * @return true if the square is blocked for the seat
+     */
+    public boolean isBlockade(int square, int seat) {
+        int others = occupants[square] & ~seatBits(seat);
+        while (others != 0) {
+            int owner = seatBits(Integer.numberOfTrailingZeros(others) / TOKENS_PER_SEAT);
+            if (Integer.bitCount(others & owner) >= 2) return true;
+            others &= ~owner;
+        }
+        return false;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Bits of a seat's tokens in an occupants (or capture) mask.
+     *
+     * @param seat seat index
+     * @return mask of the seat's TOKENS_PER_SEAT bits
+     */
+    public static int seatBits(int seat) {
+        return ((1 << TOKENS_PER_SEAT) - 1) << (seat * TOKENS_PER_SEAT);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return true once any seat has all of its tokens FINISHED
+     */
+    public boolean hasFinishedSeat() {
+        for (int i = 0; i < seatCount; i++) {
+            int base = turnOrder[i] * TOKENS_PER_SEAT;
+            boolean all = true;
+            for (int t = 0; t < TOKENS_PER_SEAT && all; t++) {
+                all = positions[base + t] == FINISHED;
+            }
+            if (all) return true;
+        }
+        return false;
+    }
+
+    public int currentSeat() {
+        return currentSeat;
+    }
+
+    public PackedBoard setCurrentSeat(int currentSeat) {
+        this.currentSeat = currentSeat;
+        return this;
+    }
+
+    public int dice() {
+        return dice;
+    }
+
+    public PackedBoard setDice(int dice) {
+        this.dice = dice;
+        return this;
+    }
+
+    public int sixes() {
+        return sixes;
+    }
+
+    public PackedBoard setSixes(int sixes) {
+        this.sixes = sixes;
+        return this;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Overwrite this board with the contents of another without allocating.
+     *
+     * @param other source board
+     * @return this
+     */
+    public PackedBoard copyFrom(PackedBoard other) {
+        System.arraycopy(other.positions, 0, positions, 0, positions.length);
+        System.arraycopy(other.turnOrder, 0, turnOrder, 0, turnOrder.length);
+        System.arraycopy(other.occupants, 0, occupants, 0, occupants.length);
+        variant = other.variant;
+        seatCount = other.seatCount;
+        currentSeat = other.currentSeat;
+        dice = other.dice;
+        sixes = other.sixes;
+        return this;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return independent copy of this board
+     */
+    public PackedBoard copy() {
+        return new PackedBoard(variant).copyFrom(this);
+    }
+}
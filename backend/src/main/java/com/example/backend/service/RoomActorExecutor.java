@@ -0,0 +1,217 @@
+package com.example.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-writer executor for room commands.
+ * Each room gets a mailbox; a mailbox is drained by at most one pooled worker at a time,
+ * so commands for the same room run sequentially without locks while different rooms
+ * proceed in parallel. Idle mailboxes are reclaimed by a periodic sweep.
+ * In virtual-thread mode (see VirtualThreads) each mailbox turn runs on its own virtual
+ * thread instead of a fixed pool, so a room blocked on a cache-miss load does not hold
+ * a worker; ordering per room is still guaranteed by the mailbox.
+ *
+ * Metrics: game.actor.wait (timer, enqueue to start: the per-room wait that replaces lock
+ * contention), game.actor.mailboxes (gauge).
+ *
+ * PUBLIC_INTERFACE
+ */
+@Component
+public class RoomActorExecutor {
+    private static final Logger log = LoggerFactory.getLogger(RoomActorExecutor.class);
+
+    // max commands drained per turn before yielding the worker to other rooms
+    private static final int DRAIN_BATCH = 64;
+
+    private final ExecutorService workers;
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Timer waitTimer;
+
+    @Value("${app.game.mailbox-idle-ms:30000}")
+    private long mailboxIdleMs = 30_000;
+
+    public RoomActorExecutor(int threads) {
+        this(threads, false, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public RoomActorExecutor(@Value("${app.game.actor-threads:0}") int threads,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                             MeterRegistry meterRegistry) {
+        this.waitTimer = meterRegistry.timer("game.actor.wait");
+        meterRegistry.gauge("game.actor.mailboxes", mailboxes, Map::size);
+        if (VirtualThreads.isActive(virtualThreads)) {
+            this.workers = VirtualThreads.perTask("room-actor-");
+            log.info("room actors on virtual threads");
+            return;
+        }
+        int n = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.workers = Executors.newFixedThreadPool(n, new ThreadFactory() {
+            private final AtomicInteger seq = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "room-actor-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Queue a command for a room and complete the returned future with its result.
+     *
+     * @param roomCode room code (mailbox key)
+     * @param command command to run on the room's single writer
+     * @return future completed with the command result or its exception
+     */
+    public <T> CompletableFuture<T> submit(String roomCode, Supplier<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(roomCode, () -> {
+            try {
+                future.complete(command.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, future);
+        return future;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Queue a fire-and-forget task for a room.
+     *
+     * @param roomCode room code (mailbox key)
+     * @param task task to run on the room's single writer
+     */
+    public void execute(String roomCode, Runnable task) {
+        execute(roomCode, task, null);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return number of live mailboxes
+     */
+    public int mailboxCount() {
+        return mailboxes.size();
+    }
+
+    private void execute(String roomCode, Runnable command, CompletableFuture<?> future) {
+        long queuedAt = System.nanoTime();
+        Runnable task = () -> {
+            waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            command.run();
+        };
+        try {
+            // enqueue inside compute so the idle sweep can never drop a mailbox that just got work
+            mailboxes.compute(roomCode, (k, mb) -> {
+                Mailbox box = mb != null ? mb : new Mailbox();
+                box.enqueue(task);
+                return box;
+            });
+        } catch (RejectedExecutionException e) {
+            if (future != null) future.completeExceptionally(new IllegalStateException("Game executor is shutting down", e));
+            else log.warn("room task rejected room={} msg={}", roomCode, e.getMessage());
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Reclaim mailboxes that have been empty and idle for longer than the configured period.
+     */
+    @Scheduled(fixedDelayString = "${app.game.mailbox-idle-ms:30000}")
+    public void reclaimIdle() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(mailboxIdleMs);
+        long now = System.nanoTime();
+        for (String code : mailboxes.keySet()) {
+            mailboxes.computeIfPresent(code, (k, mb) -> mb.isIdle() && now - mb.lastActiveNanos > idleNanos ? null : mb);
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Stop accepting commands and wait briefly for queued ones to finish. Idempotent.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (workers.isShutdown()) return;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("room actors did not drain in time mailboxes={}", mailboxes.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Mailbox implements Runnable {
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long lastActiveNanos = System.nanoTime();
+
+        void enqueue(Runnable task) {
+            queue.add(task);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    workers.execute(this);
+                } catch (RejectedExecutionException e) {
+                    queue.remove(task);
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        boolean isIdle() {
+            return !scheduled.get() && queue.isEmpty();
+        }
+
+        @Override
+        public void run() {
+            int n = 0;
+            Runnable task;
+            while (n < DRAIN_BATCH && (task = queue.poll()) != null) {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    log.error("room task failed msg={}", t.getMessage(), t);
+                }
+                n++;
+            }
+            lastActiveNanos = System.nanoTime();
+            scheduled.set(false);
+            // work that arrived after the last poll (or beyond the batch) needs another turn
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                try {
+                    workers.execute(this);
+                } catch (RejectedExecutionException e) {
+                    log.warn("room tasks dropped at shutdown count={}", queue.size());
+                }
+            }
+        }
+    }
+}
@@ -8,12 +8,13 @@ import com.example.backend.dto.RoomDTO;
 import com.example.backend.repository.GameStateRepository;
 import com.example.backend.repository.PlayerRepository;
 import com.example.backend.repository.RoomRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import java.security.SecureRandom;
 import java.util.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 /**
@@ -24,87 +25,103 @@ import org.springframework.stereotype.Service;
 @Service
 public class RoomService {
     private static final Logger log = LoggerFactory.getLogger(RoomService.class);
-    private static final List<String> COLORS = List.of("RED", "GREEN", "BLUE", "YELLOW");
+    // seat order; a room takes the first Room.seats of them, as set by its rules
+    private static final List<String> COLORS = List.of("RED", "GREEN", "BLUE", "YELLOW", "ORANGE", "PURPLE");
 
     private final RoomRepository roomRepository;
     private final PlayerRepository playerRepository;
     private final GameStateRepository gameStateRepository;
-    private final LudoRulesEngine rules;
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final GameStore gameStore;
+    private final ApplicationEventPublisher events;
+    private final OptimisticRetry retry;
 
     private final SecureRandom random = new SecureRandom();
 
+    @Value("${app.rules.default-variant:standard}")
+    private String defaultVariant = "standard";
+
     public RoomService(RoomRepository roomRepository,
                        PlayerRepository playerRepository,
-                       GameStateRepository gameStateRepository) {
+                       GameStateRepository gameStateRepository,
+                       GameStore gameStore,
+                       ApplicationEventPublisher events,
+                       OptimisticRetry retry) {
         this.roomRepository = roomRepository;
         this.playerRepository = playerRepository;
         this.gameStateRepository = gameStateRepository;
-        this.rules = new LudoRulesEngine();
+        this.gameStore = gameStore;
+        this.events = events;
+        this.retry = retry;
     }
 
     // PUBLIC_INTERFACE
     /**
-     * Create a new room with unique code.
+     * Create a new room with unique code. Its rules fix how many players it takes.
      *
      * @param name optional room display name
+     * @param rules RuleVariant name; null for app.rules.default-variant
      * @return RoomDTO
+     * @throws IllegalArgumentException for unknown rules
      */
     @Transactional
-    public RoomDTO createRoom(String name) {
+    public RoomDTO createRoom(String name, String rules) {
+        RuleVariant variant = RuleVariant.parse(rules != null ? rules : defaultVariant);
         String code = generateCode();
-        Room room = new Room(code, name);
+        Room room = new Room(code, name)
+                .setRules(variant.name())
+                .setSeats(variant.seats());
         room = roomRepository.save(room);
-        log.info("room created code={} name={}", code, name);
+        events.publishEvent(LobbyChange.of(room));
+        log.info("room created code={} name={} rules={}", code, name, variant.name());
         return toDTO(room);
     }
 
     // PUBLIC_INTERFACE
     /**
-     * List all rooms.
+     * Join room with name and optional preferred color. Retried on concurrent room changes.
+     *
+     * @param ai true for an AI player, whose turns are played by AiPlayerService
      */
-    public List<RoomDTO> listRooms() {
-        List<Room> all = roomRepository.findAll();
-        List<RoomDTO> out = new ArrayList<>();
-        for (Room r : all) out.add(toDTO(r));
-        return out;
+    public PlayerDTO joinRoom(String roomCode, String name, String preferredColor, boolean ai) {
+        return retry.execute("join", () -> doJoin(roomCode, name, preferredColor, ai));
     }
 
-    // PUBLIC_INTERFACE
-    /**
-     * Join room with name and optional preferred color.
-     */
-    @Transactional
-    public PlayerDTO joinRoom(String roomCode, String name, String preferredColor) {
-        Room room = roomRepository.findByRoomCode(roomCode)
+    private PlayerDTO doJoin(String roomCode, String name, String preferredColor, boolean ai) {
+        Room room = roomRepository.findLockedByRoomCode(roomCode)
                 .orElseThrow(() -> new NoSuchElementException("Room not found"));
         if (!room.isActive()) throw new IllegalStateException("Room not active");
 
         String color = assignColor(room, preferredColor);
         int order = room.getPlayers().size();
-        Player p = new Player(name, color, false, order);
+        Player p = new Player(name, color, ai, order);
         room.addPlayer(p);
         roomRepository.save(room);
         playerRepository.save(p);
-        log.info("player joined room={} color={} name={}", roomCode, color, name);
+        events.publishEvent(LobbyChange.of(room));
+        log.info("player joined room={} color={} name={} ai={}", roomCode, color, name, ai);
         return toDTO(p);
     }
 
     // PUBLIC_INTERFACE
     /**
-     * Leave room by color (simple MVP).
+     * Leave room by color (simple MVP). Retried on concurrent room changes.
      */
-    @Transactional
     public void leaveRoom(String roomCode, String color) {
-        Room room = roomRepository.findByRoomCode(roomCode)
+        retry.execute("leave", () -> doLeave(roomCode, color));
+    }
+
+    private Void doLeave(String roomCode, String color) {
+        Room room = roomRepository.findLockedByRoomCode(roomCode)
                 .orElseThrow(() -> new NoSuchElementException("Room not found"));
         String up = color.toUpperCase();
         Optional<Player> playerOpt = room.getPlayers().stream().filter(pl -> up.equals(pl.getColor())).findFirst();
-        if (playerOpt.isEmpty()) return;
+        if (playerOpt.isEmpty()) return null;
         Player p = playerOpt.get();
         room.removePlayer(p);
         playerRepository.delete(p);
+        events.publishEvent(LobbyChange.of(room));
         log.info("player left room={} color={}", roomCode, up);
+        return null;
     }
 
     // PUBLIC_INTERFACE
@@ -117,36 +134,47 @@ public class RoomService {
 
     // PUBLIC_INTERFACE
     /**
-     * Start the game: initialize GameState if not present.
+     * Start the game: initialize GameState if not present. Retried on concurrent room changes.
      *
+     * @param rules RuleVariant name to play with; null for the rules the room was created with.
+     *              Must keep the room's seat count. Ignored if the game has already started.
      * @return true if started/exists
+     * @throws IllegalArgumentException for unknown rules, or rules with a different seat count
      */
-    @Transactional
-    public boolean start(String roomCode) {
-        Room room = roomRepository.findByRoomCode(roomCode)
+    public boolean start(String roomCode, String rules) {
+        RuleVariant override = rules != null ? RuleVariant.parse(rules) : null;
+        return retry.execute("start", () -> doStart(roomCode, override));
+    }
+
+    private boolean doStart(String roomCode, RuleVariant override) {
+        Room room = roomRepository.findLockedByRoomCode(roomCode)
                 .orElseThrow(() -> new NoSuchElementException("Room not found"));
         if (room.getPlayers().isEmpty()) throw new IllegalStateException("No players in room");
         if (room.getGameState() != null) return true;
+        RuleVariant variant = override != null ? override : RuleVariant.parse(room.getRules());
+        if (variant.seats() != room.getSeats()) {
+            throw new IllegalArgumentException("Room is set up for " + room.getSeats() + " players, rules "
+                    + variant.name() + " are for " + variant.seats());
+        }
+        room.setRules(variant.name());
 
         List<String> order = room.getPlayers().stream()
                 .sorted(Comparator.comparingInt(Player::getTurnOrder))
                 .map(Player::getColor)
                 .toList();
         String first = order.get(0);
-        Map<String, Object> board = new LudoRulesEngine().initialBoardState(order, first);
-        String json;
-        try {
-            json = mapper.writeValueAsString(board);
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to create initial board", e);
-        }
+        PackedBoard board = LudoRulesEngine.forVariant(variant).initialBoardState(order, first);
+        String json = BoardCodec.toJson(board);
         GameState gs = new GameState(room, json)
                 .setCurrentTurnColor(first)
                 .setLastDiceRoll(null);
         room.setGameState(gs);
         roomRepository.save(room);
         gameStateRepository.save(gs);
-        log.info("game started room={} firstTurn={}", roomCode, first);
+        // seq 0 snapshot anchors event replay from the start of the game
+        gameStore.gameStarted(roomCode, room.getId(), board);
+        events.publishEvent(LobbyChange.of(room));
+        log.info("game started room={} firstTurn={} rules={}", roomCode, first, variant.name());
         return true;
     }
 
@@ -164,6 +192,8 @@ public class RoomService {
                 .setRoomCode(room.getRoomCode())
                 .setName(room.getName())
                 .setActive(room.isActive())
+                .setRules(room.getRules())
+                .setMaxPlayers(room.getSeats())
                 .setCreatedAt(room.getCreatedAt());
         List<PlayerDTO> players = new ArrayList<>();
         for (Player p : room.getPlayers()) players.add(toDTO(p));
@@ -197,7 +227,7 @@ public class RoomService {
         Set<String> used = new HashSet<>();
         for (Player p : room.getPlayers()) used.add(p.getColor());
         List<String> available = new ArrayList<>();
-        for (String c : COLORS) if (!used.contains(c)) available.add(c);
+        for (String c : COLORS.subList(0, room.getSeats())) if (!used.contains(c)) available.add(c);
         if (available.isEmpty()) throw new IllegalStateException("Room is full");
         if (preferred != null) {
             String up = preferred.toUpperCase();
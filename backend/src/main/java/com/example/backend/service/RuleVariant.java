@@ -0,0 +1,107 @@
+package com.example.backend.service;
+
+import java.util.Locale;
+
+/**
+ * House rules a room is played with, chosen when the room is created (RoomService.createRoom,
+ * which fixes its seats) and final when the game starts, then carried on its PackedBoard,
+ * so snapshots, replays and AI players all see the same rules.
+ * A variant is written as comma-separated options over the standard rules, e.g.
+ * "players=6,blockades":
+ * - players=4|6: board size; a six-player board has a 78-square track (default 4).
+ * - tokens=1..4: tokens per player (default 4).
+ * - blockades: two tokens of one color on a track square block every other color from
+ *   passing or landing there.
+ * - open-start: entry squares are not safe, so a token entering the board captures.
+ * The presets "standard", "quick" (tokens=2), "blockades" and "six-player" (players=6)
+ * may be combined with options. LudoRulesEngine.forVariant gives the engine for a variant.
+ *
+ * PUBLIC_INTERFACE
+ */
+public record RuleVariant(int seats, int tokens, boolean blockades, boolean safeStart) {
+
+    public static final RuleVariant STANDARD = new RuleVariant(4, PackedBoard.TOKENS_PER_SEAT, false, true);
+
+    private static final String STANDARD_NAME = "standard";
+
+    public RuleVariant {
+        if (seats != 4 && seats != PackedBoard.SEATS) {
+            throw new IllegalArgumentException("Rules support 4 or " + PackedBoard.SEATS + " players, not " + seats);
+        }
+        if (tokens < 1 || tokens > PackedBoard.TOKENS_PER_SEAT) {
+            throw new IllegalArgumentException("Rules support 1 to " + PackedBoard.TOKENS_PER_SEAT + " tokens, not " + tokens);
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Parse a variant name (see class doc); null or blank means standard.
+     *
+     * @param name variant name
+     * @return variant
+     * @throws IllegalArgumentException for unknown options or values
+     */
+    public static RuleVariant parse(String name) {
+        if (name == null || name.isBlank()) return STANDARD;
+        int seats = STANDARD.seats;
+        int tokens = STANDARD.tokens;
+        boolean blockades = STANDARD.blockades;
+        boolean safeStart = STANDARD.safeStart;
+        for (String raw : name.split(",")) {
+            String option = raw.trim().toLowerCase(Locale.ROOT);
+            int eq = option.indexOf('=');
+            String key = eq < 0 ? option : option.substring(0, eq).trim();
+            String value = eq < 0 ? null : option.substring(eq + 1).trim();
+            switch (key) {
+                case STANDARD_NAME -> { }
+                case "quick" -> tokens = 2;
+                case "six-player" -> seats = PackedBoard.SEATS;
+                case "blockades" -> blockades = true;
+                case "open-start" -> safeStart = false;
+                case "players" -> seats = number(key, value);
+                case "tokens" -> tokens = number(key, value);
+                default -> throw new IllegalArgumentException("Unknown rule option: " + raw.trim());
+            }
+        }
+        return new RuleVariant(seats, tokens, blockades, safeStart);
+    }
+
+    private static int number(String key, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new IllegalArgumentException("Rule option " + key + " needs a number");
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return canonical name: "standard", or the options that differ from it
+     */
+    public String name() {
+        StringBuilder sb = new StringBuilder();
+        if (seats != STANDARD.seats) sb.append(",players=").append(seats);
+        if (tokens != STANDARD.tokens) sb.append(",tokens=").append(tokens);
+        if (blockades) sb.append(",blockades");
+        if (!safeStart) sb.append(",open-start");
+        return sb.length() == 0 ? STANDARD_NAME : sb.substring(1);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return the variant packed into one byte, for the binary board snapshot (see BoardCodec)
+     */
+    public int code() {
+        return (seats == 4 ? 0 : 1) | (tokens - 1) << 1 | (blockades ? 1 : 0) << 3 | (safeStart ? 0 : 1) << 4;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @param code value returned by {@link #code()}
+     * @return the variant
+     */
+    public static RuleVariant fromCode(int code) {
+        return new RuleVariant((code & 1) == 0 ? 4 : PackedBoard.SEATS, (code >> 1 & 3) + 1,
+                (code >> 3 & 1) != 0, (code >> 4 & 1) == 0);
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.GameStateDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Routes game commands and state reads to the node that owns the room.
+ * Room codes are assigned to live nodes with a ConsistentHashRing; a node is live while its
+ * heartbeats arrive within app.cluster.failure-timeout-ms. When the live set changes every
+ * node rebuilds the ring and releases the games it no longer owns: their queued events and a
+ * board snapshot are written to the shared GameStore before the game is dropped (see
+ * GameStateCache.release). Before its first use of a room the new owner asks the room's owner
+ * under the previous ring (for a joining node, the ring without it) for a handoff, which
+ * completes once that release is durable, and then checks that the game it rehydrates has
+ * reached the released seq (GameStateCache.acquire); commands and reads for the room wait for
+ * it, and fail with a retry while the previous owner has not seen the ring change yet.
+ * A previous owner that is no longer live cannot hand off: events still queued on a node
+ * that crashes are lost, as on a single node.
+ *
+ * On a single node (no app.cluster.transport) every room is local and nothing is routed.
+ * Clustering needs a shared store, i.e. the jpa persistence backend: a node configured with a
+ * transport and the node-local journal backend fails at startup.
+ *
+ * PUBLIC_INTERFACE
+ */
+@Service
+public class ShardRouter implements ClusterTransport.Receiver {
+    private static final Logger log = LoggerFactory.getLogger(ShardRouter.class);
+    private static final CompletableFuture<Long> NO_HANDOFF = CompletableFuture.completedFuture(-1L);
+
+    private final ClusterNode node;
+    private final GameCommandPipeline pipeline;
+    private final GameStateCache cache;
+    private final BroadcastService broadcast;
+    private final LobbyIndex lobby;
+
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();
+    // rooms gained with the latest ring change -> handoff from their previous owner
+    private final Map<String, CompletableFuture<Long>> handoffs = new ConcurrentHashMap<>();
+    private volatile ConsistentHashRing ring;
+    private volatile ConsistentHashRing previousRing;
+
+    @Value("${app.cluster.virtual-nodes:64}")
+    private int virtualNodes = 64;
+
+    @Value("${app.cluster.failure-timeout-ms:5000}")
+    private long failureTimeoutMs = 5000;
+
+    @Value("${app.persistence.backend:jpa}")
+    private String persistenceBackend = "jpa";
+
+    public ShardRouter(ClusterNode node,
+                       GameCommandPipeline pipeline,
+                       GameStateCache cache,
+                       BroadcastService broadcast,
+                       LobbyIndex lobby) {
+        this.node = node;
+        this.pipeline = pipeline;
+        this.cache = cache;
+        this.broadcast = broadcast;
+        this.lobby = lobby;
+    }
+
+    @PostConstruct
+    void join() {
+        if (!node.isClustered()) return;
+        // releases and handoffs go through the store; a journal is only readable by its own node
+        if ("journal".equals(persistenceBackend)) {
+            throw new IllegalStateException("app.cluster.transport requires a shared store, not app.persistence.backend=journal");
+        }
+        node.transport().register(node.nodeId(), this);
+        // configured members get one failure timeout to send their first heartbeat
+        long now = System.currentTimeMillis();
+        for (String member : node.transport().members()) lastSeen.put(member, now);
+        refresh();
+        log.info("cluster node joined node={} members={}", node.nodeId(), ring.nodes());
+    }
+
+    @PreDestroy
+    void leave() {
+        if (node.isClustered()) node.transport().unregister(node.nodeId());
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @param roomCode room code
+     * @return true if this node owns the room (always on a single node)
+     */
+    public boolean isLocal(String roomCode) {
+        return !node.isClustered() || node.nodeId().equals(ring.ownerOf(roomCode));
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Run a command on the owning node.
+     *
+     * @param command roll or move
+     * @return future completed with the resulting state
+     */
+    public CompletableFuture<GameStateDTO> submit(GameCommand command) {
+        if (isLocal(command.roomCode())) return submitLocal(command);
+        return node.transport().sendCommand(ring.ownerOf(command.roomCode()), command);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Read a room's state from the owning node.
+     *
+     * @param roomCode room code
+     * @param local state read used when this node is the owner
+     * @return current state
+     */
+    public GameStateDTO state(String roomCode, Supplier<GameStateDTO> local) {
+        if (isLocal(roomCode)) {
+            await(awaitHandoff(roomCode));
+            return local.get();
+        }
+        return await(node.transport().fetchState(ring.ownerOf(roomCode), roomCode));
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Send a heartbeat and re-evaluate which nodes are live.
+     */
+    @Scheduled(fixedDelayString = "${app.cluster.heartbeat-ms:1000}")
+    public void heartbeat() {
+        if (!node.isClustered()) return;
+        node.transport().heartbeat(node.nodeId());
+        refresh();
+    }
+
+    @Override
+    public CompletableFuture<GameStateDTO> onCommand(GameCommand command) {
+        // ring views can briefly differ after a membership change; never run a room on two nodes
+        if (!isLocal(command.roomCode())) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Room is owned by another node, retry"));
+        }
+        return submitLocal(command);
+    }
+
+    @Override
+    public GameStateDTO onState(String roomCode) {
+        if (!isLocal(roomCode)) throw new IllegalStateException("Room is owned by another node, retry");
+        await(awaitHandoff(roomCode));
+        return GameService.localState(cache, roomCode);
+    }
+
+    @Override
+    public CompletableFuture<Long> onHandoff(String roomCode) {
+        // still the owner in this node's ring view: release once the views agree
+        if (isLocal(roomCode)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Room handoff pending, retry"));
+        }
+        return cache.release(roomCode);
+    }
+
+    @Override
+    public void onRelay(String destination, byte[] json) {
+        broadcast.deliverLocal(destination, json);
+    }
+
+    @Override
+    public void onLobbyChange(LobbyChange change) {
+        lobby.apply(change);
+    }
+
+    @Override
+    public void onHeartbeat(String nodeId) {
+        lastSeen.put(nodeId, System.currentTimeMillis());
+    }
+
+    private CompletableFuture<GameStateDTO> submitLocal(GameCommand command) {
+        CompletableFuture<Long> handoff = awaitHandoff(command.roomCode());
+        if (handoff.isDone() && !handoff.isCompletedExceptionally()) return pipeline.submit(command);
+        return handoff.thenCompose(seq -> pipeline.submit(command));
+    }
+
+    /**
+     * Handoff of a room this node gained with the latest ring change; completed at once for
+     * rooms it already owned, on a single node, or when the previous owner is no longer live.
+     * A failed handoff is forgotten so the next command asks again.
+     */
+    private CompletableFuture<Long> awaitHandoff(String roomCode) {
+        ConsistentHashRing previous = previousRing;
+        if (previous == null) return NO_HANDOFF;
+        String from = previous.ownerOf(roomCode);
+        if (from.equals(node.nodeId()) || !ring.nodes().contains(from)) return NO_HANDOFF;
+        CompletableFuture<Long> handoff = handoffs.get(roomCode);
+        if (handoff != null) return handoff;
+        CompletableFuture<Long> started = new CompletableFuture<>();
+        handoff = handoffs.putIfAbsent(roomCode, started);
+        if (handoff != null) return handoff;
+        node.transport().handoff(from, roomCode)
+                .thenCompose(seq -> cache.acquire(roomCode, seq))
+                .whenComplete((seq, ex) -> {
+                    if (ex == null) {
+                        log.info("room handed off room={} from={} seq={}", roomCode, from, seq);
+                        started.complete(seq);
+                        return;
+                    }
+                    handoffs.remove(roomCode, started);
+                    started.completeExceptionally(ex);
+                });
+        return started;
+    }
+
+    // rethrow the owning node's error itself, so it maps to its HTTP status
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private synchronized void refresh() {
+        long cutoff = System.currentTimeMillis() - failureTimeoutMs;
+        Set<String> live = new TreeSet<>();
+        live.add(node.nodeId());
+        for (String member : node.transport().members()) {
+            Long seen = lastSeen.get(member);
+            if (seen != null && seen >= cutoff) live.add(member);
+        }
+        // local transport membership is discovered through heartbeats
+        lastSeen.forEach((id, seen) -> {
+            if (seen >= cutoff) live.add(id);
+        });
+        if (ring != null && ring.nodes().equals(live)) return;
+        ConsistentHashRing previous = ring;
+        ring = new ConsistentHashRing(live, virtualNodes);
+        node.ring(ring);
+        if (previous == null) {
+            // joining a running cluster: the rooms taken over come from the ring without this node
+            Set<String> others = new TreeSet<>(live);
+            others.remove(node.nodeId());
+            if (!others.isEmpty()) previousRing = new ConsistentHashRing(others, virtualNodes);
+            return;
+        }
+        handoffs.clear();
+        previousRing = previous;
+        int released = cache.releaseUnowned(code -> node.nodeId().equals(ring.ownerOf(code)));
+        log.info("cluster ring changed node={} from={} to={} releasing={}", node.nodeId(), previous.nodes(), live, released);
+    }
+}
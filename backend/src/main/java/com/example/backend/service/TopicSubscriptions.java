@@ -0,0 +1,85 @@
+package com.example.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts this node's STOMP subscriptions per /topic destination, fed from SUBSCRIBE,
+ * UNSUBSCRIBE and DISCONNECT frames on the inbound channel. Used to record broadcast
+ * fan-out size without asking the broker; with the broker relay it counts the subscribers
+ * connected through this node only. Exposes the gauge ws.subscriptions.
+ *
+ * PUBLIC_INTERFACE
+ */
+@Component
+public class TopicSubscriptions {
+
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    // session id -> subscription id -> destination
+    private final Map<String, Map<String, String>> bySession = new ConcurrentHashMap<>();
+    private final Map<String, Integer> byDestination = new ConcurrentHashMap<>();
+
+    public TopicSubscriptions(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("ws.subscriptions", this, TopicSubscriptions::total);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Record a subscription; non-topic destinations (subscribe mappings under /app) are ignored.
+     */
+    public void subscribe(String sessionId, String subscriptionId, String destination) {
+        if (sessionId == null || subscriptionId == null || destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return;
+        }
+        String previous = bySession.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>()).put(subscriptionId, destination);
+        if (previous != null) decrement(previous);
+        byDestination.merge(destination, 1, Integer::sum);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Remove one subscription of a session.
+     */
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        if (sessionId == null || subscriptionId == null) return;
+        Map<String, String> subs = bySession.get(sessionId);
+        String destination = subs == null ? null : subs.remove(subscriptionId);
+        if (destination != null) decrement(destination);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Drop every subscription of a session. Idempotent (Spring may report a disconnect twice).
+     */
+    public void disconnect(String sessionId) {
+        if (sessionId == null) return;
+        Map<String, String> subs = bySession.remove(sessionId);
+        if (subs != null) subs.values().forEach(this::decrement);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @param destination topic destination
+     * @return subscriptions to it on this node
+     */
+    public int count(String destination) {
+        return byDestination.getOrDefault(destination, 0);
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @return topic subscriptions on this node
+     */
+    public int total() {
+        int n = 0;
+        for (int c : byDestination.values()) n += c;
+        return n;
+    }
+
+    private void decrement(String destination) {
+        byDestination.computeIfPresent(destination, (k, n) -> n <= 1 ? null : n - 1);
+    }
+}
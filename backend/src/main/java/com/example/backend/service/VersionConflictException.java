@@ -0,0 +1,26 @@
+package com.example.backend.service;
+
+/**
+ * A command named an expected game version (GameStateDTO.seq) that is no longer current.
+ * The client should refresh the state and decide again; mapped to HTTP 409 VERSION_CONFLICT.
+ *
+ * PUBLIC_INTERFACE
+ */
+public class VersionConflictException extends IllegalStateException {
+    private final long expectedVersion;
+    private final long currentVersion;
+
+    public VersionConflictException(long expectedVersion, long currentVersion) {
+        super("Expected game version " + expectedVersion + " but current is " + currentVersion);
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
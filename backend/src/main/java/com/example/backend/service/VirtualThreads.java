@@ -0,0 +1,56 @@
+package com.example.backend.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Opt-in virtual-thread mode, switched by spring.threads.virtual.enabled. Like Spring Boot
+ * (which then moves Tomcat request handling and its task executors and schedulers to virtual
+ * threads), it only takes effect on a Java 21+ runtime; on Java 17 the property is ignored.
+ * The sources still compile for Java 17, so virtual threads are created through Spring's
+ * VirtualThreadTaskExecutor rather than the Thread.ofVirtual API.
+ *
+ * Code that may run on a virtual thread must not block while holding a monitor (synchronized),
+ * which pins the carrier thread on Java 21; use a ReentrantLock around I/O instead.
+ *
+ * PUBLIC_INTERFACE
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @param enabled value of spring.threads.virtual.enabled
+     * @return true if virtual threads should be used on this runtime
+     */
+    public static boolean isActive(boolean enabled) {
+        return enabled && Runtime.version().feature() >= 21;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * @param namePrefix thread name prefix
+     * @return factory creating virtual threads; Java 21+ only
+     */
+    public static ThreadFactory factory(String namePrefix) {
+        return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Executor service starting a new virtual thread per task (idle threads are not kept).
+     *
+     * @param namePrefix thread name prefix
+     * @return unbounded executor service; Java 21+ only
+     */
+    public static ExecutorService perTask(String namePrefix) {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                factory(namePrefix));
+    }
+}
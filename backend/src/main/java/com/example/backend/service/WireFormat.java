@@ -0,0 +1,42 @@
+package com.example.backend.service;
+
+import org.springframework.util.MimeType;
+
+/**
+ * Payload encodings a STOMP connection can negotiate.
+ * A client selects one per connection with the CONNECT header "wire-format" (json|cbor);
+ * JSON is the default. Binary formats need a native WebSocket (e.g. /ws/websocket),
+ * since SockJS transports only carry text frames.
+ *
+ * PUBLIC_INTERFACE
+ */
+public enum WireFormat {
+    JSON(new MimeType("application", "json")),
+    CBOR(new MimeType("application", "cbor"));
+
+    // PUBLIC_INTERFACE
+    /** STOMP CONNECT header used to negotiate the format. */
+    public static final String CONNECT_HEADER = "wire-format";
+
+    private final MimeType mimeType;
+
+    WireFormat(MimeType mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public MimeType mimeType() {
+        return mimeType;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Resolve a CONNECT header value; unknown or missing values fall back to JSON.
+     *
+     * @param value header value
+     * @return negotiated format
+     */
+    public static WireFormat fromHeader(String value) {
+        if (value == null) return JSON;
+        return "cbor".equalsIgnoreCase(value.trim()) ? CBOR : JSON;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks the wire format negotiated by each STOMP session and owns the binary codec.
+ * Broadcasts encode the binary variant only while at least one binary session is connected,
+ * and then only once per event regardless of how many sessions use it.
+ *
+ * PUBLIC_INTERFACE
+ */
+@Component
+public class WireFormatSupport {
+
+    // PUBLIC_INTERFACE
+    /** Non-native message header carrying the pre-encoded CBOR payload of a broadcast. */
+    public static final String CBOR_PAYLOAD_HEADER = "wire.cbor";
+
+    private final ObjectMapper cborMapper;
+    private final Map<String, WireFormat> binarySessions = new ConcurrentHashMap<>();
+
+    public WireFormatSupport(Jackson2ObjectMapperBuilder builder) {
+        // same modules/features as the JSON mapper, different token format
+        this.cborMapper = builder.factory(new CBORFactory()).build();
+    }
+
+    public ObjectMapper cborMapper() {
+        return cborMapper;
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Record the format a session negotiated on CONNECT.
+     */
+    public void register(String sessionId, WireFormat format) {
+        if (sessionId == null) return;
+        if (format == WireFormat.JSON) binarySessions.remove(sessionId);
+        else binarySessions.put(sessionId, format);
+    }
+
+    public void unregister(String sessionId) {
+        if (sessionId != null) binarySessions.remove(sessionId);
+    }
+
+    public WireFormat formatOf(String sessionId) {
+        if (sessionId == null) return WireFormat.JSON;
+        return binarySessions.getOrDefault(sessionId, WireFormat.JSON);
+    }
+
+    public boolean hasBinarySessions() {
+        return !binarySessions.isEmpty();
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Encode a payload as CBOR.
+     */
+    public byte[] toCbor(Object payload) {
+        try {
+            return cborMapper.writeValueAsBytes(payload);
+        } catch (Exception e) {
+            throw new IllegalStateException("Serialize event failed", e);
+        }
+    }
+
+    // PUBLIC_INTERFACE
+    /**
+     * Re-encode a JSON payload as CBOR, for replies that were converted before the
+     * session's format was known (e.g. subscribe replies).
+     */
+    public byte[] jsonToCbor(ObjectMapper jsonMapper, byte[] json) {
+        try {
+            return cborMapper.writeValueAsBytes(jsonMapper.readTree(json));
+        } catch (Exception e) {
+            throw new IllegalStateException("Transcode payload failed", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.backend.simulation;
+
+import com.example.backend.service.LudoRulesEngine;
+import com.example.backend.service.MoveOutcome;
+import com.example.backend.service.PackedBoard;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays complete games on one thread with LudoRulesEngine, outside Spring. The board,
+ * move outcome and policies are allocated once and reused for every game, so the game loop
+ * itself allocates nothing.
+ */
+final class GameSimulator {
+
+    private final SimulationOptions options;
+    private final LudoRulesEngine rules;
+    private final MoveOutcome outcome = new MoveOutcome();
+    private final PackedBoard initial;
+    private final PackedBoard board;
+    // --check: occupancy rebuilt from the token positions
+    private final int[] occupancy = new int[PackedBoard.MAX_TRACK_SQUARES];
+    private int expectedCaptures;
+    // indexed by seat
+    private final MovePolicy[] policies = new MovePolicy[PackedBoard.SEATS];
+
+    GameSimulator(SimulationOptions options) {
+        this.options = options;
+        this.rules = LudoRulesEngine.forVariant(options.rules());
+        this.board = new PackedBoard(options.rules());
+        List<String> colors = new ArrayList<>();
+        for (int seat = 0; seat < options.players(); seat++) colors.add(PackedBoard.colorOf(seat));
+        this.initial = rules.initialBoardState(colors, colors.get(0));
+        for (int i = 0; i < colors.size(); i++) {
+            policies[PackedBoard.seatOf(colors.get(i))] = MovePolicy.create(options.policies().get(i), rules);
+        }
+    }
+
+    /**
+     * Play one game and add it to the stats.
+     *
+     * @param seed game seed; replaying it reproduces the game
+     * @param log receives every action, or null
+     */
+    void play(long seed, SimulationStats stats, PrintStream log) {
+        SplittableRandom random = new SplittableRandom(seed);
+        board.copyFrom(initial);
+        stats.games++;
+        try {
+            for (int roll = 1; roll <= options.maxTurns(); roll++) {
+                int seat = board.currentSeat();
+                int dice = 1 + random.nextInt(6);
+                stats.rolls++;
+                if (!rules.applyRoll(board, dice)) {
+                    // no token can use the roll, or a third six: the turn has passed
+                    stats.passes++;
+                    if (log != null) log.printf("%4d %-6s rolls %d, turn passes%n", roll, PackedBoard.colorOf(seat), dice);
+                    continue;
+                }
+                int valid = rules.validMoves(board, seat, dice);
+                int token = policies[seat].choose(board, seat, dice, valid, random);
+                if (options.check()) {
+                    String broken = checkBeforeMove(seat, token, dice);
+                    if (broken != null) {
+                        stats.violation(seed, "roll=" + roll + " " + broken);
+                        return;
+                    }
+                }
+                boolean extra = rules.playMove(board, seat, token, dice, outcome);
+                stats.moves++;
+                stats.captures += Integer.bitCount(outcome.captureMask());
+                if (log != null) {
+                    log.printf("%4d %-6s rolls %d, token %d %d -> %d%s%n", roll, PackedBoard.colorOf(seat), dice, token,
+                            outcome.from(), outcome.to(), outcome.captureMask() != 0 ? " capture" : "");
+                }
+                if (options.check()) {
+                    String broken = checkMove(seat, token, valid, extra);
+                    if (broken != null) {
+                        stats.violation(seed, "roll=" + roll + " " + broken);
+                        return;
+                    }
+                }
+                if (board.hasFinishedSeat()) {
+                    stats.finished++;
+                    stats.lengths[roll]++;
+                    stats.winsByPosition[board.orderIndexOf(seat)]++;
+                    if (log != null) log.printf("%s wins after %d rolls%n", PackedBoard.colorOf(seat), roll);
+                    return;
+                }
+            }
+            stats.capped++;
+        } catch (RuntimeException e) {
+            // a legal move the engine refuses is a rules bug, with or without --check
+            stats.violation(seed, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    // reference capture resolution: scan every opponent token for the move's destination
+    private int scanCaptures(int seat, int token, int dice) {
+        int to = rules.destination(seat, board.position(seat, token), dice);
+        if (to == Byte.MIN_VALUE || !rules.isCapturable(to)) return 0;
+        int captures = 0;
+        for (int i = 0; i < board.seatCount(); i++) {
+            int other = board.seatAt(i);
+            if (other == seat) continue;
+            for (int t = 0; t < board.tokens(); t++) {
+                if (board.position(other, t) == to) captures |= 1 << (other * PackedBoard.TOKENS_PER_SEAT + t);
+            }
+        }
+        return captures;
+    }
+
+    // compares the move with reference implementations that scan every token; remembers the captures to expect
+    private String checkBeforeMove(int seat, int token, int dice) {
+        if (scanBlocked(seat, token, dice)) return "token " + token + " allowed through a blockade";
+        expectedCaptures = scanCaptures(seat, token, dice);
+        return null;
+    }
+
+    // reference blockade check: walk the squares the move crosses and count each other seat's tokens there
+    private boolean scanBlocked(int seat, int token, int dice) {
+        if (!options.rules().blockades()) return false;
+        int pos = board.position(seat, token);
+        int track = rules.trackLength();
+        if (pos == PackedBoard.HOME) return dice == 6 && blockadeByScan(rules.destination(seat, pos, dice), seat);
+        if (pos < 0 || pos >= track) return false;
+        int step = Math.floorMod(pos - seat * (track / options.rules().seats()), track);
+        // the last track square is two before the entry square; later steps are in the home column
+        for (int k = 1; k <= dice && step + k <= track - 2; k++) {
+            if (blockadeByScan((pos + k) % track, seat)) return true;
+        }
+        return false;
+    }
+
+    private boolean blockadeByScan(int square, int seat) {
+        for (int i = 0; i < board.seatCount(); i++) {
+            int other = board.seatAt(i);
+            if (other == seat) continue;
+            int count = 0;
+            for (int t = 0; t < board.tokens(); t++) {
+                if (board.position(other, t) == square) count++;
+            }
+            if (count >= 2) return true;
+        }
+        return false;
+    }
+
+    // invariants that hold for any rule set; returns a description of the first broken one
+    private String checkMove(int seat, int token, int valid, boolean extra) {
+        if ((valid & (1 << token)) == 0) return "policy picked illegal token " + token;
+        if (board.position(seat, token) != outcome.to()) return "token not at its reported destination";
+        if (outcome.captureMask() != expectedCaptures) return "captures differ from a scan of the destination square";
+        String index = checkOccupancy();
+        if (index != null) return index;
+        for (int mask = outcome.captureMask(); mask != 0; mask &= mask - 1) {
+            int bit = Integer.numberOfTrailingZeros(mask);
+            int victim = bit / PackedBoard.TOKENS_PER_SEAT;
+            if (victim == seat || !board.hasSeat(victim)) return "captured a token of seat " + victim;
+            if (board.position(victim, bit % PackedBoard.TOKENS_PER_SEAT) != PackedBoard.HOME) return "captured token not at HOME";
+        }
+        if (!board.hasSeat(board.currentSeat())) return "turn passed to a seat not in the game";
+        if (extra != (board.currentSeat() == seat)) return "turn order does not match the extra-turn flag";
+        if (board.dice() != PackedBoard.NO_DICE) return "dice not cleared after the move";
+        if (!extra && board.sixes() != 0) return "sixes in a row not reset when the turn passed";
+        return null;
+    }
+
+    // the occupancy index must match the token positions it was built from
+    private String checkOccupancy() {
+        int[] expected = occupancy;
+        Arrays.fill(expected, 0);
+        for (int seat = 0; seat < PackedBoard.SEATS; seat++) {
+            for (int t = 0; t < PackedBoard.TOKENS_PER_SEAT; t++) {
+                int pos = board.position(seat, t);
+                if (pos >= 0 && pos < PackedBoard.MAX_TRACK_SQUARES) expected[pos] |= 1 << (seat * PackedBoard.TOKENS_PER_SEAT + t);
+            }
+        }
+        for (int square = 0; square < PackedBoard.MAX_TRACK_SQUARES; square++) {
+            if (board.occupants(square) != expected[square]) return "occupancy index out of sync at square " + square;
+        }
+        return null;
+    }
+}
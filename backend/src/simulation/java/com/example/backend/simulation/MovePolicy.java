@@ -0,0 +1,39 @@
+package com.example.backend.simulation;
+
+import com.example.backend.service.AiMoveEvaluator;
+import com.example.backend.service.LudoRulesEngine;
+import com.example.backend.service.PackedBoard;
+import java.util.random.RandomGenerator;
+
+/**
+ * How a simulated seat picks one of its legal tokens. Policies backed by AiMoveEvaluator
+ * keep scratch boards, so every simulation thread creates its own instances.
+ */
+interface MovePolicy {
+
+    /**
+     * @param valid non-empty bitmask of legal tokens (LudoRulesEngine.validMoves)
+     * @return token index
+     */
+    int choose(PackedBoard board, int seat, int dice, int valid, RandomGenerator random);
+
+    static MovePolicy create(String name, LudoRulesEngine rules) {
+        switch (name) {
+            case "random":
+                return (board, seat, dice, valid, random) -> {
+                    for (int skip = random.nextInt(Integer.bitCount(valid)); skip > 0; skip--) valid &= valid - 1;
+                    return Integer.numberOfTrailingZeros(valid);
+                };
+            case "first":
+                return (board, seat, dice, valid, random) -> Integer.numberOfTrailingZeros(valid);
+            default:
+                // same search settings as the app.ai.* defaults
+                AiMoveEvaluator evaluator = new AiMoveEvaluator(rules, AiMoveEvaluator.Level.parse(name), 2, 32, 16);
+                return (board, seat, dice, valid, random) -> evaluator.chooseToken(board, seat, dice, random);
+        }
+    }
+
+    static void validate(String name) {
+        if (!name.equals("random") && !name.equals("first")) AiMoveEvaluator.Level.parse(name);
+    }
+}
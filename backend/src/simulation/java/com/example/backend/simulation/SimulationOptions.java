@@ -0,0 +1,76 @@
+package com.example.backend.simulation;
+
+import com.example.backend.service.RuleVariant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command-line options for the game simulator (all optional, --name=value).
+ * - --games: complete games to play (default 1000000)
+ * - --rules: RuleVariant name, e.g. players=6,blockades (default standard)
+ * - --players: seats per game, 2 up to the board size of the rules, seated in the lobby's color
+ *   order (default 4)
+ * - --policies: comma-separated move policy per seat in turn order, or one for every seat:
+ *   random, first, heuristic, expectiminimax or monte-carlo (default random)
+ * - --max-turns: rolls after which an unfinished game is abandoned and counted as capped (default 2000)
+ * - --threads: fork-join parallelism (default: available processors)
+ * - --seed: seed of the root random generator; a run is reproducible for the same seed and
+ *   options whatever the thread count (default: random, printed in the report)
+ * - --check: verify rule invariants after every move, including captures and the board's occupancy
+ *   index against a scan of all tokens, and report violating game seeds (default false)
+ * - --replay: play the single game with this seed, printing every roll and move
+ */
+record SimulationOptions(long games,
+                         RuleVariant rules,
+                         int players,
+                         List<String> policies,
+                         int maxTurns,
+                         int threads,
+                         long seed,
+                         boolean check,
+                         Long replaySeed) {
+
+    static SimulationOptions parse(String[] args) {
+        long games = 1_000_000;
+        RuleVariant rules = RuleVariant.STANDARD;
+        int players = 4;
+        String policies = "random";
+        int maxTurns = 2000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        boolean check = false;
+        Long replay = null;
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unexpected argument " + arg);
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? "true" : arg.substring(eq + 1);
+            switch (name) {
+                case "games" -> games = Long.parseLong(value);
+                case "rules" -> rules = RuleVariant.parse(value);
+                case "players" -> players = Integer.parseInt(value);
+                case "policies" -> policies = value;
+                case "max-turns" -> maxTurns = Integer.parseInt(value);
+                case "threads" -> threads = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "check" -> check = Boolean.parseBoolean(value);
+                case "replay" -> replay = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (players < 2 || players > rules.seats()) {
+            throw new IllegalArgumentException("--players must be 2.." + rules.seats() + " with rules " + rules.name());
+        }
+        if (games < 1 || maxTurns < 1 || threads < 1) {
+            throw new IllegalArgumentException("--games, --max-turns and --threads must be positive");
+        }
+        List<String> perSeat = new ArrayList<>(List.of(policies.split(",")));
+        if (perSeat.size() == 1) {
+            while (perSeat.size() < players) perSeat.add(perSeat.get(0));
+        }
+        if (perSeat.size() != players) throw new IllegalArgumentException("--policies needs one policy or one per player");
+        // fail fast on unknown names
+        perSeat.forEach(MovePolicy::validate);
+        return new SimulationOptions(games, rules, players, List.copyOf(perSeat), maxTurns, threads, seed, check, replay);
+    }
+}
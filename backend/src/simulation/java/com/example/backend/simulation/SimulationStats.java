@@ -0,0 +1,78 @@
+package com.example.backend.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counters gathered by one simulation task; tasks merge their results pairwise on join.
+ * Game length is counted in rolls, extra rolls after a six included.
+ */
+final class SimulationStats {
+
+    private static final int MAX_REPORTED_VIOLATIONS = 10;
+
+    long games;
+    long finished;
+    long capped;
+    long rolls;
+    long moves;
+    long passes;
+    long captures;
+    final long[] winsByPosition;
+    // index = game length in rolls, finished games only
+    final long[] lengths;
+    long violations;
+    final List<String> violationSamples = new ArrayList<>();
+
+    SimulationStats(int players, int maxTurns) {
+        this.winsByPosition = new long[players];
+        this.lengths = new long[maxTurns + 1];
+    }
+
+    void violation(long seed, String message) {
+        violations++;
+        if (violationSamples.size() < MAX_REPORTED_VIOLATIONS) violationSamples.add("seed=" + seed + " " + message);
+    }
+
+    SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        finished += other.finished;
+        capped += other.capped;
+        rolls += other.rolls;
+        moves += other.moves;
+        passes += other.passes;
+        captures += other.captures;
+        for (int i = 0; i < winsByPosition.length; i++) winsByPosition[i] += other.winsByPosition[i];
+        for (int i = 0; i < lengths.length; i++) lengths[i] += other.lengths[i];
+        violations += other.violations;
+        for (String sample : other.violationSamples) {
+            if (violationSamples.size() >= MAX_REPORTED_VIOLATIONS) break;
+            violationSamples.add(sample);
+        }
+        return this;
+    }
+
+    double meanLength() {
+        if (finished == 0) return 0;
+        double sum = 0;
+        for (int i = 0; i < lengths.length; i++) sum += (double) i * lengths[i];
+        return sum / finished;
+    }
+
+    int lengthPercentile(double p) {
+        long rank = (long) Math.ceil(p * finished);
+        long seen = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            seen += lengths[i];
+            if (seen >= rank && seen > 0) return i;
+        }
+        return 0;
+    }
+
+    int maxLength() {
+        for (int i = lengths.length - 1; i > 0; i--) {
+            if (lengths[i] > 0) return i;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.dto.GameDeltaEvent;
+import com.example.backend.dto.GameStateDTO;
+import com.example.backend.dto.RoomDTO;
+import com.example.backend.dto.actions.CreateRoomRequest;
+import com.example.backend.dto.actions.JoinRequest;
+import com.example.backend.dto.actions.RollRequest;
+import com.example.backend.loadtest.LocalStompBroker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+/**
+ * End-to-end STOMP round trip with app.ws.broker=relay: two clients subscribe to a room topic
+ * through the node, a command sent over STOMP is applied, and its delta comes back to both
+ * clients through the external broker (LocalStompBroker) rather than the simple broker.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.ws.broker=relay", "app.ws.transport=native"})
+@ActiveProfiles("loadtest")
+class StompBrokerRelayTest {
+
+    private static LocalStompBroker broker;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private final List<StompSession> sessions = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void relay(DynamicPropertyRegistry registry) throws IOException {
+        if (broker == null) broker = LocalStompBroker.start(0);
+        registry.add("app.ws.relay.host", () -> "localhost");
+        registry.add("app.ws.relay.port", broker::port);
+    }
+
+    @AfterEach
+    void disconnect() {
+        for (StompSession s : sessions) {
+            if (s.isConnected()) s.disconnect();
+        }
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        if (broker != null) broker.close();
+    }
+
+    @Test
+    void commandRoundTripsThroughTheBrokerToEverySubscriber() throws Exception {
+        String code = rest.postForObject("/api/rooms", new CreateRoomRequest().setName("relay"), RoomDTO.class).getRoomCode();
+        rest.postForObject("/api/rooms/" + code + "/join", new JoinRequest().setName("p1"), Object.class);
+        rest.postForObject("/api/rooms/" + code + "/join", new JoinRequest().setName("p2"), Object.class);
+        rest.postForObject("/api/rooms/" + code + "/start", null, Void.class);
+        String turn = rest.getForObject("/api/rooms/" + code + "/state", GameStateDTO.class).getCurrentTurnColor();
+
+        BlockingQueue<GameDeltaEvent> first = subscribe(code);
+        BlockingQueue<GameDeltaEvent> second = subscribe(code);
+        long deliveredBefore = broker.delivered();
+
+        sessions.get(0).send("/app/game/" + code + "/action.roll", new RollRequest().setColor(turn));
+
+        for (BlockingQueue<GameDeltaEvent> events : List.of(first, second)) {
+            GameDeltaEvent event = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event, "delta delivered to every subscriber");
+            assertEquals(GameDeltaEvent.DICE_ROLLED, event.getType());
+            assertEquals(turn, event.getColor());
+            assertEquals(1, event.getSeq());
+        }
+        assertTrue(broker.delivered() - deliveredBefore >= 2, "fan-out ran on the external broker");
+    }
+
+    /**
+     * Connect a new session and subscribe it to the room topic; returns once the broker has
+     * acknowledged the subscription.
+     */
+    private BlockingQueue<GameDeltaEvent> subscribe(String code) throws Exception {
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(mapper);
+        client.setMessageConverter(converter);
+        StompSession session = client.connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        sessions.add(session);
+        session.setAutoReceipt(true);
+
+        BlockingQueue<GameDeltaEvent> events = new LinkedBlockingQueue<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
+        session.subscribe("/topic/game/" + code, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return GameDeltaEvent.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                events.add((GameDeltaEvent) payload);
+            }
+        }).addReceiptTask(subscribed::countDown);
+        assertTrue(subscribed.await(10, TimeUnit.SECONDS), "broker acknowledged the subscription");
+        return events;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+
+class WebSocketTransportMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void executorWithoutQueueReportsWaitingAndRunningFrames() throws InterruptedException {
+        // stands in for the virtual-thread executor: tasks wait here until a thread picks them up
+        List<Runnable> submitted = new ArrayList<>();
+        Executor executor = new WebSocketTransportMetrics(registry).monitor("inbound", submitted::add);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> { });
+        assertEquals(2, gauge("ws.channel.queued"));
+        assertEquals(0, gauge("ws.channel.active"));
+
+        Thread worker = new Thread(submitted.get(0));
+        worker.start();
+        running.await();
+        assertEquals(1, gauge("ws.channel.queued"));
+        assertEquals(1, gauge("ws.channel.active"));
+
+        release.countDown();
+        worker.join();
+        submitted.get(1).run();
+        assertEquals(0, gauge("ws.channel.queued"));
+        assertEquals(0, gauge("ws.channel.active"));
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).tag("channel", "inbound").gauge().value();
+    }
+}
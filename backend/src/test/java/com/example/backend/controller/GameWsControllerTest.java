@@ -0,0 +1,58 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.dto.actions.RollRequest;
+import com.example.backend.service.GameService;
+import com.example.backend.service.VersionConflictException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+class GameWsControllerTest {
+
+    private record Sent(String user, String destination, Object payload, Map<String, Object> headers) {}
+
+    private final List<Sent> sent = new ArrayList<>();
+    private final SimpMessagingTemplate messaging = new SimpMessagingTemplate(mock(MessageChannel.class)) {
+        @Override
+        public void convertAndSendToUser(String user, String destination, Object payload, Map<String, Object> headers) {
+            sent.add(new Sent(user, destination, payload, headers));
+        }
+    };
+
+    @Test
+    void staleRollIsAnsweredToTheSenderWithTheCurrentVersion() {
+        GameService games = mock(GameService.class);
+        when(games.rollDice("ROOM1", "BLUE", 3L))
+                .thenReturn(CompletableFuture.failedFuture(new VersionConflictException(3, 5)));
+        when(games.rollDice("ROOM1", "RED", null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Not your turn")));
+        GameWsController controller = new GameWsController(games, messaging);
+
+        controller.roll("ROOM1", new RollRequest().setColor("BLUE").setExpectedVersion(3L), "session-1");
+        controller.roll("ROOM1", new RollRequest().setColor("RED"), "session-2");
+
+        assertEquals(2, sent.size());
+        Sent conflict = sent.get(0);
+        assertEquals("session-1", conflict.user());
+        assertEquals("/queue/errors", conflict.destination());
+        assertEquals("session-1", conflict.headers().get(SimpMessageHeaderAccessor.SESSION_ID_HEADER));
+        GlobalExceptionHandler.ErrorBody body = (GlobalExceptionHandler.ErrorBody) conflict.payload();
+        assertEquals("VERSION_CONFLICT", body.code());
+        assertEquals(5, body.currentVersion().longValue());
+
+        GlobalExceptionHandler.ErrorBody notYourTurn = (GlobalExceptionHandler.ErrorBody) sent.get(1).payload();
+        assertEquals("session-2", sent.get(1).user());
+        assertEquals("CONFLICT", notYourTurn.code());
+        assertNull(notYourTurn.currentVersion());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.domain.Player;
+import com.example.backend.repository.PlayerRepository;
+import com.example.backend.repository.RoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AiPlayerServiceTest {
+
+    private static final String ROOM = "AIROOM";
+
+    private final PlayerRepository players = mock(PlayerRepository.class);
+    private final AtomicInteger lookups = new AtomicInteger();
+    private volatile List<Player> seated = List.of();
+    private GameStateCache cache;
+    private MoveLogAppender moveLog;
+    private AiPlayerService ai;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        InMemoryGameStore store = new InMemoryGameStore();
+        RoomActorExecutor actors = new RoomActorExecutor(2);
+        BroadcastService broadcast = mock(BroadcastService.class);
+        moveLog = new MoveLogAppender(store, actors, meters, 1000);
+        cache = new GameStateCache(store, mock(RoomRepository.class), actors, moveLog, meters);
+        GameCommandPipeline pipeline = new GameCommandPipeline(cache, actors, broadcast, moveLog, meters);
+        ClusterNode node = ClusterNode.standalone();
+        ShardRouter router = new ShardRouter(node, pipeline, cache, broadcast, mock(LobbyIndex.class));
+        when(players.findByRoom_RoomCodeOrderByTurnOrderAsc(ROOM)).thenAnswer(inv -> {
+            lookups.incrementAndGet();
+            return seated;
+        });
+        ai = new AiPlayerService(cache, router, pipeline, players, meters, 1);
+        ai.register();
+        // no room id, as for a game rehydrated from the journal
+        store.gameStarted(ROOM, null, new LudoRulesEngine().initialBoardState(List.of("RED", "BLUE"), "RED"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ai.shutdown();
+        moveLog.shutdown();
+    }
+
+    @Test
+    void aiSeatsAreFoundByRoomCodeAndAnEmptyLookupIsNotCached() throws InterruptedException {
+        assertNull(cache.find(ROOM).getRoomId());
+
+        // players not visible yet: no AI turn, and no "no AI seats" remembered for the room
+        ai.sweep();
+        await(() -> lookups.get() == 1);
+        assertEquals(0, cache.find(ROOM).snapshot().version());
+
+        seated = List.of(new Player("bot", "RED", true, 0), new Player("human", "BLUE", false, 1));
+        await(() -> {
+            ai.sweep();
+            return cache.find(ROOM).snapshot().version() > 0;
+        });
+        assertEquals(2, lookups.get(), "seat mask cached once players were found");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.backend.dto.GameDeltaEvent;
+import com.example.backend.dto.GameStateDTO;
+import com.example.backend.repository.RoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class GameCommandPipelineTest {
+
+    private static final String ROOM = "PIPE1";
+
+    private final BroadcastService broadcast = mock(BroadcastService.class);
+    private GameStateCache cache;
+    private MoveLogAppender moveLog;
+    private GameCommandPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        InMemoryGameStore store = new InMemoryGameStore();
+        RoomActorExecutor actors = new RoomActorExecutor(2);
+        moveLog = new MoveLogAppender(store, actors, meters, 1000);
+        cache = new GameStateCache(store, mock(RoomRepository.class), actors, moveLog, meters);
+        pipeline = new GameCommandPipeline(cache, actors, broadcast, moveLog, meters);
+        store.gameStarted(ROOM, null, new LudoRulesEngine().initialBoardState(List.of("RED", "BLUE"), "RED"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // also stops the room actors
+        moveLog.shutdown();
+    }
+
+    @Test
+    void everyAppliedCommandIsBroadcastExactlyOnce() {
+        int commands = 0;
+        while (commands < 300 && !cache.find(ROOM).snapshot().board().hasFinishedSeat()) {
+            GameStateDTO state = pipeline.submit(nextCommand()).join();
+            commands++;
+            assertEquals(commands, state.getSeq());
+            verify(broadcast, times(commands)).publish(eq(ROOM), any(GameDeltaEvent.class));
+        }
+
+        ArgumentCaptor<GameDeltaEvent> events = ArgumentCaptor.forClass(GameDeltaEvent.class);
+        verify(broadcast, times(commands)).publish(eq(ROOM), events.capture());
+        for (int i = 0; i < commands; i++) {
+            assertEquals(i + 1, events.getAllValues().get(i).getSeq(), "one event per seq, in order");
+        }
+    }
+
+    @Test
+    void rejectedCommandsAreNotBroadcast() {
+        pipeline.submit(new GameCommand.Roll(ROOM, "RED", null)).join();
+        verify(broadcast, times(1)).publish(eq(ROOM), any(GameDeltaEvent.class));
+        String waiting = PackedBoard.colorOf(cache.find(ROOM).snapshot().board().currentSeat()).equals("RED") ? "BLUE" : "RED";
+
+        CompletionException notYourTurn = assertThrows(CompletionException.class,
+                () -> pipeline.submit(new GameCommand.Roll(ROOM, waiting, null)).join());
+        assertInstanceOf(IllegalStateException.class, notYourTurn.getCause());
+        CompletionException stale = assertThrows(CompletionException.class,
+                () -> pipeline.submit(new GameCommand.Roll(ROOM, waiting, 0L)).join());
+        assertInstanceOf(VersionConflictException.class, stale.getCause());
+
+        verify(broadcast, times(1)).publish(eq(ROOM), any(GameDeltaEvent.class));
+    }
+
+    /**
+     * Roll when no dice is pending, otherwise move the first token the dice allows.
+     */
+    private GameCommand nextCommand() {
+        PackedBoard board = cache.find(ROOM).snapshot().board();
+        String color = PackedBoard.colorOf(board.currentSeat());
+        if (board.dice() == PackedBoard.NO_DICE) return new GameCommand.Roll(ROOM, color, null);
+        int valid = cache.find(ROOM).rules().validMoves(board, board.currentSeat(), board.dice());
+        return new GameCommand.Move(ROOM, color, Integer.numberOfTrailingZeros(valid), null, null);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.dto.GameStateDTO;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class GameServiceTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final ShardRouter router = mock(ShardRouter.class);
+    private final GameService games = new GameService(mock(GameStateCache.class), router, meters);
+
+    @Test
+    void commandTimerIncludesTimeSpentSubmitting() {
+        // e.g. a forward to the owning node that blocks before handing back its future
+        when(router.submit(any(GameCommand.class))).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return CompletableFuture.completedFuture(new GameStateDTO());
+        });
+
+        games.rollDice("ROOM1", "RED", null).join();
+
+        Timer timer = meters.get("game.command").tag("command", "roll").tag("outcome", "ok").timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 50, "submit time is counted");
+    }
+
+    @Test
+    void submitFailureIsRecorded() {
+        when(router.submit(any(GameCommand.class))).thenThrow(new IllegalStateException("Room is moving"));
+
+        assertThrows(IllegalStateException.class, () -> games.moveToken("ROOM1", "RED", 0, null, null));
+
+        assertEquals(1, meters.get("game.command").tag("command", "move").tag("outcome", "rejected").timer().count());
+    }
+}
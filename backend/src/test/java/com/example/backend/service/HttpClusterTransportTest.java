@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class HttpClusterTransportTest {
+
+    private static final String PEERS = "node-a=http://localhost:3001,node-b=http://localhost:3002";
+
+    @Test
+    void startupFailsWithoutSecret() {
+        assertThrows(IllegalStateException.class,
+                () -> new HttpClusterTransport(new ObjectMapper(), "node-a", PEERS, "", 1000));
+        assertThrows(IllegalStateException.class,
+                () -> new HttpClusterTransport(new ObjectMapper(), "node-a", PEERS, "  ", 1000));
+    }
+
+    @Test
+    void onlyTheExactSecretIsAccepted() {
+        HttpClusterTransport transport = new HttpClusterTransport(new ObjectMapper(), "node-a", PEERS, "s3cret", 1000);
+
+        assertDoesNotThrow(() -> transport.checkSecret("s3cret"));
+        assertThrows(SecurityException.class, () -> transport.checkSecret(null));
+        assertThrows(SecurityException.class, () -> transport.checkSecret(""));
+        assertThrows(SecurityException.class, () -> transport.checkSecret("s3cre"));
+        assertThrows(SecurityException.class, () -> transport.checkSecret("s3cret "));
+    }
+}
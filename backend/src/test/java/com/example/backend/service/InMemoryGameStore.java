@@ -0,0 +1,74 @@
+package com.example.backend.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * GameStore held in memory. Snapshots are kept in their binary form and loads replay the
+ * events after the latest one, as the real backends do; several nodes of a test cluster
+ * can share one instance the way they share the database.
+ */
+class InMemoryGameStore implements GameStore {
+
+    private record Snapshot(long seq, byte[] board, Instant at) {}
+
+    private final Map<String, Snapshot> snapshots = new HashMap<>();
+    private final Map<String, List<GameEvent>> events = new HashMap<>();
+
+    @Override
+    public synchronized void gameStarted(String roomCode, Long roomId, PackedBoard board) {
+        snapshots.put(roomCode, new Snapshot(0, BoardCodec.toBytes(board), Instant.now()));
+        events.put(roomCode, new ArrayList<>());
+    }
+
+    @Override
+    public synchronized void appendEvents(List<MoveLogAppender.Entry> batch) {
+        for (MoveLogAppender.Entry e : batch) {
+            events.computeIfAbsent(e.game().getRoomCode(), k -> new ArrayList<>()).add(new GameEvent(e.seq(), e.type(),
+                    PackedBoard.seatOf(e.color()), e.tokenIndex() == null ? -1 : e.tokenIndex(), e.dice(), e.at()));
+        }
+    }
+
+    @Override
+    public synchronized void writeSnapshots(List<SnapshotWrite> batch) {
+        for (SnapshotWrite w : batch) {
+            GameSnapshot snap = w.snapshot();
+            Snapshot prev = snapshots.get(w.game().getRoomCode());
+            if (prev == null || prev.seq() < snap.version()) {
+                snapshots.put(w.game().getRoomCode(), new Snapshot(snap.version(), BoardCodec.toBytes(snap.board()), snap.updatedAt()));
+            }
+        }
+    }
+
+    @Override
+    public synchronized Optional<StoredGame> load(String roomCode, long upToSeq) {
+        Snapshot snap = snapshots.get(roomCode);
+        if (snap == null) return Optional.empty();
+        PackedBoard board = BoardCodec.fromBytes(snap.board());
+        List<GameEvent> tail = new ArrayList<>();
+        for (GameEvent e : events.getOrDefault(roomCode, List.of())) {
+            if (e.seq() > snap.seq() && e.seq() <= upToSeq) tail.add(e);
+        }
+        long seq = GameReplayService.replay(board, snap.seq(), tail);
+        return Optional.of(new StoredGame(null, null, board, seq, snap.seq(), snap.at()));
+    }
+
+    @Override
+    public synchronized List<String> activeRooms() {
+        return List.copyOf(snapshots.keySet());
+    }
+
+    /**
+     * @return sequence number of the latest event or snapshot stored for a room, or -1
+     */
+    synchronized long latestSeq(String roomCode) {
+        Snapshot snap = snapshots.get(roomCode);
+        long seq = snap == null ? -1 : snap.seq();
+        for (GameEvent e : events.getOrDefault(roomCode, List.of())) seq = Math.max(seq, e.seq());
+        return seq;
+    }
+}
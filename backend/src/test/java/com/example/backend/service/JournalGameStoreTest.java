@@ -0,0 +1,205 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.domain.MoveLog;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class JournalGameStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sixPlayerGameSurvivesReopen() {
+        LudoRulesEngine rules = LudoRulesEngine.forVariant(RuleVariant.parse("six-player"));
+        PackedBoard board = rules.initialBoardState(
+                List.of("RED", "GREEN", "BLUE", "YELLOW", "ORANGE", "PURPLE"), "PURPLE");
+        board.setPosition(5, 0, 70).setPosition(4, 3, PackedBoard.HOME_COLUMN + 2);
+        Instant at = Instant.ofEpochMilli(1_700_000_000_000L);
+
+        JournalGameStore store = open();
+        store.gameStarted("SIX1", null, board);
+        LiveGame game = new LiveGame("SIX1", null, null, board.copy(), 0, 0, at);
+        store.appendEvents(List.of(new MoveLogAppender.Entry(game, 1, MoveLog.ROLL, "PURPLE", null, null, null, 3, at)));
+        store.close();
+
+        PackedBoard expected = board.copy();
+        rules.applyRoll(expected, 3);
+        GameStore.StoredGame loaded = open().load("SIX1", Long.MAX_VALUE).orElseThrow();
+        assertEquals(1, loaded.seq());
+        assertEquals(0, loaded.snapshotSeq());
+        assertEquals(RuleVariant.parse("six-player"), loaded.board().variant());
+        assertArrayEquals(BoardCodec.toBytes(expected), BoardCodec.toBytes(loaded.board()));
+    }
+
+    @Test
+    void twoTokenSnapshotSurvivesReopen() {
+        LudoRulesEngine rules = LudoRulesEngine.forVariant(RuleVariant.parse("quick,blockades"));
+        PackedBoard board = rules.initialBoardState(List.of("RED", "BLUE"), "BLUE");
+        board.setPosition(0, 1, 40).setDice(6).setSixes(1);
+        Instant at = Instant.ofEpochMilli(1_700_000_000_000L);
+        LiveGame game = new LiveGame("QCK1", null, null, board, 5, 0, at);
+
+        JournalGameStore store = open();
+        store.gameStarted("QCK1", null, rules.initialBoardState(List.of("RED", "BLUE"), "BLUE"));
+        store.writeSnapshots(List.of(new GameStore.SnapshotWrite(game, new GameSnapshot(5, board.copy(), at))));
+        store.close();
+
+        GameStore.StoredGame loaded = open().load("QCK1", Long.MAX_VALUE).orElseThrow();
+        assertEquals(5, loaded.seq());
+        assertEquals(5, loaded.snapshotSeq());
+        assertEquals(2, loaded.board().tokens());
+        assertTrue(loaded.board().variant().blockades());
+        assertArrayEquals(BoardCodec.toBytes(board), BoardCodec.toBytes(loaded.board()));
+    }
+
+    @Test
+    void legacySnapshotRecordIsDecoded() throws IOException {
+        byte[] board = new byte[24];
+        board[0] = 1; // format 1
+        board[1] = 2; // seats
+        board[2] = 0; // RED
+        board[3] = 2; // BLUE
+        board[6] = 2; // current seat BLUE
+        board[7] = 4; // dice
+        for (int i = 8; i < board.length; i++) board[i] = PackedBoard.HOME;
+        board[8] = 17; // RED token 0 on the track
+        board[16] = 53; // BLUE token 0 second home column square (legacy column starts at 52)
+        Files.write(dir.resolve("segment-0000000000000001.log"), legacyRecord("OLD1", 0, board));
+
+        JournalGameStore store = open();
+        PackedBoard loaded = store.load("OLD1", Long.MAX_VALUE).orElseThrow().board();
+        assertEquals(RuleVariant.STANDARD, loaded.variant());
+        assertEquals(17, loaded.position(0, 0));
+        assertEquals(PackedBoard.HOME_COLUMN + 1, loaded.position(2, 0));
+        assertEquals(2, loaded.currentSeat());
+        assertEquals(4, loaded.dice());
+
+        // appends after a legacy record keep the segment readable
+        LudoRulesEngine rules = LudoRulesEngine.forVariant(RuleVariant.parse("players=6,tokens=2"));
+        PackedBoard six = rules.initialBoardState(List.of("RED", "ORANGE"), "RED");
+        store.gameStarted("NEW1", null, six);
+        store.close();
+        JournalGameStore reopened = open();
+        assertEquals(17, reopened.load("OLD1", Long.MAX_VALUE).orElseThrow().board().position(0, 0));
+        assertArrayEquals(BoardCodec.toBytes(six), BoardCodec.toBytes(reopened.load("NEW1", 0).orElseThrow().board()));
+    }
+
+    @Test
+    void finishingMoveEndsTheRoomsActiveState() {
+        PackedBoard board = LudoRulesEngine.forVariant(RuleVariant.parse("tokens=1"))
+                .initialBoardState(List.of("RED", "BLUE"), "RED");
+        board.setPosition(0, 0, PackedBoard.HOME_COLUMN + 4);
+        Instant at = Instant.ofEpochMilli(1_700_000_000_000L);
+        LiveGame game = new LiveGame("FIN1", null, null, board.copy(), 0, 0, at);
+
+        JournalGameStore store = open();
+        store.gameStarted("FIN1", null, board);
+        store.appendEvents(List.of(new MoveLogAppender.Entry(game, 1, MoveLog.ROLL, "RED", null, null, null, 1, at)));
+        assertEquals(List.of("FIN1"), store.activeRooms());
+        store.appendEvents(List.of(new MoveLogAppender.Entry(game, 2, MoveLog.MOVE, "RED", 0, "H5", "FINISHED", 1, at)));
+        assertEquals(List.of(), store.activeRooms());
+        store.close();
+
+        assertEquals(List.of(), open().activeRooms());
+    }
+
+    @Test
+    void startIsJournaledOnlyOnceCommitted() {
+        PackedBoard board = new LudoRulesEngine().initialBoardState(List.of("RED", "BLUE"), "RED");
+        JournalGameStore store = open();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.gameStarted("TXN1", null, board);
+            assertTrue(store.load("TXN1", Long.MAX_VALUE).isEmpty(), "nothing journaled before commit");
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, store.load("TXN1", Long.MAX_VALUE).orElseThrow().seq());
+
+        // rolled back: the synchronization is discarded without afterCommit
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.gameStarted("TXN2", null, board);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        store.close();
+        assertTrue(open().load("TXN2", Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void compactionKeepsTheFinalBoardOfAFinishedGame() throws IOException {
+        PackedBoard board = LudoRulesEngine.forVariant(RuleVariant.parse("tokens=1"))
+                .initialBoardState(List.of("RED", "BLUE"), "RED");
+        board.setPosition(0, 0, PackedBoard.HOME_COLUMN + 4);
+        Instant at = Instant.ofEpochMilli(1_700_000_000_000L);
+        LiveGame game = new LiveGame("FIN1", null, null, board.copy(), 0, 0, at);
+
+        // ten snapshot records per segment, compacting once a segment is sealed
+        JournalGameStore store = open(1024, 1);
+        store.gameStarted("FIN1", null, board);
+        store.appendEvents(List.of(
+                new MoveLogAppender.Entry(game, 1, MoveLog.ROLL, "RED", null, null, null, 1, at),
+                new MoveLogAppender.Entry(game, 2, MoveLog.MOVE, "RED", 0, "H5", "FINISHED", 1, at)));
+        PackedBoard active = LudoRulesEngine.forVariant(RuleVariant.STANDARD).initialBoardState(List.of("RED", "BLUE"), "RED");
+        LiveGame other = new LiveGame("ACT1", null, null, active, 0, 0, at);
+        store.gameStarted("ACT1", null, active);
+        for (int seq = 1; seq <= 30; seq++) {
+            store.writeSnapshots(List.of(new GameStore.SnapshotWrite(other, new GameSnapshot(seq, active.copy(), at))));
+        }
+        store.close();
+        try (Stream<Path> segments = Files.list(dir)) {
+            assertTrue(segments.count() < 5, "compaction deleted the sealed segments");
+        }
+
+        JournalGameStore reopened = open(1024, 1);
+        GameStore.StoredGame finished = reopened.load("FIN1", Long.MAX_VALUE).orElseThrow();
+        assertEquals(2, finished.seq());
+        assertEquals(2, finished.snapshotSeq());
+        assertEquals(PackedBoard.FINISHED, finished.board().position(0, 0));
+        assertTrue(finished.board().hasFinishedSeat());
+        assertEquals(List.of("ACT1"), reopened.activeRooms());
+    }
+
+    private JournalGameStore open() {
+        return open(1 << 16, 4);
+    }
+
+    private JournalGameStore open(long segmentBytes, int compactAfterSegments) {
+        JournalGameStore store = new JournalGameStore(dir.toString(), segmentBytes, "always", compactAfterSegments);
+        store.recover();
+        return store;
+    }
+
+    private static byte[] legacyRecord(String roomCode, long seq, byte[] board) {
+        byte[] rec = new byte[JournalGameStore.RECORD_SIZE];
+        ByteBuffer b = ByteBuffer.wrap(rec);
+        b.put((byte) 3).put((byte) 0).put((byte) 0).put((byte) 0);
+        b.put(roomCode.getBytes(StandardCharsets.US_ASCII));
+        b.position(12);
+        b.putLong(seq).putLong(1_600_000_000_000L);
+        System.arraycopy(board, 0, rec, 28, board.length);
+        CRC32 crc = new CRC32();
+        crc.update(rec, 0, rec.length - 4);
+        b.putInt(rec.length - 4, (int) crc.getValue());
+        return rec;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.backend.dto.LobbyRoomDTO;
+import com.example.backend.dto.LobbyStatus;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LobbyIndexTest {
+
+    // apply and page only touch the in-memory maps
+    private final LobbyIndex lobby = new LobbyIndex(null, null, null);
+
+    @Test
+    void roomIsFullAtItsOwnSeatCount() {
+        lobby.apply(change(1, "FOUR", 4, RuleVariant.STANDARD.seats()));
+        lobby.apply(change(2, "SIX", 4, RuleVariant.parse("six-player").seats()));
+
+        assertEquals(List.of("FOUR"), codes(LobbyStatus.FULL));
+        assertEquals(List.of("SIX"), codes(LobbyStatus.OPEN));
+        assertEquals(6, lobby.page(LobbyStatus.OPEN, null, 10).getRooms().get(0).getMaxPlayers());
+
+        lobby.apply(change(2, "SIX", 6, 6));
+        assertEquals(List.of("SIX", "FOUR"), codes(LobbyStatus.FULL));
+        assertEquals(List.of(), codes(LobbyStatus.OPEN));
+    }
+
+    private List<String> codes(LobbyStatus status) {
+        return lobby.page(status, null, 10).getRooms().stream().map(LobbyRoomDTO::getRoomCode).toList();
+    }
+
+    private static LobbyChange change(long id, String code, int players, int seats) {
+        return new LobbyChange(id, code, code, Instant.EPOCH, players, seats, false);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PackedBoardTest {
+
+    private static final RuleVariant[] VARIANTS = {
+        RuleVariant.STANDARD, RuleVariant.parse("quick,blockades"), RuleVariant.parse("players=6,tokens=3,open-start")
+    };
+
+    @Test
+    void occupancyMatchesScanAfterRandomUpdates() {
+        Random rnd = new Random(24);
+        for (RuleVariant variant : VARIANTS) {
+            PackedBoard board = new PackedBoard(variant);
+            for (int seat = 0; seat < variant.seats(); seat++) board.addSeat(seat);
+            for (int step = 0; step < 20_000; step++) {
+                int seat = rnd.nextInt(variant.seats());
+                int token = rnd.nextInt(variant.tokens());
+                board.setPosition(seat, token, randomPosition(rnd));
+                if (step % 97 == 0) board = step % 2 == 0 ? board.copy() : new PackedBoard(variant).copyFrom(board);
+                assertIndexMatchesScan(board, variant.name() + " step " + step);
+            }
+        }
+    }
+
+    @Test
+    void occupancyMatchesScanThroughPlayedGames() {
+        Random rnd = new Random(2024);
+        for (RuleVariant variant : VARIANTS) {
+            LudoRulesEngine rules = LudoRulesEngine.forVariant(variant);
+            List<String> colors = new ArrayList<>();
+            for (int seat = 0; seat < variant.seats(); seat++) colors.add(PackedBoard.colorOf(seat));
+            for (int game = 0; game < 50; game++) {
+                PackedBoard board = rules.initialBoardState(colors, colors.get(0));
+                MoveOutcome outcome = new MoveOutcome();
+                for (int turn = 0; turn < 2_000 && !board.hasFinishedSeat(); turn++) {
+                    int seat = board.currentSeat();
+                    int dice = 1 + rnd.nextInt(6);
+                    if (!rules.applyRoll(board, dice)) continue;
+                    int valid = rules.validMoves(board, seat, dice);
+                    int pick = rnd.nextInt(Integer.bitCount(valid));
+                    int token = Integer.numberOfTrailingZeros(valid);
+                    for (int i = 0; i < pick; i++) {
+                        valid &= valid - 1;
+                        token = Integer.numberOfTrailingZeros(valid);
+                    }
+                    int target = rules.destination(seat, board.position(seat, token), dice);
+                    int expectedCaptures = capturesByScan(rules, board, seat, target);
+                    rules.playMove(board, seat, token, dice, outcome);
+                    assertEquals(expectedCaptures, outcome.captureMask(), variant.name() + " captures");
+                    assertIndexMatchesScan(board, variant.name() + " game " + game + " turn " + turn);
+                }
+            }
+        }
+    }
+
+    private static int randomPosition(Random rnd) {
+        int r = rnd.nextInt(10);
+        if (r == 0) return PackedBoard.HOME;
+        if (r == 1) return PackedBoard.FINISHED;
+        if (r == 2) return PackedBoard.HOME_COLUMN + rnd.nextInt(5);
+        // a few squares only, so tokens stack up and form blockades
+        return r < 6 ? rnd.nextInt(4) : rnd.nextInt(PackedBoard.MAX_TRACK_SQUARES);
+    }
+
+    private static void assertIndexMatchesScan(PackedBoard board, String where) {
+        for (int square = 0; square < PackedBoard.MAX_TRACK_SQUARES; square++) {
+            int scanned = 0;
+            for (int seat = 0; seat < PackedBoard.SEATS; seat++) {
+                for (int t = 0; t < PackedBoard.TOKENS_PER_SEAT; t++) {
+                    if (board.position(seat, t) == square) scanned |= 1 << (seat * PackedBoard.TOKENS_PER_SEAT + t);
+                }
+            }
+            assertEquals(scanned, board.occupants(square), where + " square " + square);
+            for (int seat = 0; seat < PackedBoard.SEATS; seat++) {
+                assertEquals(blockadeByScan(board, square, seat), board.isBlockade(square, seat),
+                        where + " blockade square " + square + " seat " + seat);
+            }
+        }
+    }
+
+    private static boolean blockadeByScan(PackedBoard board, int square, int seat) {
+        for (int other = 0; other < PackedBoard.SEATS; other++) {
+            if (other == seat) continue;
+            int count = 0;
+            for (int t = 0; t < PackedBoard.TOKENS_PER_SEAT; t++) {
+                if (board.position(other, t) == square) count++;
+            }
+            if (count >= 2) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tokens of other seats a move onto the target square captures, found by scanning every token.
+     */
+    private static int capturesByScan(LudoRulesEngine rules, PackedBoard board, int seat, int target) {
+        if (target < 0 || target >= rules.trackLength() || !rules.isCapturable(target)) return 0;
+        int mask = 0;
+        for (int other = 0; other < PackedBoard.SEATS; other++) {
+            if (other == seat) continue;
+            for (int t = 0; t < PackedBoard.TOKENS_PER_SEAT; t++) {
+                if (board.position(other, t) == target) mask |= 1 << (other * PackedBoard.TOKENS_PER_SEAT + t);
+            }
+        }
+        return mask;
+    }
+}
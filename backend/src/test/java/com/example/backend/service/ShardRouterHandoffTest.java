@@ -0,0 +1,118 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.example.backend.dto.GameStateDTO;
+import com.example.backend.repository.RoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ShardRouterHandoffTest {
+
+    private final InMemoryGameStore store = new InMemoryGameStore();
+    private final LocalClusterTransport transport = new LocalClusterTransport("handoff-" + UUID.randomUUID());
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Node n : nodes) {
+            n.router.leave();
+            n.moveLog.shutdown();
+        }
+    }
+
+    @Test
+    void joiningNodeTakesOverRoomWithEveryEvent() {
+        Node a = new Node("node-a");
+        String room = roomOwnedBy("node-b");
+        store.gameStarted(room, null, new LudoRulesEngine().initialBoardState(List.of("RED", "BLUE"), "RED"));
+        long seq = 0;
+        for (int i = 0; i < 40; i++) seq = a.router.submit(nextCommand(a.cache, room)).join().getSeq();
+        assertEquals(40, seq);
+        assertTrue(store.latestSeq(room) < seq, "events still queued on node-a");
+        byte[] boardOnA = BoardCodec.toBytes(a.cache.find(room).snapshot().board());
+        GameCommand next = nextCommand(a.cache, room);
+
+        Node b = new Node("node-b");
+        // a copy rehydrated on node-b before the handoff is stale
+        assertEquals(0, b.cache.find(room).snapshot().version());
+        // node-a has not seen node-b yet and still owns the room: no handoff, nothing applied
+        CompletionException pending = assertThrows(CompletionException.class, () -> b.router.submit(next).join());
+        assertInstanceOf(IllegalStateException.class, pending.getCause());
+
+        b.router.heartbeat();
+        a.router.heartbeat();
+        GameStateDTO state = b.router.state(room, () -> GameService.localState(b.cache, room));
+        assertEquals(seq, state.getSeq());
+        assertTrue(store.latestSeq(room) >= seq, "node-a made its events durable before releasing");
+        assertArrayEquals(boardOnA, BoardCodec.toBytes(b.cache.find(room).snapshot().board()));
+        assertFalse(a.cache.liveGames().stream().anyMatch(g -> g.getRoomCode().equals(room)));
+
+        assertEquals(seq + 1, b.router.submit(next).join().getSeq());
+        // the old owner forwards to the new one
+        assertEquals(seq + 2, a.router.submit(nextCommand(b.cache, room)).join().getSeq());
+    }
+
+    @Test
+    void clusteringOnTheJournalStoreFailsAtStartup() {
+        ShardRouter router = new ShardRouter(new ClusterNode("node-a", transport), mock(GameCommandPipeline.class),
+                mock(GameStateCache.class), mock(BroadcastService.class), mock(LobbyIndex.class));
+        ReflectionTestUtils.setField(router, "persistenceBackend", "journal");
+
+        assertThrows(IllegalStateException.class, router::join);
+        assertTrue(transport.members().isEmpty());
+    }
+
+    private static String roomOwnedBy(String nodeId) {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-a", "node-b"), 64);
+        for (int i = 0; ; i++) {
+            String code = "HAND" + i;
+            if (ring.ownerOf(code).equals(nodeId)) return code;
+        }
+    }
+
+    /**
+     * Roll when no dice is pending, otherwise move the first token the dice allows.
+     */
+    private static GameCommand nextCommand(GameStateCache cache, String room) {
+        LiveGame game = cache.find(room);
+        PackedBoard board = game.snapshot().board();
+        String color = PackedBoard.colorOf(board.currentSeat());
+        if (board.dice() == PackedBoard.NO_DICE) return new GameCommand.Roll(room, color, null);
+        int valid = game.rules().validMoves(board, board.currentSeat(), board.dice());
+        return new GameCommand.Move(room, color, Integer.numberOfTrailingZeros(valid), null, null);
+    }
+
+    /**
+     * One backend node: its own actors, move log, cache and router over the shared store.
+     */
+    private final class Node {
+        final MoveLogAppender moveLog;
+        final GameStateCache cache;
+        final ShardRouter router;
+
+        Node(String id) {
+            SimpleMeterRegistry meters = new SimpleMeterRegistry();
+            RoomActorExecutor actors = new RoomActorExecutor(2);
+            BroadcastService broadcast = mock(BroadcastService.class);
+            moveLog = new MoveLogAppender(store, actors, meters, 10_000);
+            cache = new GameStateCache(store, mock(RoomRepository.class), actors, moveLog, meters);
+            GameCommandPipeline pipeline = new GameCommandPipeline(cache, actors, broadcast, moveLog, meters);
+            router = new ShardRouter(new ClusterNode(id, transport), pipeline, cache, broadcast, mock(LobbyIndex.class));
+            router.join();
+            nodes.add(this);
+        }
+    }
+}